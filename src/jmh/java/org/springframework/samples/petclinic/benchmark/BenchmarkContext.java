@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.samples.petclinic.config.AppConfig;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Boots the full {@link AppConfig} context for benchmarks against an embedded
+ * H2 database (the same stand-in used by {@code RepoTestConfig}).
+ *
+ * <p>
+ * The {@link Layers} switch strips cross-cutting layers from the context
+ * before any bean is created, so the same benchmark can be compared with and
+ * without caching and the application aspects ({@code LoggingAspect},
+ * {@code AuditLoggingAspect}, {@code MetricsAspect}).
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public final class BenchmarkContext {
+
+  static final String PROFILE = "benchmark";
+
+  /**
+   * Cross-cutting layers kept in the benchmarked context.
+   */
+  public enum Layers {
+    /** Everything {@link AppConfig} wires: caching, aspects, transactions. */
+    FULL,
+    /** Caching replaced by a {@link NoOpCacheManager}. */
+    NO_CACHE,
+    /** Application {@code @Aspect} beans removed. */
+    NO_ASPECTS,
+    /** Neither caching nor application aspects. */
+    BARE
+  }
+
+  private BenchmarkContext() {
+    // utility class
+  }
+
+  /**
+   * Creates and refreshes an application context for the given layer set.
+   *
+   * @param layers the layers to keep
+   * @return the refreshed context; the caller is responsible for closing it
+   */
+  public static AnnotationConfigWebApplicationContext start(Layers layers) {
+    AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+    context.setServletContext(new MockServletContext());
+    context.getEnvironment().setActiveProfiles(PROFILE);
+    context.getEnvironment().getPropertySources().addFirst(
+        new MapPropertySource("benchmark", benchmarkProperties()));
+    context.register(AppConfig.class, EmbeddedDataSourceConfig.class);
+    context.addBeanFactoryPostProcessor(new LayerStripper(layers));
+    context.refresh();
+    return context;
+  }
+
+  private static Map<String, Object> benchmarkProperties() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("spring.profiles.active", PROFILE);
+    properties.put("jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+    properties.put("jpa.hibernate.ddl-auto", "create-drop");
+    properties.put("jpa.show-sql", "false");
+    properties.put("metrics.prometheus.enabled", "false");
+    properties.put("otel.traces.sampler.arg", "0.0");
+    return properties;
+  }
+
+  /**
+   * Embedded H2 data source; the regular {@code DataSourceConfig} bean is only
+   * active for the dev/sit/uat/prod profiles.
+   */
+  @Configuration
+  static class EmbeddedDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource() {
+      return new EmbeddedDatabaseBuilder()
+          .setType(EmbeddedDatabaseType.H2)
+          .generateUniqueName(true)
+          .build();
+    }
+  }
+
+  /**
+   * Removes bean definitions for the layers that are switched off. Runs after
+   * configuration class processing, so {@code @Bean} definitions are visible.
+   */
+  private record LayerStripper(Layers layers) implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+      BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+      if (layers == Layers.NO_CACHE || layers == Layers.BARE) {
+        registry.removeBeanDefinition("cacheManager");
+        registry.registerBeanDefinition("cacheManager", new RootBeanDefinition(NoOpCacheManager.class));
+      }
+      if (layers == Layers.NO_ASPECTS || layers == Layers.BARE) {
+        for (String name : registry.getBeanDefinitionNames()) {
+          BeanDefinition definition = registry.getBeanDefinition(name);
+          if (definition instanceof AnnotatedBeanDefinition annotated
+              && annotated.getMetadata().hasAnnotation(Aspect.class.getName())
+              && annotated.getMetadata().getClassName().startsWith("org.springframework.samples.petclinic")) {
+            registry.removeBeanDefinition(name);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds the benchmark database with a configurable number of owners.
+ *
+ * <p>
+ * Rows are written with plain JDBC batches so that seeding 1M owners does not
+ * go through the layers being measured. Every owner gets one pet with one
+ * visit, which keeps the {@code findOwnerById} graph (owner, pets, visits)
+ * representative of the production owner page.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public final class BenchmarkDataSeeder {
+
+  /** Number of distinct last names; prefix searches hit ownerCount / LAST_NAMES owners. */
+  public static final int LAST_NAMES = 5_000;
+
+  private static final int BATCH_SIZE = 10_000;
+
+  private static final String[] PET_TYPES = { "bird", "cat", "dog", "hamster", "lizard", "snake" };
+
+  private BenchmarkDataSeeder() {
+    // utility class
+  }
+
+  /**
+   * Returns the deterministic last name used for the owner with the given
+   * zero-based index.
+   *
+   * @param index the owner index
+   * @return the seeded last name
+   */
+  public static String lastName(int index) {
+    return "Owner" + String.format("%05d", index % LAST_NAMES);
+  }
+
+  /**
+   * Inserts reference data, vets and {@code ownerCount} owners with their pets
+   * and visits.
+   *
+   * @param jdbc       the template bound to the benchmark data source
+   * @param ownerCount the number of owners to create
+   */
+  public static void seed(JdbcTemplate jdbc, int ownerCount) {
+    // Ids are explicit: BaseEntity ids come from sequences, not column defaults
+    for (int i = 0; i < PET_TYPES.length; i++) {
+      jdbc.update("INSERT INTO types (id, name) VALUES (?, ?)", i + 1, PET_TYPES[i]);
+    }
+    String[] specialties = { "radiology", "surgery", "dentistry" };
+    for (int i = 0; i < specialties.length; i++) {
+      jdbc.update("INSERT INTO specialties (id, name) VALUES (?, ?)", i + 1, specialties[i]);
+    }
+    for (int i = 1; i <= 6; i++) {
+      jdbc.update("INSERT INTO vets (id, first_name, last_name) VALUES (?, ?, ?)", i, "Vet" + i, "Doctor" + i);
+      jdbc.update("INSERT INTO vet_specialties (vet_id, specialty_id) VALUES (?, ?)", i, (i % 3) + 1);
+    }
+
+    Date birthDate = Date.valueOf(LocalDate.of(2015, 6, 1));
+    Date visitDate = Date.valueOf(LocalDate.now().minusDays(30));
+    for (int start = 0; start < ownerCount; start += BATCH_SIZE) {
+      int end = Math.min(start + BATCH_SIZE, ownerCount);
+      List<Object[]> owners = new ArrayList<>(end - start);
+      List<Object[]> pets = new ArrayList<>(end - start);
+      List<Object[]> visits = new ArrayList<>(end - start);
+      for (int i = start; i < end; i++) {
+        long id = i + 1L;
+        owners.add(new Object[] { id, "First" + i, lastName(i), i + " Benchmark Street", "Madison",
+            String.format("%010d", i) });
+        pets.add(new Object[] { id, "Pet" + i, birthDate, (i % PET_TYPES.length) + 1, id });
+        visits.add(new Object[] { id, id, visitDate, "checkup" });
+      }
+      jdbc.batchUpdate("INSERT INTO owners (id, first_name, last_name, address, city, telephone, version)"
+          + " VALUES (?, ?, ?, ?, ?, ?, 0)", owners);
+      jdbc.batchUpdate("INSERT INTO pets (id, name, birth_date, type_id, owner_id, version)"
+          + " VALUES (?, ?, ?, ?, ?, 0)", pets);
+      jdbc.batchUpdate("INSERT INTO visits (id, pet_id, visit_date, description, version)"
+          + " VALUES (?, ?, ?, ?, 0)", visits);
+    }
+
+    restartSequence(jdbc, "types", PET_TYPES.length);
+    restartSequence(jdbc, "specialties", specialties.length);
+    restartSequence(jdbc, "vets", 6);
+    for (String table : new String[] { "owners", "pets", "visits" }) {
+      restartSequence(jdbc, table, ownerCount);
+    }
+  }
+
+  private static void restartSequence(JdbcTemplate jdbc, String table, long maxId) {
+    jdbc.execute("ALTER SEQUENCE " + table + "_id_seq RESTART WITH " + (maxId + 1));
+  }
+}
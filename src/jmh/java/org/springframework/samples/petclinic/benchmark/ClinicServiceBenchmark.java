@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.service.ClinicService;
+import org.springframework.samples.petclinic.service.KeysetPage;
+import org.springframework.samples.petclinic.service.OwnerCursor;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * JMH benchmarks for the {@link ClinicService} read paths.
+ *
+ * <p>
+ * Each trial boots the {@code AppConfig} context on an embedded H2 database,
+ * seeds {@code ownerCount} owners and measures throughput and sampled latency
+ * of the hot read methods through the real proxy chain. The {@code layers}
+ * parameter strips caching and/or the application aspects so their cost can
+ * be read off directly:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ClinicServiceBenchmark -p ownerCount=1000000 -p layers=FULL,BARE"
+ * </pre>
+ *
+ * <p>
+ * Note that the Resilience4j {@code @CircuitBreaker}, {@code @Retry} and
+ * {@code @RateLimiter} annotations on {@code ClinicServiceImpl} are only
+ * honoured when a Resilience4j Spring aspect is on the classpath; with the
+ * current dependency set they add no proxy work, which this benchmark makes
+ * visible rather than assuming.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class ClinicServiceBenchmark {
+
+  @Param({ "10000" })
+  public int ownerCount;
+
+  @Param({ "FULL", "NO_CACHE", "NO_ASPECTS", "BARE" })
+  public BenchmarkContext.Layers layers;
+
+  private AnnotationConfigWebApplicationContext context;
+  private ClinicService clinicService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start(layers);
+    BenchmarkDataSeeder.seed(context.getBean(JdbcTemplate.class), ownerCount);
+    clinicService = context.getBean(ClinicService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Owner findOwnerById() {
+    long id = ThreadLocalRandom.current().nextLong(1, ownerCount + 1L);
+    return clinicService.findOwnerById(id);
+  }
+
+  @Benchmark
+  public Page<Owner> findOwnerByLastName() {
+    int index = ThreadLocalRandom.current().nextInt(Math.min(ownerCount, BenchmarkDataSeeder.LAST_NAMES));
+    return clinicService.findOwnerByLastName(BenchmarkDataSeeder.lastName(index), PageRequest.of(0, 5));
+  }
+
+  @Benchmark
+  public Page<Owner> findOwnerByLastNameDeepOffset() {
+    // Every owner matches "Owner"; the middle page forces OFFSET ownerCount / 2
+    return clinicService.findOwnerByLastName("Owner", PageRequest.of(ownerCount / 10, 5));
+  }
+
+  @Benchmark
+  public KeysetPage<Owner> findOwnerByLastNameDeepKeyset() {
+    int middle = ownerCount / 2;
+    String cursor = new OwnerCursor(BenchmarkDataSeeder.lastName(middle), middle + 1L).encode();
+    return clinicService.findOwnerByLastName("Owner", cursor, 5, false);
+  }
+
+  @Benchmark
+  public Collection<Vet> findVets() {
+    return clinicService.findVets();
+  }
+
+  @Benchmark
+  public Collection<PetType> findPetTypes() {
+    return clinicService.findPetTypes();
+  }
+}
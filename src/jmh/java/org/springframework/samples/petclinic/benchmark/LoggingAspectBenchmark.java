@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.samples.petclinic.aspect.LoggingAspect;
+import org.springframework.samples.petclinic.service.benchmark.LoggedTarget;
+
+/**
+ * JMH benchmark for the per-call overhead of {@link LoggingAspect}.
+ *
+ * <p>
+ * A trivial call is measured on the bare target and through an AspectJ proxy
+ * advised by the aspect in each of its modes, with DEBUG off as in
+ * production:
+ * <ul>
+ * <li>{@code UNADVISED}: the target itself, the baseline.</li>
+ * <li>{@code OFF}: {@code logging.aspect.enabled=false}, advice only
+ * proceeds.</li>
+ * <li>{@code NO_TIMING}: enabled with the slow-call threshold at 0, so the
+ * clock is never read.</li>
+ * <li>{@code SLOW_CALLS}: enabled with the default 500 ms threshold, two
+ * clock reads per call.</li>
+ * </ul>
+ * The target is a {@link LoggedTarget} map lookup, which is itself a few
+ * nanoseconds:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="LoggingAspectBenchmark -prof gc"
+ * </pre>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+  /** How the target is reached. */
+  public enum Setting {
+    UNADVISED, OFF, NO_TIMING, SLOW_CALLS
+  }
+
+  @Param({ "UNADVISED", "OFF", "NO_TIMING", "SLOW_CALLS" })
+  public Setting setting;
+
+  private LoggedTarget target;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    LoggedTarget bare = new LoggedTarget();
+    if (setting == Setting.UNADVISED) {
+      target = bare;
+      return;
+    }
+    LoggingAspect aspect = new LoggingAspect();
+    aspect.setEnabled(setting != Setting.OFF);
+    aspect.setSlowThresholdMs(setting == Setting.NO_TIMING ? 0 : 500);
+    AspectJProxyFactory factory = new AspectJProxyFactory(bare);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(aspect);
+    target = factory.getProxy();
+  }
+
+  @Benchmark
+  public Object call() {
+    return target.lookup("cat");
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.support.MutableSortDefinition;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.model.Visit;
+
+/**
+ * JMH benchmarks for the ordered collection accessors of the model
+ * ({@link Owner#getPets()}, {@link Pet#getVisits()},
+ * {@link Vet#getSpecialties()}), which views and marshallers call several
+ * times per render.
+ *
+ * <p>
+ * The {@code *Copying} methods reproduce the previous implementation (copy,
+ * sort with {@link PropertyComparator}, wrap) on the same data, so one run
+ * shows the cost before and after. Allocation rate is reported by the GC
+ * profiler:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ModelAccessorBenchmark -prof gc"
+ * </pre>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelAccessorBenchmark {
+
+  /** Elements per collection: pets per owner, visits per pet, specialties per vet. */
+  @Param({ "3", "30" })
+  public int size;
+
+  private Owner owner;
+  private Pet pet;
+  private Vet vet;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    owner = new Owner();
+    pet = new Pet();
+    vet = new Vet();
+    LocalDate start = LocalDate.of(2020, 1, 1);
+    for (int i = 0; i < size; i++) {
+      Pet ownedPet = new Pet();
+      ownedPet.setName("Pet" + ((i * 7) % size));
+      owner.addPet(ownedPet);
+
+      Visit visit = new Visit();
+      visit.setDate(start.plusDays((i * 13L) % size));
+      pet.addVisit(visit);
+
+      Specialty specialty = new Specialty();
+      specialty.setName("Specialty" + ((i * 5) % size));
+      vet.addSpecialty(specialty);
+    }
+  }
+
+  @Benchmark
+  public List<Pet> ownerPets() {
+    return owner.getPets();
+  }
+
+  @Benchmark
+  public List<Pet> ownerPetsCopying() {
+    return copyAndSort(owner.getPets(), "name", true);
+  }
+
+  @Benchmark
+  public List<Visit> petVisits() {
+    return pet.getVisits();
+  }
+
+  @Benchmark
+  public List<Visit> petVisitsCopying() {
+    return copyAndSort(pet.getVisits(), "date", false);
+  }
+
+  @Benchmark
+  public List<Specialty> vetSpecialties() {
+    return vet.getSpecialties();
+  }
+
+  @Benchmark
+  public List<Specialty> vetSpecialtiesCopying() {
+    return copyAndSort(vet.getSpecialties(), "name", true);
+  }
+
+  /**
+   * The accessor body before sorted snapshots; the argument is the (already
+   * cached) current list, standing in for the backing set.
+   */
+  private static <T> List<T> copyAndSort(List<T> source, String property, boolean ascending) {
+    List<T> sorted = new ArrayList<>(source);
+    PropertyComparator.sort(sorted, new MutableSortDefinition(property, true, ascending));
+    return Collections.unmodifiableList(sorted);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service.benchmark;
+
+import java.util.Map;
+
+import org.springframework.samples.petclinic.aspect.Loggable;
+
+/**
+ * Trivial {@link Loggable} target for {@code LoggingAspectBenchmark}.
+ *
+ * <p>
+ * Lives under the {@code service} package so that it matches the aspect's
+ * application-package pointcut just like {@code ClinicServiceImpl}; the call
+ * itself is a single map lookup, so the measured time is dominated by the
+ * proxy and advice.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Loggable
+public class LoggedTarget {
+
+  private final Map<String, Integer> types = Map.of("bird", 1, "cat", 2, "dog", 3);
+
+  /**
+   * Looks up a fixed pet type id.
+   *
+   * @param name the type name
+   * @return the id, or {@code null} if unknown
+   */
+  public Object lookup(String name) {
+    return types.get(name);
+  }
+}
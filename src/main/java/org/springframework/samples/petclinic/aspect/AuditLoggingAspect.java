@@ -26,10 +26,9 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.samples.petclinic.model.AuditLog;
 import org.springframework.samples.petclinic.model.BaseEntity;
-import org.springframework.samples.petclinic.repository.AuditLogRepository;
+import org.springframework.samples.petclinic.service.AsyncAuditLogWriter;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Aspect for auditing persistence actions.
@@ -37,7 +36,9 @@ import org.springframework.transaction.annotation.Transactional;
  * <p>
  * This aspect captures successful save operations in the {@code ClinicService}
  * and records them in the audit log table. It captures entity type, ID,
- * action (CREATE/UPDATE), timestamp, user ID, and trace ID.
+ * action (CREATE/UPDATE), timestamp, user ID, and trace ID. Entries are handed
+ * to the {@link AsyncAuditLogWriter}, so the request thread does not pay for
+ * the insert.
  *
  * <p>
  * Integration:
@@ -57,16 +58,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuditLoggingAspect {
 
   private final Logger log = LoggerFactory.getLogger(this.getClass());
-  private final AuditLogRepository auditLogRepository;
+  private final AsyncAuditLogWriter auditLogWriter;
 
   /**
-   * Constructor to inject the AuditLogRepository.
+   * Constructor to inject the AsyncAuditLogWriter.
    *
-   * @param auditLogRepository The repository for saving audit logs.
+   * @param auditLogWriter The writer batching audit log inserts.
    */
   @Autowired
-  public AuditLoggingAspect(AuditLogRepository auditLogRepository) {
-    this.auditLogRepository = auditLogRepository;
+  public AuditLoggingAspect(AsyncAuditLogWriter auditLogWriter) {
+    this.auditLogWriter = auditLogWriter;
   }
 
   /**
@@ -74,13 +75,12 @@ public class AuditLoggingAspect {
    *
    * <p>
    * Constructs an {@link AuditLog} entry based on the saved entity and
-   * persists it to the database.
+   * queues it for writing.
    *
    * @param joinPoint the join point containing method arguments
    * @param result    the returned object from the saved method
    */
   @AfterReturning(pointcut = "execution(* org.springframework.samples.petclinic.service.ClinicService.save*(..))", returning = "result")
-  @Transactional
   public void logSave(JoinPoint joinPoint, Object result) {
     try {
       // Get the arguments from the join point.
@@ -109,8 +109,8 @@ public class AuditLoggingAspect {
         // PII)
         audit.setNewValue(entity.toString());
 
-        // Save the audit log.
-        auditLogRepository.save(audit);
+        // Queue the audit log for the background writer.
+        auditLogWriter.submit(audit);
         log.info(
             "AUDIT: Action={} Entity={} ID={}",
             audit.getAction(),
@@ -119,7 +119,7 @@ public class AuditLoggingAspect {
       }
     } catch (Exception e) {
       // Log any errors that occur during the audit process.
-      log.error("Failed to save audit log", e);
+      log.error("Failed to queue audit log", e);
     }
   }
 }
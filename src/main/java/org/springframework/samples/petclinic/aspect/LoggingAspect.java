@@ -15,26 +15,48 @@
  */
 package org.springframework.samples.petclinic.aspect;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Component;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
+ * Aspect for logging execution of {@link Loggable} methods.
  *
  * <p>
- * This aspect provides unified logging across the application layers. It logs:
+ * The pointcut is resolved when proxies are created: only methods annotated
+ * with {@link Loggable}, or declared in an annotated class, in the
+ * application packages are advised. For those it logs:
  * <ul>
- * <li>Method entry with arguments (DEBUG level)</li>
- * <li>Method exit with results and execution time (DEBUG level)</li>
- * <li>Exceptions with contextual information (ERROR level)</li>
+ * <li>Method entry with arguments and exit with result and execution time
+ * (DEBUG level)</li>
+ * <li>Calls slower than {@code logging.aspect.slow-threshold-ms} (WARN
+ * level); {@code 0} turns this off</li>
+ * <li>Illegal argument exceptions with contextual information (ERROR
+ * level)</li>
  * </ul>
+ * The clock is only read when one of the first two can log, and method names
+ * are built once per method and cached.
+ *
+ * <p>
+ * {@code logging.aspect.enabled=false} turns the advice into a plain
+ * {@code proceed()}. Both settings are also JMX attributes of
+ * {@code petclinic:type=LoggingAspect}, so they can be changed without a
+ * restart.
  *
  * <p>
  * The logging is coordinated with MDC to ensure trace IDs are included
@@ -46,18 +68,25 @@ import org.springframework.stereotype.Component;
  */
 @Aspect
 @Component
+@ManagedResource(objectName = "petclinic:type=LoggingAspect", description = "Method logging of @Loggable beans")
 public class LoggingAspect {
 
-  private final Logger log = LoggerFactory.getLogger(this.getClass());
+  private static final Logger log = LoggerFactory.getLogger(LoggingAspect.class);
+
+  private final Map<Method, String> methodNames = new ConcurrentHashMap<>();
+
+  @Value("${logging.aspect.enabled:true}")
+  private volatile boolean enabled = true;
+
+  private volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(500);
 
   /**
-   * Pointcut that matches all repositories, services, and Web REST endpoints.
-   * This is used to select the Spring components that should be logged.
+   * Pointcut that matches {@link Loggable} methods and the methods of
+   * {@link Loggable} classes.
    */
-  @Pointcut("within(@org.springframework.stereotype.Repository *)"
-      + " || within(@org.springframework.stereotype.Service *)"
-      + " || within(@org.springframework.web.bind.annotation.RestController *)")
-  public void springBeanPointcut() {
+  @Pointcut("@annotation(org.springframework.samples.petclinic.aspect.Loggable)"
+      + " || @within(org.springframework.samples.petclinic.aspect.Loggable)")
+  public void loggablePointcut() {
     // Method is empty as this is just a Pointcut, the implementations are in the
     // advices.
   }
@@ -75,55 +104,97 @@ public class LoggingAspect {
   }
 
   /**
-   * Advice that logs method entry, exit, and execution time.
-   * Demonstrates JDK 21 enhancements with improved timestamp handling and pattern matching.
+   * Advice that logs method entry, exit, slow calls and execution time.
    *
    * @param joinPoint The join point for the advised method.
    * @return The result of the method execution.
    * @throws Throwable If the advised method throws an exception.
    */
-  @Around("applicationPackagePointcut() && springBeanPointcut()")
+  @Around("applicationPackagePointcut() && loggablePointcut()")
   public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-    // JDK 21: Use System.nanoTime() for more precise measurements with modern APIs
-    // This provides better accuracy than millisecond-based timing
-    long start = System.nanoTime();
+    if (!enabled) {
+      return joinPoint.proceed();
+    }
+    boolean debug = log.isDebugEnabled();
+    long threshold = slowThresholdNanos;
+    if (!debug && threshold <= 0) {
+      return proceed(joinPoint);
+    }
 
-    // Log method entry if DEBUG is enabled - JDK 21 improved String formatting
-    if (log.isDebugEnabled()) {
-      log.debug(
-          "Enter: {}.{}() with argument[s] = {}",
-          joinPoint.getSignature().getDeclaringTypeName(),
-          joinPoint.getSignature().getName(),
-          Arrays.toString(joinPoint.getArgs()));
+    if (debug) {
+      log.debug("Enter: {}() with argument[s] = {}", methodName(joinPoint), Arrays.toString(joinPoint.getArgs()));
+    }
+    long start = System.nanoTime();
+    Object result = proceed(joinPoint);
+    long elapsed = System.nanoTime() - start;
+    if (debug) {
+      log.debug("Exit: {}() with result = {} ({} ms)", methodName(joinPoint), result,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+    if (threshold > 0 && elapsed >= threshold) {
+      log.warn("Slow call: {}() took {} ms", methodName(joinPoint), TimeUnit.NANOSECONDS.toMillis(elapsed));
     }
+    return result;
+  }
+
+  private Object proceed(ProceedingJoinPoint joinPoint) throws Throwable {
     try {
-      // Proceed with the actual method execution.
-      Object result = joinPoint.proceed();
-      // JDK 21: Calculate execution time with nano precision and modern arithmetic
-      long executionTimeMs = (System.nanoTime() - start) / 1_000_000;
-      
-      // Log method exit with JDK 21 enhanced formatting
-      if (log.isDebugEnabled()) {
-        log.debug(
-            "Exit: {}.{}() with result = {} ({} ms)",
-            joinPoint.getSignature().getDeclaringTypeName(),
-            joinPoint.getSignature().getName(),
-            result,
-            executionTimeMs);
-      }
-      // Return the result of the method execution.
-      return result;
+      return joinPoint.proceed();
     } catch (IllegalArgumentException e) {
-      // JDK 21: Pattern matching for exception handling (JEP 440)
-      // More semantic exception categorization for better observability
-      log.error(
-          "Illegal argument: {} in {}.{}()",
-          Arrays.toString(joinPoint.getArgs()),
-          joinPoint.getSignature().getDeclaringTypeName(),
-          joinPoint.getSignature().getName(),
-          e);
-      // Re-throw the exception.
+      log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), methodName(joinPoint), e);
       throw e;
     }
   }
+
+  private String methodName(ProceedingJoinPoint joinPoint) {
+    Signature signature = joinPoint.getSignature();
+    if (signature instanceof MethodSignature methodSignature && methodSignature.getMethod() != null) {
+      return methodNames.computeIfAbsent(methodSignature.getMethod(),
+          method -> method.getDeclaringClass().getName() + "." + method.getName());
+    }
+    return signature.getDeclaringTypeName() + "." + signature.getName();
+  }
+
+  /**
+   * Returns whether the advice logs at all.
+   *
+   * @return {@code true} if logging is on
+   */
+  @ManagedAttribute(description = "Whether @Loggable methods are logged")
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns the advice on or off.
+   *
+   * @param enabled {@code false} to only proceed
+   */
+  @ManagedAttribute
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns the latency from which calls are logged as slow.
+   *
+   * @return the threshold in milliseconds, {@code 0} if slow calls are not
+   *         logged
+   */
+  @ManagedAttribute(description = "Latency in ms from which calls are logged as slow, 0 for never")
+  public long getSlowThresholdMs() {
+    return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+  }
+
+  /**
+   * Sets the latency from which calls are logged as slow.
+   *
+   * @param slowThresholdMs the threshold in milliseconds, {@code 0} to not
+   *                        log slow calls
+   */
+  @ManagedAttribute
+  @Value("${logging.aspect.slow-threshold-ms:500}")
+  public void setSlowThresholdMs(long slowThresholdMs) {
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowThresholdMs));
+  }
 }
@@ -15,13 +15,29 @@
  */
 package org.springframework.samples.petclinic.aspect;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Aspect for recording custom business metrics using Micrometer.
@@ -38,28 +54,71 @@ import io.micrometer.core.instrument.Counter;
  * {@code saveOwner} calls.</li>
  * <li>{@code petclinic.visits.created}: Incremented on successful
  * {@code saveVisit} calls.</li>
+ * <li>{@code petclinic.service.calls{class, method, outcome}}: latency of
+ * every {@code ClinicService} method.</li>
+ * <li>{@code petclinic.repository.calls{class, method, outcome}}: latency of
+ * every repository method, including the inherited Spring Data ones.</li>
  * </ul>
  *
+ * <p>
+ * The latency timers publish a percentile histogram (buckets between 1 ms and
+ * 30 s) plus the SLO boundaries of {@code metrics.latency.slo-ms}, so tail
+ * latency can be aggregated across instances in Prometheus. {@code outcome}
+ * is {@code success} or {@code error}; the error timer of a method is only
+ * registered once the method first fails, so methods that never fail do not
+ * publish a second histogram. The aspect runs outermost, so service
+ * timings include caching, transactions and time spent waiting on a
+ * coalesced call.
+ *
  * @author Spring Petclinic Team
  * @version 2.0.0
  * @since 2.0.0
  */
 @Aspect
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class MetricsAspect {
 
+  static final String SERVICE_TIMER = "petclinic.service.calls";
+  static final String REPOSITORY_TIMER = "petclinic.repository.calls";
+
+  private static final String APPLICATION_PACKAGE = "org.springframework.samples.petclinic.";
+  private static final long[] DEFAULT_SLO_MS = { 5, 10, 25, 50, 100, 250, 500, 1000 };
+
   // Counter for tracking the number of created owners.
   private final Counter ownersCreated;
   // Counter for tracking the number of created visits.
   private final Counter visitsCreated;
 
+  // Timers per call site, registered on first use.
+  private final Map<CallSite, CallTimers> timers = new ConcurrentHashMap<>();
+  private final MeterRegistry registry;
+  private final Duration[] serviceLevelObjectives;
+
   /**
-   * Constructor to initialize the metrics counters.
+   * Constructor to initialize the metrics with the default SLO boundaries.
    *
-   * @param registry The meter registry to register the counters with.
+   * @param registry The meter registry to register the meters with.
    */
-  @Autowired
   public MetricsAspect(io.micrometer.core.instrument.composite.CompositeMeterRegistry registry) {
+    this(registry, DEFAULT_SLO_MS);
+  }
+
+  /**
+   * Constructor to initialize the metrics.
+   *
+   * @param registry The meter registry to register the meters with.
+   * @param sloMs    The latency SLO boundaries, in milliseconds, published as
+   *                 histogram buckets by the call timers.
+   */
+  @Autowired
+  public MetricsAspect(io.micrometer.core.instrument.composite.CompositeMeterRegistry registry,
+      @Value("${metrics.latency.slo-ms:5,10,25,50,100,250,500,1000}") long[] sloMs) {
+    this.registry = registry;
+    this.serviceLevelObjectives = Arrays.stream(sloMs).sorted().distinct()
+        .mapToObj(Duration::ofMillis)
+        .toArray(Duration[]::new);
+
     // Initialize the counter for created owners.
     this.ownersCreated = Counter.builder("petclinic.owners.created")
         .description("Number of owners created")
@@ -90,4 +149,116 @@ public class MetricsAspect {
   public void countVisitCreation(JoinPoint joinPoint) {
     visitsCreated.increment();
   }
+
+  /**
+   * Advice that times every {@code ClinicService} method.
+   *
+   * @param joinPoint The join point for the advised method.
+   * @return The result of the method execution.
+   * @throws Throwable If the advised method throws an exception.
+   */
+  @Around("execution(* org.springframework.samples.petclinic.service.ClinicService.*(..))")
+  public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, SERVICE_TIMER);
+  }
+
+  /**
+   * Advice that times every repository method.
+   *
+   * @param joinPoint The join point for the advised method.
+   * @return The result of the method execution.
+   * @throws Throwable If the advised method throws an exception.
+   */
+  @Around("execution(* org.springframework.samples.petclinic.repository..*Repository+.*(..))")
+  public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, REPOSITORY_TIMER);
+  }
+
+  private Object time(ProceedingJoinPoint joinPoint, String name) throws Throwable {
+    CallTimers callTimers = timers.computeIfAbsent(callSite(joinPoint), site -> new CallTimers(name, typeName(site),
+        site.method()));
+    long start = System.nanoTime();
+    try {
+      Object result = joinPoint.proceed();
+      callTimers.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (Throwable ex) {
+      callTimers.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw ex;
+    }
+  }
+
+  private static CallSite callSite(ProceedingJoinPoint joinPoint) {
+    Object target = joinPoint.getTarget();
+    Method method = joinPoint.getSignature() instanceof MethodSignature signature ? signature.getMethod() : null;
+    return new CallSite(target != null ? target.getClass() : null,
+        method != null ? method.getDeclaringClass() : joinPoint.getSignature().getDeclaringType(),
+        joinPoint.getSignature().getName());
+  }
+
+  private Timer timer(String name, String type, String method, String outcome) {
+    return Timer.builder(name)
+        .description("Latency of application calls")
+        .tag("class", type)
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(serviceLevelObjectives)
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(30))
+        .register(registry);
+  }
+
+  /**
+   * Names the call by the application interface the target implements, so the
+   * inherited Spring Data methods ({@code findById}, {@code save}) of
+   * different repositories are told apart.
+   */
+  private static String typeName(CallSite site) {
+    if (site.targetType() != null) {
+      for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(site.targetType())) {
+        if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+          return type.getSimpleName();
+        }
+      }
+      if (site.targetType().getName().startsWith(APPLICATION_PACKAGE)) {
+        return site.targetType().getSimpleName();
+      }
+    }
+    return site.declaringType().getSimpleName();
+  }
+
+  private record CallSite(Class<?> targetType, Class<?> declaringType, String method) {
+  }
+
+  /** The timers of one call site; the error timer is registered on the first failure. */
+  private final class CallTimers {
+
+    private final String name;
+    private final String type;
+    private final String method;
+    private final Timer success;
+    private volatile Timer error;
+
+    CallTimers(String name, String type, String method) {
+      this.name = name;
+      this.type = type;
+      this.method = method;
+      this.success = timer(name, type, method, "success");
+    }
+
+    Timer success() {
+      return success;
+    }
+
+    Timer error() {
+      Timer timer = error;
+      if (timer == null) {
+        // Registration is idempotent, so a race registers the timer once
+        timer = timer(name, type, method, "error");
+        error = timer;
+      }
+      return timer;
+    }
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.aspect;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.repository.OwnerSearchRepository;
+import org.springframework.samples.petclinic.service.OwnerTypeaheadIndex;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aspect keeping the owner search indexes current.
+ *
+ * <p>
+ * After {@code ClinicService.saveOwner} returns, the saved owner is handed to
+ * {@link OwnerSearchRepository#index(Owner)} and
+ * {@link OwnerTypeaheadIndex#update(Owner)}. When the save runs inside a
+ * transaction, indexing is deferred until it commits, so a rolled back save
+ * never becomes searchable.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Aspect
+@Component
+public class OwnerIndexingAspect {
+
+  private static final Logger logger = LoggerFactory.getLogger(OwnerIndexingAspect.class);
+
+  private final OwnerSearchRepository ownerSearchRepository;
+  private final OwnerTypeaheadIndex ownerTypeaheadIndex;
+
+  /**
+   * Creates the aspect.
+   *
+   * @param ownerSearchRepository the search index to update
+   * @param ownerTypeaheadIndex   the typeahead index to update
+   */
+  @Autowired
+  public OwnerIndexingAspect(OwnerSearchRepository ownerSearchRepository, OwnerTypeaheadIndex ownerTypeaheadIndex) {
+    this.ownerSearchRepository = ownerSearchRepository;
+    this.ownerTypeaheadIndex = ownerTypeaheadIndex;
+  }
+
+  /**
+   * Indexes an owner once it has been saved.
+   *
+   * @param owner the saved owner
+   */
+  @AfterReturning("execution(* org.springframework.samples.petclinic.service.ClinicService.saveOwner(..))"
+      + " && args(owner)")
+  public void indexSavedOwner(Owner owner) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          index(owner);
+        }
+      });
+    } else {
+      index(owner);
+    }
+  }
+
+  private void index(Owner owner) {
+    try {
+      ownerSearchRepository.index(owner);
+      ownerTypeaheadIndex.update(owner);
+    } catch (RuntimeException ex) {
+      // The owner is saved; a stale search entry must not fail the request
+      logger.warn("Could not index owner {}", owner.getId(), ex);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.aspect;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.SerializationUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Aspect coalescing identical concurrent {@code ClinicService} reads into a
+ * single call.
+ *
+ * <p>
+ * When several requests ask for the same owner, pet or last-name page at the
+ * same time, the first one (the leader) proceeds to the cache and database
+ * while the others (followers) wait for its result instead of opening their
+ * own transaction. The aspect runs ahead of caching and transactions (only
+ * the {@link MetricsAspect} timers wrap it), so a cold cache entry is loaded
+ * once rather than once per waiting request.
+ *
+ * <p>
+ * Callers mutate the returned entities (e.g. {@code owner.addPet} while
+ * binding a form), so a shared result is never handed to two callers: once a
+ * call had followers, each caller receives its own serialized copy. A call
+ * without followers returns the result untouched. Failures are rethrown to
+ * every waiting caller. Calls made inside an existing transaction are not
+ * coalesced, since they may need to see their own uncommitted writes.
+ *
+ * <p>
+ * Metrics tracked:
+ * <ul>
+ * <li>{@code petclinic.service.reads{method, outcome=executed|coalesced}}:
+ * reads that ran against the service versus reads served by another caller's
+ * in-flight call.</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestCoalescingAspect {
+
+  private final Map<CallKey, InFlightCall> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, Counter> executed = new ConcurrentHashMap<>();
+  private final Map<String, Counter> coalesced = new ConcurrentHashMap<>();
+  private final MeterRegistry registry;
+
+  @Value("${service.coalescing.enabled:true}")
+  private boolean enabled = true;
+
+  /**
+   * Constructor to initialize the aspect.
+   *
+   * @param registry The meter registry to register the counters with.
+   */
+  @Autowired
+  public RequestCoalescingAspect(io.micrometer.core.instrument.composite.CompositeMeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Advice that shares one in-flight call among identical concurrent reads.
+   *
+   * @param joinPoint The join point for the advised method.
+   * @return The result of the leader's call, copied if it was shared.
+   * @throws Throwable If the leader's call failed.
+   */
+  @Around("execution(* org.springframework.samples.petclinic.service.ClinicService.findOwnerById(..))"
+      + " || execution(* org.springframework.samples.petclinic.service.ClinicService.findPetById(..))"
+      + " || execution(* org.springframework.samples.petclinic.service.ClinicService.findOwnerByLastName(..))")
+  public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+    String method = joinPoint.getSignature().getName();
+    CallKey key = new CallKey(joinPoint.getSignature().toLongString(), Arrays.asList(joinPoint.getArgs()));
+    InFlightCall call = new InFlightCall();
+    // Joining and leaving happen under the map's per-key lock, so the leader
+    // sees the final follower count once it has removed the entry
+    InFlightCall existing = inFlight.compute(key, (k, current) -> {
+      if (current == null) {
+        return call;
+      }
+      current.followers.incrementAndGet();
+      return current;
+    });
+    if (existing != call) {
+      counter(coalesced, method, "coalesced").increment();
+      return copy(awaitResult(existing));
+    }
+
+    counter(executed, method, "executed").increment();
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable ex) {
+      inFlight.remove(key, call);
+      call.result.completeExceptionally(ex);
+      throw ex;
+    }
+    inFlight.remove(key, call);
+    call.result.complete(result);
+    // Followers copy the original; the leader must not mutate it either
+    return call.followers.get() > 0 ? copy(result) : result;
+  }
+
+  private static Object awaitResult(InFlightCall call) throws Throwable {
+    try {
+      return call.result.get();
+    } catch (ExecutionException ex) {
+      throw ex.getCause();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw ex;
+    }
+  }
+
+  private static Object copy(Object result) {
+    return result instanceof Serializable serializable ? SerializationUtils.clone(serializable) : result;
+  }
+
+  private Counter counter(Map<String, Counter> counters, String method, String outcome) {
+    return counters.computeIfAbsent(method, name -> Counter.builder("petclinic.service.reads")
+        .description("ClinicService reads executed or served by a concurrent identical call")
+        .tag("method", name)
+        .tag("outcome", outcome)
+        .register(registry));
+  }
+
+  private record CallKey(String method, List<Object> args) {
+  }
+
+  private static final class InFlightCall {
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    private final AtomicInteger followers = new AtomicInteger();
+  }
+}
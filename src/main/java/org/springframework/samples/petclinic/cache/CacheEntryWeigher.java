@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.lang.NonNull;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Weighs cache entries by the number of rows they represent, for caches
+ * configured with {@code maximumWeight}.
+ *
+ * <p>
+ * An owner counts itself, its pets and any visits already loaded, so one
+ * owner with twenty pets consumes the same budget as twenty single-pet owners.
+ * Collections count their elements. Visit histories are lazy and usually not
+ * part of a cached graph; weighing never loads them.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+  @Override
+  public int weigh(@NonNull Object key, @NonNull Object value) {
+    if (value instanceof Owner owner) {
+      int weight = 1;
+      for (Pet pet : owner.getPets()) {
+        weight += weigh(pet);
+      }
+      return weight;
+    }
+    if (value instanceof Pet pet) {
+      return weigh(pet);
+    }
+    if (value instanceof Collection<?> collection) {
+      return Math.max(1, collection.size());
+    }
+    if (value instanceof Map<?, ?> map) {
+      return Math.max(1, map.size());
+    }
+    return 1;
+  }
+
+  private static int weigh(Pet pet) {
+    return 1 + (pet.isVisitsLoaded() ? pet.getVisits().size() : 0);
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.io.Serializable;
+
+/**
+ * Invalidation message exchanged over the {@link CacheInvalidationBus}.
+ *
+ * @param originNodeId the node that performed the write
+ * @param cacheName    the affected cache
+ * @param key          the affected key, or {@code null} when the whole cache
+ *                     was cleared
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record CacheInvalidation(String originNodeId, String cacheName, Object key) implements Serializable {
+
+  /**
+   * Returns whether this message clears the whole cache.
+   *
+   * @return {@code true} if no key is set
+   */
+  public boolean isClear() {
+    return key == null;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel telling every node to drop near-cache entries after a
+ * write.
+ *
+ * <p>
+ * Implementations front a messaging system such as Redis pub/sub or JMS topics.
+ * Messages are delivered to every subscriber, including the publishing node;
+ * receivers skip their own messages by comparing
+ * {@link CacheInvalidation#originNodeId()}.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public interface CacheInvalidationBus {
+
+  /**
+   * Publishes an invalidation to all subscribers.
+   *
+   * @param invalidation the message to publish
+   */
+  void publish(CacheInvalidation invalidation);
+
+  /**
+   * Registers a listener for invalidations published by any node.
+   *
+   * @param listener the listener to register
+   */
+  void subscribe(Consumer<CacheInvalidation> listener);
+}
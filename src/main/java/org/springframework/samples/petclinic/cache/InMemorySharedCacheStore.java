@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * In-process {@link SharedCacheStore} used when no distributed store is
+ * configured.
+ *
+ * <p>
+ * Each cache name gets a Caffeine cache bounded to
+ * {@link #DEFAULT_MAXIMUM_SIZE} entries, and each entry expires after the time
+ * to live it was put with. Sharing one instance between several
+ * {@link TwoTierCacheManager}s simulates a cluster inside a single JVM, which
+ * is how the two-tier behaviour is tested.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+  /** Default bound on the number of entries kept per cache name. */
+  public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  private final Map<String, Cache<Object, Entry>> caches = new ConcurrentHashMap<>();
+  private final long maximumSizePerCache;
+  private final Ticker ticker;
+
+  /**
+   * Creates a store keeping up to {@link #DEFAULT_MAXIMUM_SIZE} entries per
+   * cache name.
+   */
+  public InMemorySharedCacheStore() {
+    this(DEFAULT_MAXIMUM_SIZE, Ticker.systemTicker());
+  }
+
+  /**
+   * Creates a store with the given bound and time source.
+   *
+   * @param maximumSizePerCache the maximum number of entries per cache name
+   * @param ticker              the time source for expiry
+   */
+  public InMemorySharedCacheStore(long maximumSizePerCache, Ticker ticker) {
+    this.maximumSizePerCache = maximumSizePerCache;
+    this.ticker = ticker;
+  }
+
+  @Override
+  public Object get(String cacheName, Object key) {
+    Cache<Object, Entry> cache = caches.get(cacheName);
+    Entry entry = cache != null ? cache.getIfPresent(key) : null;
+    return entry != null ? entry.value() : null;
+  }
+
+  @Override
+  public void put(String cacheName, Object key, Object value, @Nullable Duration timeToLive) {
+    long timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : Long.MAX_VALUE;
+    caches.computeIfAbsent(cacheName, name -> newCache()).put(key, new Entry(value, timeToLiveNanos));
+  }
+
+  @Override
+  public void evict(String cacheName, Object key) {
+    Cache<Object, Entry> cache = caches.get(cacheName);
+    if (cache != null) {
+      cache.invalidate(key);
+    }
+  }
+
+  @Override
+  public void clear(String cacheName) {
+    Cache<Object, Entry> cache = caches.get(cacheName);
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  private Cache<Object, Entry> newCache() {
+    return Caffeine.newBuilder()
+        .maximumSize(maximumSizePerCache)
+        .expireAfter(new EntryExpiry())
+        .ticker(ticker)
+        .build();
+  }
+
+  /** A stored value with the time to live it was put with. */
+  private record Entry(Object value, long timeToLiveNanos) {
+  }
+
+  /** Expires each entry after its own time to live; reads do not extend it. */
+  private static final class EntryExpiry implements Expiry<Object, Entry> {
+
+    @Override
+    public long expireAfterCreate(@NonNull Object key, @NonNull Entry entry, long currentTime) {
+      return entry.timeToLiveNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(@NonNull Object key, @NonNull Entry entry, long currentTime,
+        long currentDuration) {
+      return entry.timeToLiveNanos();
+    }
+
+    @Override
+    public long expireAfterRead(@NonNull Object key, @NonNull Entry entry, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.lang.NonNull;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Instrumented Caffeine {@link CacheLoader} for single-key reference data
+ * caches such as {@code vets} and {@code petTypes}.
+ *
+ * <p>
+ * Registering a loader for a cache turns it into a {@code LoadingCache}, which
+ * makes {@code refreshAfterWrite} in its {@code cache.spec.<name>} usable: once
+ * an entry is older than the refresh interval, the next read returns the
+ * current value immediately and triggers one background reload. If the reload
+ * fails, the old value keeps being served until {@code expireAfterWrite}.
+ * Concurrent misses for the same key share one load, since Caffeine computes
+ * each key at most once at a time.
+ *
+ * <p>
+ * The key is ignored; every key of the cache loads the same data. Listeners
+ * registered with {@link #addListener(BiConsumer)} receive every key and value
+ * loaded or reloaded, e.g. to rebuild data derived from the cached value or to
+ * write it through to a shared tier.
+ *
+ * <p>
+ * Metrics exported:
+ * <ul>
+ * <li>{@code petclinic.cache.loads{cache, type=load|refresh}}: load latency
+ * (Timer).</li>
+ * <li>{@code petclinic.cache.refreshes{cache, result=success|failure}}:
+ * background refreshes (Counter).</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class RefreshingCacheLoader implements CacheLoader<Object, Object> {
+
+  private final String cacheName;
+  private final Supplier<?> loader;
+  private final Timer loadTimer;
+  private final Timer refreshTimer;
+  private final Counter refreshSuccesses;
+  private final Counter refreshFailures;
+  private final List<BiConsumer<Object, Object>> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Creates a loader for the named cache.
+   *
+   * @param cacheName the cache this loader populates
+   * @param loader    reads the current value from the database
+   * @param registry  the meter registry to register the metrics with
+   */
+  public RefreshingCacheLoader(String cacheName, Supplier<?> loader, MeterRegistry registry) {
+    this.cacheName = cacheName;
+    this.loader = loader;
+    this.loadTimer = loadTimer(registry, cacheName, "load");
+    this.refreshTimer = loadTimer(registry, cacheName, "refresh");
+    this.refreshSuccesses = refreshCounter(registry, cacheName, "success");
+    this.refreshFailures = refreshCounter(registry, cacheName, "failure");
+  }
+
+  /**
+   * Returns the name of the cache this loader populates.
+   *
+   * @return the cache name
+   */
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  /**
+   * Registers a listener for the values this loader loads or reloads.
+   *
+   * @param listener called on the loading thread with each key and new value
+   */
+  public void addListener(BiConsumer<Object, Object> listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public Object load(@NonNull Object key) {
+    return loaded(key, loadTimer.record(loader));
+  }
+
+  @Override
+  public Object reload(@NonNull Object key, @NonNull Object oldValue) {
+    try {
+      Object value = refreshTimer.record(loader);
+      refreshSuccesses.increment();
+      return loaded(key, value);
+    } catch (RuntimeException ex) {
+      // Caffeine logs the failure and keeps serving oldValue
+      refreshFailures.increment();
+      throw ex;
+    }
+  }
+
+  private Object loaded(Object key, Object value) {
+    for (BiConsumer<Object, Object> listener : listeners) {
+      listener.accept(key, value);
+    }
+    return value;
+  }
+
+  private static Timer loadTimer(MeterRegistry registry, String cacheName, String type) {
+    return Timer.builder("petclinic.cache.loads")
+        .description("Time taken to load a cache entry from the database")
+        .tag("cache", cacheName)
+        .tag("type", type)
+        .register(registry);
+  }
+
+  private static Counter refreshCounter(MeterRegistry registry, String cacheName, String result) {
+    return Counter.builder("petclinic.cache.refreshes")
+        .description("Background refreshes of cache entries")
+        .tag("cache", cacheName)
+        .tag("result", result)
+        .register(registry);
+  }
+}
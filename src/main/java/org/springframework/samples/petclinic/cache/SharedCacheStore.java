@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Shared (second) tier of a {@link TwoTierCache}, visible to every node.
+ *
+ * <p>
+ * Implementations front a distributed store such as Redis or Infinispan. Values
+ * handed to the store are already adapted by the cache (nulls are replaced by
+ * Spring's {@code NullValue}) and must be serializable for remote stores.
+ * Entries expire after the time to live given on {@code put}, so the shared
+ * tier never outlives the expiry configured for the cache.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public interface SharedCacheStore {
+
+  /**
+   * Returns the stored value, or {@code null} if there is no entry.
+   *
+   * @param cacheName the cache name
+   * @param key       the entry key
+   * @return the stored value or {@code null}
+   */
+  Object get(String cacheName, Object key);
+
+  /**
+   * Stores a value, replacing any existing entry.
+   *
+   * @param cacheName  the cache name
+   * @param key        the entry key
+   * @param value      the value to store
+   * @param timeToLive how long the entry is kept, or {@code null} to keep it
+   *                   until evicted
+   */
+  void put(String cacheName, Object key, Object value, @Nullable Duration timeToLive);
+
+  /**
+   * Removes a single entry.
+   *
+   * @param cacheName the cache name
+   * @param key       the entry key
+   */
+  void evict(String cacheName, Object key);
+
+  /**
+   * Removes every entry of a cache.
+   *
+   * @param cacheName the cache name
+   */
+  void clear(String cacheName);
+}
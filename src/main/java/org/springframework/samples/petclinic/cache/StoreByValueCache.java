@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * {@link Cache} decorator that stores and returns copies of the cached values.
+ *
+ * <p>
+ * Entity graphs such as an {@code Owner} with its pets are handed to
+ * controllers that mutate them while binding forms ({@code owner.addPet},
+ * {@code pet.setName}). Copying on the way in and on the way out keeps those
+ * changes out of the shared cached instance. Values must be
+ * {@link Serializable}; the copy is a serialization round trip.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class StoreByValueCache implements Cache {
+
+  private final Cache delegate;
+
+  /**
+   * Creates a decorator around the given cache.
+   *
+   * @param delegate the cache holding the copies
+   */
+  public StoreByValueCache(Cache delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Decorates a cache that holds mutable entity graphs: values are copied, and
+   * puts and evictions are deferred until the surrounding transaction commits
+   * so that a concurrent reader cannot re-cache the pre-commit state.
+   *
+   * @param cache the cache to decorate
+   * @return the decorated cache
+   */
+  public static Cache forEntities(Cache cache) {
+    return new TransactionAwareCacheDecorator(new StoreByValueCache(cache));
+  }
+
+  @Override
+  @NonNull
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  @NonNull
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper get(@NonNull Object key) {
+    ValueWrapper wrapper = delegate.get(key);
+    return wrapper != null ? new SimpleValueWrapper(copy(wrapper.get())) : null;
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+    return copy(delegate.get(key, type));
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+    // The loaded instance is stored as is and never handed out, so the caller
+    // only needs a copy of it
+    return copy(delegate.get(key, valueLoader));
+  }
+
+  @Override
+  @Nullable
+  public CompletableFuture<?> retrieve(@NonNull Object key) {
+    CompletableFuture<?> future = delegate.retrieve(key);
+    return future != null ? future.thenApply(StoreByValueCache::copy) : null;
+  }
+
+  @Override
+  @NonNull
+  public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+    return delegate.retrieve(key, valueLoader).thenApply(StoreByValueCache::copy);
+  }
+
+  @Override
+  public void put(@NonNull Object key, @Nullable Object value) {
+    delegate.put(key, copy(value));
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+    ValueWrapper existing = delegate.putIfAbsent(key, copy(value));
+    return existing != null ? new SimpleValueWrapper(copy(existing.get())) : null;
+  }
+
+  @Override
+  public void evict(@NonNull Object key) {
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(@NonNull Object key) {
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    return delegate.invalidate();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T copy(T value) {
+    if (value == null) {
+      return null;
+    }
+    if (!(value instanceof Serializable serializable)) {
+      throw new IllegalArgumentException(
+          "Store-by-value caches require Serializable values: " + value.getClass().getName());
+    }
+    return (T) SerializationUtils.clone(serializable);
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} with a Caffeine near-cache in
+ * front of a {@link SharedCacheStore}.
+ *
+ * <p>
+ * Reads hit the local Caffeine tier first and fall back to the shared tier,
+ * copying shared hits into the near-cache. Writes ({@code put}, {@code evict},
+ * {@code clear}) go to the shared tier and are broadcast over the
+ * {@link CacheInvalidationBus} so that other nodes drop their near copies and
+ * re-read the shared tier on next access. Values loaded through
+ * {@link #get(Object, Callable)} are not broadcast, since every node would load
+ * the same value from the database.
+ *
+ * <p>
+ * Shared entries are written with the cache's time to live, normally its
+ * {@code expireAfterWrite}. A near copy read from the shared tier starts its
+ * own expiry, so a value is at most twice that old before it is read from the
+ * database again.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+  private final String name;
+  private final Cache<Object, Object> nearCache;
+  private final SharedCacheStore sharedStore;
+  private final CacheInvalidationBus invalidationBus;
+  private final String nodeId;
+  private final Duration timeToLive;
+
+  /**
+   * Creates a two-tier cache.
+   *
+   * @param name            the cache name
+   * @param nearCache       the local Caffeine tier
+   * @param sharedStore     the shared tier
+   * @param invalidationBus the bus used to broadcast writes
+   * @param nodeId          the identifier of this node
+   * @param timeToLive      how long shared entries are kept, or {@code null}
+   *                        to keep them until evicted
+   * @param allowNullValues whether to accept and convert {@code null} values
+   */
+  public TwoTierCache(String name, Cache<Object, Object> nearCache, SharedCacheStore sharedStore,
+      CacheInvalidationBus invalidationBus, String nodeId, @Nullable Duration timeToLive, boolean allowNullValues) {
+    super(allowNullValues);
+    this.name = name;
+    this.nearCache = nearCache;
+    this.sharedStore = sharedStore;
+    this.invalidationBus = invalidationBus;
+    this.nodeId = nodeId;
+    this.timeToLive = timeToLive;
+  }
+
+  @Override
+  @NonNull
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  @NonNull
+  public Cache<Object, Object> getNativeCache() {
+    return nearCache;
+  }
+
+  @Override
+  @Nullable
+  protected Object lookup(@NonNull Object key) {
+    Object value = nearCache.getIfPresent(key);
+    if (value == null) {
+      value = sharedStore.get(name, key);
+      if (value != null) {
+        nearCache.put(key, value);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+    return (T) fromStoreValue(nearCache.get(key, k -> {
+      Object shared = sharedStore.get(name, k);
+      if (shared != null) {
+        return shared;
+      }
+      Object storeValue = toStoreValue(load(k, valueLoader));
+      sharedStore.put(name, k, storeValue, timeToLive);
+      return storeValue;
+    }));
+  }
+
+  @Override
+  public void put(@NonNull Object key, @Nullable Object value) {
+    Object storeValue = toStoreValue(value);
+    sharedStore.put(name, key, storeValue, timeToLive);
+    nearCache.put(key, storeValue);
+    invalidationBus.publish(new CacheInvalidation(nodeId, name, key));
+  }
+
+  @Override
+  public void evict(@NonNull Object key) {
+    sharedStore.evict(name, key);
+    nearCache.invalidate(key);
+    invalidationBus.publish(new CacheInvalidation(nodeId, name, key));
+  }
+
+  @Override
+  public void clear() {
+    sharedStore.clear(name);
+    nearCache.invalidateAll();
+    invalidationBus.publish(new CacheInvalidation(nodeId, name, null));
+  }
+
+  /**
+   * Writes a value reloaded into the near tier through to the shared tier, so
+   * other nodes read it instead of the value it replaced. The near tier is
+   * left alone: this runs while the near-cache computes the entry.
+   *
+   * @param key   the entry key
+   * @param value the reloaded value
+   */
+  void writeThrough(Object key, @Nullable Object value) {
+    sharedStore.put(name, key, toStoreValue(value), timeToLive);
+  }
+
+  /**
+   * Drops the near-cache entries named by an invalidation from another node.
+   *
+   * @param invalidation the received message
+   */
+  void onInvalidation(CacheInvalidation invalidation) {
+    if (invalidation.isClear()) {
+      nearCache.invalidateAll();
+    } else {
+      nearCache.invalidate(invalidation.key());
+    }
+  }
+
+  private static <T> T load(Object key, Callable<T> valueLoader) {
+    try {
+      return valueLoader.call();
+    } catch (Exception ex) {
+      throw new ValueRetrievalException(key, valueLoader, ex);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.lang.NonNull;
+
+/**
+ * {@link org.springframework.cache.CacheManager} creating {@link TwoTierCache}
+ * instances that share one {@link SharedCacheStore} and
+ * {@link CacheInvalidationBus}.
+ *
+ * <p>
+ * The manager subscribes to the bus once and routes every invalidation
+ * published by another node to the matching cache's near tier. Caches not
+ * listed up front are created on first use, like {@code CaffeineCacheManager}.
+ * Caches named in {@link #setStoreByValueCacheNames(Collection)} are decorated
+ * with {@link StoreByValueCache#forEntities(Cache)}. Shared entries expire
+ * after the time to live set with {@link #setTimeToLive(Function)}.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class TwoTierCacheManager extends AbstractCacheManager {
+
+  private final Collection<String> cacheNames;
+  private final Function<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> nearCacheFactory;
+  private final SharedCacheStore sharedStore;
+  private final CacheInvalidationBus invalidationBus;
+  private final String nodeId;
+  // Undecorated caches, so invalidations reach the near tier behind any decorator
+  private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+  private Set<String> storeByValueCacheNames = Set.of();
+  private Function<String, Duration> timeToLive = name -> null;
+
+  /**
+   * Creates the manager and subscribes it to the invalidation bus.
+   *
+   * @param cacheNames       the caches to create eagerly
+   * @param nearCacheFactory builds the Caffeine near tier of each cache
+   * @param sharedStore      the shared tier
+   * @param invalidationBus  the invalidation bus
+   * @param nodeId           the identifier of this node
+   */
+  public TwoTierCacheManager(Collection<String> cacheNames, Function<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> nearCacheFactory,
+      SharedCacheStore sharedStore, CacheInvalidationBus invalidationBus, String nodeId) {
+    this.cacheNames = List.copyOf(cacheNames);
+    this.nearCacheFactory = nearCacheFactory;
+    this.sharedStore = sharedStore;
+    this.invalidationBus = invalidationBus;
+    this.nodeId = nodeId;
+    invalidationBus.subscribe(this::onInvalidation);
+  }
+
+  /**
+   * Returns the identifier this node stamps on its invalidations.
+   *
+   * @return the node id
+   */
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Sets the caches whose values are copied on the way in and out.
+   *
+   * @param cacheNames the cache names
+   */
+  public void setStoreByValueCacheNames(Collection<String> cacheNames) {
+    this.storeByValueCacheNames = Set.copyOf(cacheNames);
+  }
+
+  /**
+   * Sets how long each cache keeps its shared entries; by default they are
+   * kept until evicted. Caches already created keep their time to live.
+   *
+   * @param timeToLive the time to live per cache name, or {@code null} for
+   *                   no expiry
+   */
+  public void setTimeToLive(Function<String, Duration> timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Writes a value reloaded into a near tier, e.g. by a
+   * {@code RefreshingCacheLoader}, through to the shared tier.
+   *
+   * @param cacheName the cache name
+   * @param key       the entry key
+   * @param value     the reloaded value
+   */
+  public void writeThrough(String cacheName, Object key, Object value) {
+    TwoTierCache cache = twoTierCaches.get(cacheName);
+    if (cache != null) {
+      cache.writeThrough(key, value);
+    }
+  }
+
+  @Override
+  @NonNull
+  protected Collection<? extends Cache> loadCaches() {
+    List<Cache> caches = new ArrayList<>(cacheNames.size());
+    for (String name : cacheNames) {
+      caches.add(createCache(name));
+    }
+    return caches;
+  }
+
+  @Override
+  protected Cache getMissingCache(@NonNull String name) {
+    return createCache(name);
+  }
+
+  @Override
+  @NonNull
+  protected Cache decorateCache(@NonNull Cache cache) {
+    return storeByValueCacheNames.contains(cache.getName()) ? StoreByValueCache.forEntities(cache) : cache;
+  }
+
+  private TwoTierCache createCache(String name) {
+    TwoTierCache cache = new TwoTierCache(
+        name, nearCacheFactory.apply(name), sharedStore, invalidationBus, nodeId, timeToLive.apply(name), true);
+    twoTierCaches.put(name, cache);
+    return cache;
+  }
+
+  private void onInvalidation(CacheInvalidation invalidation) {
+    if (nodeId.equals(invalidation.originNodeId())) {
+      return;
+    }
+    TwoTierCache cache = twoTierCaches.get(invalidation.cacheName());
+    if (cache != null) {
+      cache.onInvalidation(invalidation);
+    }
+  }
+}
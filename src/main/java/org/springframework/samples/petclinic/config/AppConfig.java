@@ -18,9 +18,12 @@ package org.springframework.samples.petclinic.config;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.EnableMBeanExport;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.PropertySources;
+import org.springframework.jmx.support.RegistrationPolicy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -58,6 +61,10 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableAspectJAutoProxy
 // Enables Spring's annotation-driven transaction management.
 @EnableTransactionManagement
+// Enables @Scheduled jobs such as partition maintenance.
+@EnableScheduling
+// Exports @ManagedResource beans (e.g. the LoggingAspect switch) over JMX.
+@EnableMBeanExport(registration = RegistrationPolicy.REPLACE_EXISTING)
 // Specifies the location of the application properties file.
 @PropertySources({
         @PropertySource("classpath:application.properties"),
@@ -68,6 +75,8 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
         DataSourceConfig.class,
         JpaConfig.class,
         CacheConfig.class,
+        CacheLoaderConfig.class,
+        OwnerSearchConfig.class,
         ObservabilityConfig.class,
         ResilienceConfig.class
 })
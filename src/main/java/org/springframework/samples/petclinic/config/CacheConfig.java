@@ -15,17 +15,37 @@
  */
 package org.springframework.samples.petclinic.config;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.samples.petclinic.cache.CacheEntryWeigher;
+import org.springframework.samples.petclinic.cache.CacheInvalidationBus;
+import org.springframework.samples.petclinic.cache.InMemorySharedCacheStore;
+import org.springframework.samples.petclinic.cache.LoopbackCacheInvalidationBus;
+import org.springframework.samples.petclinic.cache.RefreshingCacheLoader;
+import org.springframework.samples.petclinic.cache.SharedCacheStore;
+import org.springframework.samples.petclinic.cache.StoreByValueCache;
+import org.springframework.samples.petclinic.cache.TwoTierCacheManager;
+import org.springframework.util.StringUtils;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 
@@ -35,7 +55,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
  * <p>
  * Caffeine is a high-performance, near-optimal caching library providing a
  * near-optimal hit rate. This configuration enables Spring's cache abstraction
- * and defines a {@link CaffeineCacheManager} for the application.
+ * and builds one Caffeine cache per name in {@code cache.names}.
  *
  * <p>
  * Monitored caches:
@@ -43,8 +63,37 @@ import com.github.benmanes.caffeine.cache.Caffeine;
  * <li><b>vets</b>: Stores veterinarian data.</li>
  * <li><b>specialties</b>: Stores veterinarian specialties.</li>
  * <li><b>petTypes</b>: Stores pet types.</li>
+ * <li><b>ownerDetails</b>: Owner with pets and visits, keyed by owner id.</li>
+ * <li><b>petDetails</b>: Pet with its visits, keyed by pet id.</li>
  * </ul>
  *
+ * <p>
+ * Each cache takes its policy from {@code cache.spec.<name>}, a
+ * {@link com.github.benmanes.caffeine.cache.CaffeineSpec} string (size or
+ * weight bound, expiry, {@code softValues}, {@code recordStats}, ...). Caches
+ * without a spec fall back to the global {@code cache.initial-capacity},
+ * {@code cache.maximum-size} and {@code cache.expire-after-write-minutes}.
+ * Specs with {@code maximumWeight} are weighed by {@link CacheEntryWeigher}.
+ * Caches in {@code cache.async-names} are backed by an {@code AsyncCache}, and
+ * caches in {@code cache.store-by-value-names} hand out copies (see
+ * {@link StoreByValueCache}).
+ *
+ * <p>
+ * Caches with a {@link RefreshingCacheLoader} bean (see
+ * {@link CacheLoaderConfig}) are built as loading caches. Their spec may then
+ * use {@code refreshAfterWrite} to reload entries ahead of expiry, with a
+ * single load in flight per key.
+ *
+ * <p>
+ * With {@code cache.mode=two-tier} each cache becomes a Caffeine near-cache in
+ * front of a shared tier, and writes are broadcast so every node drops its
+ * stale near copy. Shared entries expire after the cache's
+ * {@code expireAfterWrite}, and values reloaded by a
+ * {@link RefreshingCacheLoader} are written through to the shared tier. A
+ * {@link SharedCacheStore} or {@link CacheInvalidationBus} bean replaces the
+ * in-process stand-ins used by default. Near-caches are always synchronous, so
+ * {@code cache.async-names} only applies in local mode.
+ *
  * @author Spring Petclinic Team
  * @version 2.0.0
  * @since 2.0.0
@@ -53,7 +102,13 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 // Enables Spring's caching support.
 @EnableCaching
 public class CacheConfig {
-  @Value("${cache.names:vets,specialties,petTypes}")
+  /** {@code cache.mode} value selecting the {@link TwoTierCacheManager}. */
+  static final String MODE_TWO_TIER = "two-tier";
+
+  /** Prefix of the per-cache Caffeine spec properties. */
+  static final String SPEC_PROPERTY_PREFIX = "cache.spec.";
+
+  @Value("${cache.names:vets,specialties,petTypes,ownerDetails,petDetails}")
   private String cacheNames;
 
   @Value("${cache.initial-capacity:100}")
@@ -65,19 +120,161 @@ public class CacheConfig {
   @Value("${cache.expire-after-write-minutes:10}")
   private int expireAfterWriteMinutes;
 
+  @Value("${cache.async-names:}")
+  private String asyncCacheNames;
+
+  @Value("${cache.store-by-value-names:ownerDetails,petDetails}")
+  private String storeByValueCacheNames;
+
+  @Value("${cache.mode:local}")
+  private String cacheMode;
+
+  @Value("${cache.node-id:}")
+  private String nodeId;
+
+  @Autowired
+  private Environment env;
+
+  // Optional distributed tier and bus; in-process stand-ins are used when absent
+  @Autowired(required = false)
+  private SharedCacheStore sharedCacheStore;
+
+  @Autowired(required = false)
+  private CacheInvalidationBus cacheInvalidationBus;
+
+  @Autowired(required = false)
+  private List<RefreshingCacheLoader> cacheLoaders = List.of();
+
   @Bean
   @NonNull
   public CacheManager cacheManager() {
-    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-    List<String> names = Arrays.asList(cacheNames.split(","));
-    cacheManager.setCacheNames(names);
-    cacheManager.setCaffeine(
-        java.util.Objects.requireNonNull(
-            Caffeine.newBuilder()
-                .initialCapacity(initialCapacity)
-                .maximumSize(maximumSize)
-                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
-                .recordStats()));
+    List<String> names = split(cacheNames);
+    Map<String, RefreshingCacheLoader> loaders = cacheLoaders.stream()
+        .collect(Collectors.toMap(RefreshingCacheLoader::getCacheName, Function.identity()));
+    Set<String> storeByValue = Set.copyOf(split(storeByValueCacheNames));
+    if (MODE_TWO_TIER.equalsIgnoreCase(cacheMode)) {
+      TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+          names,
+          name -> buildNativeCache(name, caffeineSpec(name), loaders.get(name)),
+          sharedCacheStore != null ? sharedCacheStore : new InMemorySharedCacheStore(),
+          cacheInvalidationBus != null ? cacheInvalidationBus : new LoopbackCacheInvalidationBus(),
+          StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString());
+      cacheManager.setStoreByValueCacheNames(storeByValue);
+      cacheManager.setTimeToLive(this::sharedTimeToLive);
+      loaders.forEach((name, loader) -> loader.addListener(
+          (key, value) -> cacheManager.writeThrough(name, key, value)));
+      return cacheManager;
+    }
+
+    Set<String> async = Set.copyOf(split(asyncCacheNames));
+    List<Cache> caches = new ArrayList<>(names.size());
+    for (String name : names) {
+      Cache cache = buildCache(name, caffeineSpec(name), loaders.get(name), async.contains(name));
+      caches.add(storeByValue.contains(name) ? StoreByValueCache.forEntities(cache) : cache);
+    }
+    SimpleCacheManager cacheManager = new SimpleCacheManager();
+    cacheManager.setCaches(caches);
+    // Initialize eagerly so the returned manager is usable outside a context
+    cacheManager.initializeCaches();
     return cacheManager;
   }
+
+  /**
+   * Returns the Caffeine builder for the named cache, from
+   * {@code cache.spec.<name>} or the global defaults.
+   *
+   * @param name the cache name
+   * @return the configured builder
+   */
+  Caffeine<Object, Object> caffeineSpec(String name) {
+    String spec = env.getProperty(SPEC_PROPERTY_PREFIX + name);
+    if (!StringUtils.hasText(spec)) {
+      return Caffeine.newBuilder()
+          .initialCapacity(initialCapacity)
+          .maximumSize(maximumSize)
+          .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+          .recordStats();
+    }
+    Caffeine<Object, Object> builder = Caffeine.from(spec);
+    if (spec.contains("maximumWeight")) {
+      builder.weigher(new CacheEntryWeigher());
+    }
+    return builder;
+  }
+
+  /**
+   * Returns how long the shared tier keeps entries of the named cache: the
+   * {@code expireAfterWrite} of its spec, or the global default when it has
+   * no spec.
+   *
+   * @param name the cache name
+   * @return the time to live, or {@code null} if the spec sets no
+   *         {@code expireAfterWrite}
+   */
+  @Nullable
+  Duration sharedTimeToLive(String name) {
+    String spec = env.getProperty(SPEC_PROPERTY_PREFIX + name);
+    if (!StringUtils.hasText(spec)) {
+      return Duration.ofMinutes(expireAfterWriteMinutes);
+    }
+    for (String option : StringUtils.commaDelimitedListToStringArray(spec)) {
+      String[] keyAndValue = StringUtils.split(option.trim(), "=");
+      if (keyAndValue != null && "expireAfterWrite".equals(keyAndValue[0].trim())) {
+        return parseDuration(name, keyAndValue[1].trim());
+      }
+    }
+    return null;
+  }
+
+  // CaffeineSpec durations: an integer with a d, h, m or s suffix, or ISO-8601
+  private static Duration parseDuration(String name, String value) {
+    try {
+      if (value.startsWith("P") || value.startsWith("p")) {
+        return Duration.parse(value);
+      }
+      long amount = Long.parseLong(value.substring(0, value.length() - 1));
+      return switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+        case 'd' -> Duration.ofDays(amount);
+        case 'h' -> Duration.ofHours(amount);
+        case 'm' -> Duration.ofMinutes(amount);
+        case 's' -> Duration.ofSeconds(amount);
+        default -> throw new IllegalArgumentException("unknown unit in " + value);
+      };
+    } catch (RuntimeException ex) {
+      throw new IllegalStateException(
+          "Invalid " + SPEC_PROPERTY_PREFIX + name + ": expireAfterWrite=" + value, ex);
+    }
+  }
+
+  private static Cache buildCache(String name, Caffeine<Object, Object> builder,
+      RefreshingCacheLoader loader, boolean async) {
+    if (!async) {
+      return new CaffeineCache(name, buildNativeCache(name, builder, loader), true);
+    }
+    try {
+      return new CaffeineCache(name, loader != null ? builder.buildAsync(loader) : builder.buildAsync(), true);
+    } catch (IllegalStateException ex) {
+      throw invalidSpec(name, ex);
+    }
+  }
+
+  private static com.github.benmanes.caffeine.cache.Cache<Object, Object> buildNativeCache(String name,
+      Caffeine<Object, Object> builder, RefreshingCacheLoader loader) {
+    try {
+      return loader != null ? builder.build(loader) : builder.build();
+    } catch (IllegalStateException ex) {
+      throw invalidSpec(name, ex);
+    }
+  }
+
+  private static IllegalStateException invalidSpec(String name, IllegalStateException ex) {
+    // e.g. refreshAfterWrite without a loader for this cache
+    return new IllegalStateException("Invalid " + SPEC_PROPERTY_PREFIX + name + ": " + ex.getMessage(), ex);
+  }
+
+  private static List<String> split(String names) {
+    return StringUtils.hasText(names)
+        ? List.of(StringUtils.trimArrayElements(StringUtils.commaDelimitedListToStringArray(names)))
+        : List.of();
+  }
 }
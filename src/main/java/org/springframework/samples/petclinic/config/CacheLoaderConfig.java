@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.config;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.samples.petclinic.cache.RefreshingCacheLoader;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.repository.PetRepository;
+import org.springframework.samples.petclinic.repository.VetRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Cache loaders for the reference data caches.
+ *
+ * <p>
+ * {@link CacheConfig} picks these up by cache name and builds the matching
+ * caches as Caffeine {@code LoadingCache}s, so the {@code refreshAfterWrite}
+ * setting in {@code cache.spec.vets} and {@code cache.spec.petTypes} reloads
+ * entries in the background instead of letting them expire under load.
+ *
+ * <p>
+ * The loaders read through the repositories directly, in their own read-only
+ * transaction. Going through {@code ClinicService} would hit the cache being
+ * refreshed and return the stale value.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Configuration
+public class CacheLoaderConfig {
+
+  /**
+   * Loader for the {@code vets} cache.
+   *
+   * @param vetRepository      the vet repository
+   * @param transactionManager the transaction manager
+   * @param registry           the meter registry
+   * @return the vets loader
+   */
+  @Bean
+  public RefreshingCacheLoader vetsCacheLoader(VetRepository vetRepository,
+      PlatformTransactionManager transactionManager, CompositeMeterRegistry registry) {
+    TransactionTemplate transaction = readOnly(transactionManager);
+    return new RefreshingCacheLoader("vets",
+        () -> transaction.execute(status -> vetRepository.findAll()), registry);
+  }
+
+  /**
+   * Loader for the {@code petTypes} cache.
+   *
+   * @param petRepository      the pet repository
+   * @param transactionManager the transaction manager
+   * @param registry           the meter registry
+   * @return the pet types loader
+   */
+  @Bean
+  public RefreshingCacheLoader petTypesCacheLoader(PetRepository petRepository,
+      PlatformTransactionManager transactionManager, CompositeMeterRegistry registry) {
+    TransactionTemplate transaction = readOnly(transactionManager);
+    return new RefreshingCacheLoader("petTypes", () -> transaction.execute(status -> {
+      Collection<PetType> types = petRepository.findPetTypes();
+      return types != null ? types : List.of();
+    }), registry);
+  }
+
+  private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.setReadOnly(true);
+    return transaction;
+  }
+}
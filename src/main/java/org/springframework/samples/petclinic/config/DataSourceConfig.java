@@ -28,6 +28,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.lookup.JndiDataSourceLookup;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
@@ -108,6 +109,8 @@ public class DataSourceConfig {
     config.addDataSourceProperty("cachePrepStmts", env.getProperty("hikari.cache-prep-stmts", "true"));
     config.addDataSourceProperty("prepStmtCacheSize", env.getProperty("hikari.prep-stmt-cache-size", "250"));
     config.addDataSourceProperty("prepStmtCacheSqlLimit", env.getProperty("hikari.prep-stmt-cache-sql-limit", "2048"));
+    // PostgreSQL driver: send Hibernate's JDBC insert batches as multi-row INSERTs
+    config.addDataSourceProperty("reWriteBatchedInserts", env.getProperty("hikari.rewrite-batched-inserts", "true"));
 
     return new HikariDataSource(config);
   }
@@ -122,4 +125,16 @@ public class DataSourceConfig {
   public JdbcTemplate jdbcTemplate(@NotNull DataSource dataSource) {
     return new JdbcTemplate(dataSource);
   }
+
+  /**
+   * Exposes the database product, resolved once for every component that
+   * needs PostgreSQL-specific SQL.
+   *
+   * @param jdbcTemplate The JdbcTemplate of the main data source.
+   * @return The database platform.
+   */
+  @Bean
+  public DatabasePlatform databasePlatform(JdbcTemplate jdbcTemplate) {
+    return new DatabasePlatform(jdbcTemplate);
+  }
 }
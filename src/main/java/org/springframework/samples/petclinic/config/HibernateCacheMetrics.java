@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.config;
+
+import java.util.function.ToLongFunction;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Exports Hibernate second-level cache region statistics through Micrometer.
+ *
+ * <p>
+ * One set of counters is registered per region declared on the model (see the
+ * {@code @Cache} annotations and {@code caffeine-jcache.properties}). Values are
+ * read lazily from Hibernate's {@link Statistics} on every scrape, so nothing is
+ * recorded on the query path itself.
+ *
+ * <p>
+ * Metrics exported:
+ * <ul>
+ * <li>{@code hibernate.cache.region.requests{region, result=hit|miss}}</li>
+ * <li>{@code hibernate.cache.region.puts{region}}</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class HibernateCacheMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(HibernateCacheMetrics.class);
+
+  /**
+   * Binds the region counters of the given entity manager factory.
+   *
+   * @param emf      the Hibernate-backed entity manager factory
+   * @param registry the meter registry to register the counters with
+   */
+  @Autowired
+  public HibernateCacheMetrics(EntityManagerFactory emf, CompositeMeterRegistry registry) {
+    bindTo(emf.unwrap(SessionFactory.class).getStatistics(), registry);
+  }
+
+  /**
+   * Registers the region counters for every second-level cache region.
+   *
+   * @param statistics the Hibernate statistics
+   * @param registry   the meter registry to register the counters with
+   */
+  static void bindTo(Statistics statistics, MeterRegistry registry) {
+    if (!statistics.isStatisticsEnabled()) {
+      logger.warn("Hibernate statistics are disabled; second-level cache metrics will not be exported");
+      return;
+    }
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      regionCounter(statistics, "hibernate.cache.region.requests", region,
+          CacheRegionStatistics::getHitCount)
+          .tag("result", "hit")
+          .description("Second-level cache lookups per region and result")
+          .register(registry);
+      regionCounter(statistics, "hibernate.cache.region.requests", region,
+          CacheRegionStatistics::getMissCount)
+          .tag("result", "miss")
+          .description("Second-level cache lookups per region and result")
+          .register(registry);
+      regionCounter(statistics, "hibernate.cache.region.puts", region,
+          CacheRegionStatistics::getPutCount)
+          .description("Entries put into the second-level cache per region")
+          .register(registry);
+    }
+  }
+
+  private static FunctionCounter.Builder<Statistics> regionCounter(Statistics statistics, String name,
+      String region, ToLongFunction<CacheRegionStatistics> count) {
+    return FunctionCounter.builder(name, statistics, s -> {
+      CacheRegionStatistics regionStatistics = s.getCacheRegionStatistics(region);
+      return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+    }).tag("region", region);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.repository.InMemoryOwnerSearchRepository;
+import org.springframework.samples.petclinic.repository.JdbcOwnerSearchRepository;
+import org.springframework.samples.petclinic.repository.OwnerSearchRepository;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+
+/**
+ * Selects the {@link OwnerSearchRepository} for the configured database.
+ *
+ * <p>
+ * PostgreSQL uses the {@code pg_trgm} index created by {@code initDB.sql}, or
+ * by {@code migrateOwnerSearch.sql} on older databases. If the extension is
+ * not installed, {@code word_similarity} does not exist and the in-memory
+ * index is used instead, as on any other database (H2 in tests and
+ * benchmarks).
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Configuration
+public class OwnerSearchConfig {
+
+  private static final Logger logger = LoggerFactory.getLogger(OwnerSearchConfig.class);
+
+  private static final String TRIGRAM_EXTENSION_SQL =
+      "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')";
+  private static final String TRIGRAM_INDEX_SQL =
+      "SELECT EXISTS (SELECT 1 FROM pg_indexes WHERE indexname = 'idx_owners_search_trgm')";
+
+  /**
+   * Creates the owner search repository.
+   *
+   * @param jdbcTemplate     the JDBC template
+   * @param databasePlatform the database product
+   * @return the search repository
+   */
+  @Bean
+  public OwnerSearchRepository ownerSearchRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+    if (databasePlatform.isPostgres()) {
+      if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRIGRAM_EXTENSION_SQL, Boolean.class))) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRIGRAM_INDEX_SQL, Boolean.class))) {
+          logger.warn("idx_owners_search_trgm is missing; owner search scans the table until"
+              + " migrateOwnerSearch.sql is run");
+        }
+        return new JdbcOwnerSearchRepository(jdbcTemplate);
+      }
+      logger.warn("pg_trgm is not installed; using in-memory owner search until migrateOwnerSearch.sql is run");
+      return new InMemoryOwnerSearchRepository(jdbcTemplate);
+    }
+    logger.info("No trigram index on {}; using in-memory owner search", databasePlatform.getProductName());
+    return new InMemoryOwnerSearchRepository(jdbcTemplate);
+  }
+}
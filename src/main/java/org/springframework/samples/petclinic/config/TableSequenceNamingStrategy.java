@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.config;
+
+import java.util.Map;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.service.ServiceRegistry;
+
+/**
+ * Names implicit id sequences {@code <table>_id_seq}.
+ *
+ * <p>
+ * That is the name PostgreSQL gave the sequences behind the former
+ * {@code BIGSERIAL} columns, so the switch from {@code IDENTITY} to
+ * {@code SEQUENCE} generation reuses the existing sequences (and their
+ * current values) and the column defaults keep working for plain SQL inserts.
+ * Hibernate's default would be {@code <Entity>_SEQ}. Table generators keep the
+ * standard naming.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+
+  /** Suffix appended to the table name. */
+  public static final String SUFFIX = "_id_seq";
+
+  private final StandardNamingStrategy standard = new StandardNamingStrategy();
+
+  @Override
+  public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+      Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+    Object table = configValues.get(PersistentIdentifierGenerator.TABLE);
+    if (table == null) {
+      return standard.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+    JdbcEnvironment jdbcEnvironment = serviceRegistry.getService(JdbcEnvironment.class);
+    return new QualifiedSequenceName(catalogName, schemaName,
+        jdbcEnvironment.getIdentifierHelper().toIdentifier(table + SUFFIX));
+  }
+
+  @Override
+  public QualifiedName determineTableName(Identifier catalogName, Identifier schemaName,
+      Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+    return standard.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+  }
+}
@@ -79,7 +79,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     registry
         .addResourceHandler("/webjars/**")
-        .addResourceLocations("classpath:/META-INF/resources/webjars/");
+        .addResourceLocations("classpath:/META-INF/resources/webjars/")
+        .setCachePeriod(staticCachePeriod);
   }
 
   // Configures a view controller for the root URL.
@@ -109,7 +110,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
     }
   }
 
-  // Adds the SecurityHeadersInterceptor to the interceptor registry.
+  // Adds the SecurityHeadersInterceptor to the interceptor registry; its default
+  // per-route policy leaves Cache-Control on static resources to the handlers
+  // above.
   @Override
   public void addInterceptors(@NonNull InterceptorRegistry registry) {
     registry.addInterceptor(new SecurityHeadersInterceptor());
@@ -15,22 +15,28 @@
  */
 package org.springframework.samples.petclinic.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
 
-import org.springframework.beans.support.MutableSortDefinition;
-import org.springframework.beans.support.PropertyComparator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.samples.petclinic.util.DataMaskingUtil;
 
@@ -48,10 +54,15 @@ import org.springframework.samples.petclinic.util.DataMaskingUtil;
  */
 @Entity
 @Table(name = "owners")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owners")
 public class Owner extends Person {
 
   private static final long serialVersionUID = 1L;
 
+  private static final Comparator<Pet> BY_NAME =
+      Comparator.comparing(Pet::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
   @Column(name = "address")
   @NotEmpty(message = "Address is required.")
   @jakarta.validation.constraints.Size(min = 5, max = 255, message = "Address must be at least 5 characters.")
@@ -66,9 +77,24 @@ public class Owner extends Person {
   @jakarta.validation.constraints.Pattern(regexp = "\\d{10}", message = "Telephone must be exactly 10 digits.")
   private String telephone;
 
+  /** Last write time; maintained by Hibernate. */
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  /** Optimistic lock; also keys HTTP ETags. */
+  @Version
+  @Column(name = "version")
+  private Integer version;
+
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "owner")
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ownerPets")
   private Set<Pet> pets;
 
+  private transient SortedSnapshot<Pet> sortedPets;
+
+  private transient volatile PetNameIndex petNameIndex;
+
   public String getAddress() {
 
     return this.address;
@@ -99,6 +125,26 @@ public class Owner extends Person {
     this.telephone = telephone;
   }
 
+  public LocalDateTime getUpdatedAt() {
+
+    return this.updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+
+    this.updatedAt = updatedAt;
+  }
+
+  public Integer getVersion() {
+
+    return this.version;
+  }
+
+  public void setVersion(Integer version) {
+
+    this.version = version;
+  }
+
   protected Set<Pet> getPetsInternal() {
     if (this.pets == null) {
       this.pets = new HashSet<>();
@@ -108,24 +154,36 @@ public class Owner extends Person {
 
   protected void setPetsInternal(Set<Pet> pets) {
     this.pets = pets;
+    sortedPets().invalidate();
+    this.petNameIndex = null;
   }
 
+  /**
+   * Returns the pets sorted by name. Repeated calls return the same list
+   * until a pet is added.
+   *
+   * @return an unmodifiable list of the pets
+   */
   public List<Pet> getPets() {
-    // JDK 21: Using Sequenced Collections API for more efficient collection
-    // operations
-    // ArrayList provides direct access to underlying sequence, preserving insertion
-    // order
-    List<Pet> sortedPets = new ArrayList<>(getPetsInternal());
-    PropertyComparator.sort(sortedPets, new MutableSortDefinition("name", true, true));
-    // Returns an unmodifiable view of the sorted list using JDK 21
-    // Collections.unmodifiableList
-    return Collections.unmodifiableList(sortedPets);
+    return sortedPets().of(getPetsInternal());
+  }
+
+  private SortedSnapshot<Pet> sortedPets() {
+    // Transient, so null again after deserialization
+    if (this.sortedPets == null) {
+      this.sortedPets = new SortedSnapshot<>(BY_NAME);
+    }
+    return this.sortedPets;
   }
 
   public void addPet(Pet pet) {
 
     if (pet.isNew()) {
-      getPetsInternal().add(pet);
+      Set<Pet> source = getPetsInternal();
+      if (source.add(pet)) {
+        indexPet(source, pet);
+      }
+      sortedPets().invalidate();
     }
     pet.setOwner(this);
   }
@@ -144,7 +202,10 @@ public class Owner extends Person {
 
   /**
    * Return the Pet with the given name, or null if none found for this Owner.
-   * Demonstrates JDK 21 improvements with enhanced loop and pattern matching.
+   * Names are compared case-insensitively through an index of the pets by
+   * name, so the lookup does not scan the collection. The index is updated as
+   * pets are added and rebuilt only when the pet collection is replaced;
+   * renaming a pet already in the collection is not picked up.
    *
    * @param name      to test
    * @param ignoreNew whether to ignore new pets
@@ -152,18 +213,49 @@ public class Owner extends Person {
    */
   public Pet getPet(String name, boolean ignoreNew) {
 
-    // JDK 21: Use lowercase() with more efficient string handling
-    String lowerName = name.toLowerCase();
-    for (Pet pet : getPetsInternal()) {
-      if (!ignoreNew || !pet.isNew()) {
-        String compName = pet.getName();
-        // JDK 21: Improved string comparison using modern APIs
-        if (compName.toLowerCase().equals(lowerName)) {
-          return pet;
+    Pet pet = petsByName().get(nameKey(name));
+    return pet != null && !(ignoreNew && pet.isNew()) ? pet : null;
+  }
+
+  /**
+   * Returns the key under which pet names are unique per owner, matching the
+   * {@code (owner_id, lower(name))} unique index of the {@code pets} table.
+   *
+   * @param name the pet name
+   * @return the lower-cased name
+   */
+  public static String nameKey(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  private Map<String, Pet> petsByName() {
+    Set<Pet> source = getPetsInternal();
+    PetNameIndex index = this.petNameIndex;
+    if (index == null || index.source() != source || index.size() != source.size()) {
+      Map<String, Pet> byName = HashMap.newHashMap(source.size());
+      for (Pet pet : source) {
+        if (pet.getName() != null) {
+          // A saved pet wins over a new one with the same name
+          byName.merge(nameKey(pet.getName()), pet, (first, other) -> first.isNew() ? other : first);
         }
       }
+      index = new PetNameIndex(source, source.size(), byName);
+      this.petNameIndex = index;
     }
-    return null;
+    return index.byName();
+  }
+
+  private void indexPet(Set<Pet> source, Pet pet) {
+    PetNameIndex index = this.petNameIndex;
+    if (index == null || index.source() != source || index.size() != source.size() - 1) {
+      // Not built yet or out of step with the set; petsByName() rebuilds it
+      this.petNameIndex = null;
+      return;
+    }
+    if (pet.getName() != null) {
+      index.byName().merge(nameKey(pet.getName()), pet, (first, other) -> first.isNew() ? other : first);
+    }
+    this.petNameIndex = new PetNameIndex(source, source.size(), index.byName());
   }
 
   @Override
@@ -179,4 +271,8 @@ public class Owner extends Person {
         .append("telephone", DataMaskingUtil.maskTelephone(this.telephone))
         .toString();
   }
+
+  /** Pets by {@link #nameKey(String) name key}, valid while the pet set is unchanged. */
+  private record PetNameIndex(Set<Pet> source, int size, Map<String, Pet> byName) {
+  }
 }
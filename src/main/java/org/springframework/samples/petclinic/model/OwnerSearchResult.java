@@ -0,0 +1,37 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+import java.io.Serializable;
+
+/**
+ * One ranked hit of the free-text owner search, as returned by the
+ * {@code /owners/search} endpoint.
+ *
+ * @param id        the owner id
+ * @param firstName the first name
+ * @param lastName  the last name
+ * @param address   the address
+ * @param city      the city
+ * @param telephone the telephone number
+ * @param score     the relevance, between 0 and 1; higher is better
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record OwnerSearchResult(long id, String firstName, String lastName, String address, String city,
+    String telephone, double score) implements Serializable {
+}
@@ -16,25 +16,28 @@
 package org.springframework.samples.petclinic.model;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 
-import org.springframework.beans.support.MutableSortDefinition;
-import org.springframework.beans.support.PropertyComparator;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.format.annotation.DateTimeFormat;
 
 /**
@@ -46,10 +49,15 @@ import org.springframework.format.annotation.DateTimeFormat;
  */
 @Entity
 @Table(name = "pets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pets")
 public class Pet extends NamedEntity {
 
   private static final long serialVersionUID = 1L;
 
+  private static final Comparator<Visit> NEWEST_FIRST =
+      Comparator.comparing(Visit::getDate, Comparator.nullsFirst(Comparator.<LocalDate>reverseOrder()));
+
   @Column(name = "birth_date")
   @DateTimeFormat(pattern = "yyyy-MM-dd")
   @NotNull
@@ -64,9 +72,26 @@ public class Pet extends NamedEntity {
   @JoinColumn(name = "owner_id")
   private Owner owner;
 
-  @OneToMany(cascade = CascadeType.ALL, mappedBy = "pet", fetch = FetchType.EAGER)
+  /** Last write time; maintained by Hibernate. */
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  /** Optimistic lock; also keys HTTP ETags. */
+  @Version
+  @Column(name = "version")
+  private Integer version;
+
+  /**
+   * Full visit history; lazy, because pages show only the latest visits
+   * ({@code VisitRepository}).
+   */
+  @OneToMany(cascade = CascadeType.ALL, mappedBy = "pet")
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "petVisits")
   private Set<Visit> visits = new LinkedHashSet<>();
 
+  private transient SortedSnapshot<Visit> sortedVisits;
+
   public void setBirthDate(LocalDate birthDate) {
 
     this.birthDate = birthDate;
@@ -77,6 +102,26 @@ public class Pet extends NamedEntity {
     return this.birthDate;
   }
 
+  public LocalDateTime getUpdatedAt() {
+
+    return this.updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+
+    this.updatedAt = updatedAt;
+  }
+
+  public Integer getVersion() {
+
+    return this.version;
+  }
+
+  public void setVersion(Integer version) {
+
+    this.version = version;
+  }
+
   public PetType getType() {
 
     return this.type;
@@ -106,20 +151,41 @@ public class Pet extends NamedEntity {
 
   protected void setVisitsInternal(Set<Visit> visits) {
     this.visits = visits;
+    sortedVisits().invalidate();
   }
 
+  /**
+   * Returns all visits, newest first. Loads the whole history; views should
+   * page through {@code ClinicService#findVisitsByPetId} instead. Repeated
+   * calls return the same list until a visit is added.
+   *
+   * @return an unmodifiable list of the visits
+   */
   public List<Visit> getVisits() {
-    // JDK 21: Using Sequenced Collections API for ordered collection operations
-    // This provides a cleaner interface for accessing collection members by
-    // position
-    List<Visit> sortedVisits = new ArrayList<>(getVisitsInternal());
-    PropertyComparator.sort(sortedVisits, new MutableSortDefinition("date", false, false));
-    // Returns an unmodifiable view using modern JDK 21 Collections
-    return Collections.unmodifiableList(sortedVisits);
+    return sortedVisits().of(getVisitsInternal());
+  }
+
+  private SortedSnapshot<Visit> sortedVisits() {
+    // Transient, so null again after deserialization
+    if (this.sortedVisits == null) {
+      this.sortedVisits = new SortedSnapshot<>(NEWEST_FIRST);
+    }
+    return this.sortedVisits;
+  }
+
+  /**
+   * Returns whether the visit history is in memory, so that code holding a
+   * detached (for example cached) pet can avoid lazy loading.
+   *
+   * @return {@code true} if {@link #getVisits()} needs no database access
+   */
+  public boolean isVisitsLoaded() {
+    return Hibernate.isInitialized(this.visits);
   }
 
   public void addVisit(Visit visit) {
     getVisitsInternal().add(visit);
+    sortedVisits().invalidate();
     visit.setPet(this);
   }
 }
@@ -15,18 +15,28 @@
  */
 package org.springframework.samples.petclinic.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Simple JavaBean domain object representing a pet type (e.g. dog, cat, bird).
  *
+ * <p>
+ * Reference data that the application never modifies, so it is cached
+ * read-only in the {@code petTypes} second-level cache region.
+ *
  * @author Spring Petclinic Team
  * @version 2.0.0
  * @since 2.0.0
  */
 @Entity
 @Table(name = "types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "petTypes")
 public class PetType extends NamedEntity {
 
     private static final long serialVersionUID = 1L;
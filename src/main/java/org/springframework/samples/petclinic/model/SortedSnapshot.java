@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted, unmodifiable view of an entity collection that is only rebuilt
+ * when the collection changes.
+ *
+ * <p>
+ * The ordered accessors ({@link Owner#getPets()}, {@link Pet#getVisits()},
+ * {@link Vet#getSpecialties()}) are called many times per rendered page and
+ * per marshalled document; repeated calls return the same list without
+ * copying or sorting. The snapshot is rebuilt when the owning entity calls
+ * {@link #invalidate()}, when the collection instance is replaced (as
+ * Hibernate does when it wraps or loads it) or when its size changes.
+ * Changing the sort key of an element already in the collection (renaming a
+ * pet) is not detected; the owning entity is reloaded after such writes.
+ *
+ * <p>
+ * Entities hold the snapshot in a {@code transient} field, so it is neither
+ * persisted nor copied into the cache.
+ *
+ * @param <E> the element type
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+final class SortedSnapshot<E> {
+
+  private final Comparator<? super E> order;
+
+  private volatile State<E> state;
+
+  SortedSnapshot(Comparator<? super E> order) {
+    this.order = order;
+  }
+
+  /**
+   * Returns the elements of {@code source} in order.
+   *
+   * @param source the backing collection
+   * @return an unmodifiable sorted list, shared between calls while
+   *         {@code source} is unchanged
+   */
+  List<E> of(Collection<E> source) {
+    State<E> current = this.state;
+    int size = source.size();
+    if (current == null || current.source != source || current.size != size) {
+      List<E> sorted = new ArrayList<>(source);
+      sorted.sort(order);
+      current = new State<>(source, size, Collections.unmodifiableList(sorted));
+      this.state = current;
+    }
+    return current.sorted;
+  }
+
+  /**
+   * Discards the snapshot; the next {@link #of(Collection)} sorts again.
+   */
+  void invalidate() {
+    this.state = null;
+  }
+
+  private record State<E>(Collection<E> source, int size, List<E> sorted) {
+  }
+}
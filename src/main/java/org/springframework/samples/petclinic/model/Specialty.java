@@ -15,20 +15,30 @@
  */
 package org.springframework.samples.petclinic.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.xml.bind.annotation.XmlRootElement;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Models a {@link Vet Vet's} specialization (e.g. radiology, dentistry,
  * surgery).
  *
+ * <p>
+ * Reference data that the application never modifies, so it is cached
+ * read-only in the {@code specialties} second-level cache region.
+ *
  * @author Spring Petclinic Team
  * @version 2.0.0
  * @since 2.0.0
  */
 @Entity
 @Table(name = "specialties")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "specialties")
 @XmlRootElement
 public class Specialty extends NamedEntity {
 
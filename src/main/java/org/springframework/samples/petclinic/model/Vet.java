@@ -15,12 +15,12 @@
  */
 package org.springframework.samples.petclinic.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
@@ -30,8 +30,8 @@ import jakarta.persistence.Table;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
 
-import org.springframework.beans.support.MutableSortDefinition;
-import org.springframework.beans.support.PropertyComparator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Simple JavaBean domain object representing a veterinarian.
@@ -42,15 +42,23 @@ import org.springframework.beans.support.PropertyComparator;
  */
 @Entity
 @Table(name = "vets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vets")
 @XmlRootElement
 public class Vet extends Person {
 
   private static final long serialVersionUID = 1L;
 
+  private static final Comparator<Specialty> BY_NAME =
+      Comparator.comparing(Specialty::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
   @ManyToMany(fetch = FetchType.EAGER)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vetSpecialties")
   @JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"), inverseJoinColumns = @JoinColumn(name = "specialty_id"))
   private Set<Specialty> specialties;
 
+  private transient SortedSnapshot<Specialty> sortedSpecialties;
+
   protected Set<Specialty> getSpecialtiesInternal() {
     if (this.specialties == null) {
       this.specialties = new HashSet<>();
@@ -60,17 +68,26 @@ public class Vet extends Person {
 
   protected void setSpecialtiesInternal(Set<Specialty> specialties) {
     this.specialties = specialties;
+    sortedSpecialties().invalidate();
   }
 
+  /**
+   * Returns the specialties sorted by name. Repeated calls return the same
+   * list until a specialty is added.
+   *
+   * @return an unmodifiable list of the specialties
+   */
   @XmlElement
   public List<Specialty> getSpecialties() {
+    return sortedSpecialties().of(getSpecialtiesInternal());
+  }
 
-    // JDK 21: Using Sequenced Collections API with modern collection operations
-    // ArrayList provides optimal performance for iteration and indexed access
-    List<Specialty> sortedSpecs = new ArrayList<>(getSpecialtiesInternal());
-    PropertyComparator.sort(sortedSpecs, new MutableSortDefinition("name", true, true));
-    // JDK 21: Enhanced Collections.unmodifiableList with modern semantics
-    return Collections.unmodifiableList(sortedSpecs);
+  private SortedSnapshot<Specialty> sortedSpecialties() {
+    // Transient, so null again after deserialization
+    if (this.sortedSpecialties == null) {
+      this.sortedSpecialties = new SortedSnapshot<>(BY_NAME);
+    }
+    return this.sortedSpecialties;
   }
 
   public int getNrOfSpecialties() {
@@ -81,5 +98,6 @@ public class Vet extends Person {
   public void addSpecialty(Specialty specialty) {
 
     getSpecialtiesInternal().add(specialty);
+    sortedSpecialties().invalidate();
   }
 }
@@ -17,14 +17,19 @@ package org.springframework.samples.petclinic.model;
 
 import java.time.LocalDate;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.format.annotation.DateTimeFormat;
 
 /**
@@ -36,6 +41,8 @@ import org.springframework.format.annotation.DateTimeFormat;
  */
 @Entity
 @Table(name = "visits")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "visits")
 public class Visit extends BaseEntity {
 
   private static final long serialVersionUID = 1L;
@@ -49,11 +56,16 @@ public class Visit extends BaseEntity {
   @Column(name = "description")
   private String description;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "pet_id")
   @NotNull
   private Pet pet;
 
+  /** Optimistic lock. */
+  @Version
+  @Column(name = "version")
+  private Integer version;
+
   public Visit() {
     this.date = LocalDate.now();
   }
@@ -78,6 +90,16 @@ public class Visit extends BaseEntity {
     this.description = description;
   }
 
+  public Integer getVersion() {
+
+    return this.version;
+  }
+
+  public void setVersion(Integer version) {
+
+    this.version = version;
+  }
+
   public Pet getPet() {
 
     return this.pet;
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.repository;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
+
+/**
+ * In-memory owner search for databases without {@code pg_trgm}, e.g. the H2
+ * database of the test and benchmark setups.
+ *
+ * <p>
+ * Mirrors {@link JdbcOwnerSearchRepository}: owners are indexed by the
+ * trigrams of their lower-cased first name, last name, city and telephone.
+ * A term of three or more characters narrows the candidates to the owners
+ * having all of its trigrams; the candidates are then checked for the actual
+ * substring. Shorter terms, which only match word starts, fall back to a
+ * scan.
+ *
+ * <p>
+ * The index is loaded from the {@code owners} table once all singletons are
+ * created and is kept current through {@link #index(Owner)}.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class InMemoryOwnerSearchRepository implements OwnerSearchRepository, SmartInitializingSingleton {
+
+  private static final Logger logger = LoggerFactory.getLogger(InMemoryOwnerSearchRepository.class);
+
+  private static final Comparator<OwnerSearchResult> RANKING = Comparator
+      .comparingDouble(OwnerSearchResult::score).reversed()
+      .thenComparing(OwnerSearchResult::lastName, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparingLong(OwnerSearchResult::id);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+  private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the repository.
+   *
+   * @param jdbcTemplate the template used to load the index, or {@code null}
+   *                     to start empty
+   */
+  public InMemoryOwnerSearchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (jdbcTemplate == null) {
+      return;
+    }
+    jdbcTemplate.query("SELECT id, first_name, last_name, address, city, telephone FROM owners",
+        (RowCallbackHandler) rs -> put(new Document(rs.getLong("id"), rs.getString("first_name"),
+            rs.getString("last_name"), rs.getString("address"), rs.getString("city"),
+            rs.getString("telephone"))));
+    logger.info("Indexed {} owners for search", documents.size());
+  }
+
+  @Override
+  public List<OwnerSearchResult> search(String query, int limit) {
+    List<String> terms = OwnerSearchRepository.terms(query);
+    if (terms.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    return candidates(terms)
+        .filter(document -> terms.stream().allMatch(term -> OwnerSearchRepository.matches(document.text, term)))
+        .map(document -> document.toResult(score(document, terms)))
+        .sorted(RANKING)
+        .limit(limit)
+        .toList();
+  }
+
+  @Override
+  public void index(Owner owner) {
+    if (owner.getId() != null) {
+      put(new Document(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+          owner.getCity(), owner.getTelephone()));
+    }
+  }
+
+  /**
+   * Returns the number of indexed owners.
+   *
+   * @return the index size
+   */
+  public int size() {
+    return documents.size();
+  }
+
+  private synchronized void put(Document document) {
+    Document previous = documents.put(document.id, document);
+    if (previous != null) {
+      for (String trigram : trigrams(previous.text)) {
+        Set<Long> ids = postings.get(trigram);
+        if (ids != null) {
+          ids.remove(previous.id);
+        }
+      }
+    }
+    for (String trigram : trigrams(document.text)) {
+      postings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(document.id);
+    }
+  }
+
+  private Stream<Document> candidates(List<String> terms) {
+    Set<Long> candidates = null;
+    for (String term : terms) {
+      for (String trigram : trigrams(term)) {
+        Set<Long> ids = postings.getOrDefault(trigram, Set.of());
+        if (candidates == null) {
+          candidates = new HashSet<>(ids);
+        } else {
+          candidates.retainAll(ids);
+        }
+      }
+    }
+    if (candidates == null) {
+      // Only terms shorter than a trigram
+      return documents.values().stream();
+    }
+    return candidates.stream().map(documents::get).filter(document -> document != null);
+  }
+
+  /**
+   * Averages, over the terms, how well each term matches its best field: an
+   * exact value scores 1, a prefix 0.75 and any other substring 0.5.
+   */
+  private static double score(Document document, List<String> terms) {
+    double total = 0;
+    for (String term : terms) {
+      double best = 0;
+      for (String field : document.fields) {
+        if (field.equals(term)) {
+          best = 1.0;
+        } else if (field.startsWith(term)) {
+          best = Math.max(best, 0.75);
+        } else if (field.contains(term)) {
+          best = Math.max(best, 0.5);
+        }
+      }
+      total += best;
+    }
+    return total / terms.size();
+  }
+
+  private static Set<String> trigrams(String text) {
+    Set<String> trigrams = new HashSet<>();
+    for (int i = 0; i + 3 <= text.length(); i++) {
+      trigrams.add(text.substring(i, i + 3));
+    }
+    return trigrams;
+  }
+
+  private static final class Document {
+
+    private final long id;
+    private final String firstName;
+    private final String lastName;
+    private final String address;
+    private final String city;
+    private final String telephone;
+    private final List<String> fields;
+    private final String text;
+
+    Document(long id, String firstName, String lastName, String address, String city, String telephone) {
+      this.id = id;
+      this.firstName = firstName;
+      this.lastName = lastName;
+      this.address = address;
+      this.city = city;
+      this.telephone = telephone;
+      this.fields = Stream.of(firstName, lastName, city, telephone)
+          .map(value -> value == null ? "" : value.toLowerCase(Locale.ROOT))
+          .toList();
+      this.text = String.join(" ", fields);
+    }
+
+    OwnerSearchResult toResult(double score) {
+      return new OwnerSearchResult(id, firstName, lastName, address, city, telephone, score);
+    }
+  }
+}
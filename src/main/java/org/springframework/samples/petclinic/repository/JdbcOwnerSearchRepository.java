@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
+
+/**
+ * PostgreSQL owner search backed by the {@code idx_owners_search_trgm}
+ * {@code pg_trgm} GIN index (see {@code initDB.sql}).
+ *
+ * <p>
+ * Each term becomes a {@code LIKE '%term%'} predicate on the same lower-cased
+ * expression the index is built on, so the planner answers substring matches
+ * from the trigram index instead of scanning the table. A term shorter than a
+ * trigram has no trigrams of its own and would turn that into a scan of the
+ * whole index, so it becomes a word-prefix match instead,
+ * {@code LIKE 'te%' OR LIKE '% te%'}: {@code pg_trgm} pads word starts, so
+ * these patterns yield the trigrams {@code "  t"} and {@code " te"} and still
+ * use the index. Results are ranked by {@code word_similarity} of the whole
+ * query against that expression.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class JdbcOwnerSearchRepository implements OwnerSearchRepository {
+
+  /** Must match the expression of {@code idx_owners_search_trgm}. */
+  static final String SEARCH_EXPRESSION = "lower(first_name || ' ' || last_name || ' '"
+      + " || coalesce(city, '') || ' ' || coalesce(telephone, ''))";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Creates the repository.
+   *
+   * @param jdbcTemplate the template bound to the PostgreSQL data source
+   */
+  public JdbcOwnerSearchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<OwnerSearchResult> search(String query, int limit) {
+    List<String> terms = OwnerSearchRepository.terms(query);
+    if (terms.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    StringBuilder sql = new StringBuilder("SELECT id, first_name, last_name, address, city, telephone, ")
+        .append("word_similarity(?, ").append(SEARCH_EXPRESSION).append(") AS score FROM owners WHERE ");
+    List<Object> args = new ArrayList<>();
+    args.add(String.join(" ", terms));
+    for (int i = 0; i < terms.size(); i++) {
+      if (i > 0) {
+        sql.append(" AND ");
+      }
+      String term = escapeLike(terms.get(i));
+      if (terms.get(i).length() >= MIN_SUBSTRING_LENGTH) {
+        sql.append(SEARCH_EXPRESSION).append(" LIKE ? ESCAPE '\\'");
+        args.add("%" + term + "%");
+      } else {
+        sql.append('(').append(SEARCH_EXPRESSION).append(" LIKE ? ESCAPE '\\' OR ")
+            .append(SEARCH_EXPRESSION).append(" LIKE ? ESCAPE '\\')");
+        args.add(term + "%");
+        args.add("% " + term + "%");
+      }
+    }
+    sql.append(" ORDER BY score DESC, last_name, id LIMIT ?");
+    args.add(limit);
+    return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new OwnerSearchResult(
+        rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"), rs.getString("address"),
+        rs.getString("city"), rs.getString("telephone"), rs.getDouble("score")), args.toArray());
+  }
+
+  @Override
+  public void index(Owner owner) {
+    // Maintained by PostgreSQL
+  }
+
+  static String escapeLike(String term) {
+    return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
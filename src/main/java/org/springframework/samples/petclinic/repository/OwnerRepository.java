@@ -15,14 +15,25 @@
  */
 package org.springframework.samples.petclinic.repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.samples.petclinic.model.Owner;
@@ -44,14 +55,111 @@ import org.springframework.stereotype.Repository;
 public interface OwnerRepository extends JpaRepository<Owner, Long> {
 
   /**
-   * Retrieves a paginated list of owners whose last name starts with the given string.
+   * Retrieves a paginated list of owners whose last name starts with the given string,
+   * with their pets.
+   *
+   * <p>
+   * Runs in two phases so that the database, not the JVM, applies the page: the IDs of
+   * the page are selected with LIMIT/OFFSET, then only those owners are fetched with
+   * their pets. Paging a {@code join fetch} query directly would load every matching
+   * owner (and is rejected by {@code fail_on_pagination_over_collection_fetch}).
    *
    * @param lastName The last name to search for.
    * @param pageable The pagination information.
    * @return A page of matching owners.
    */
-  @Query(value = "SELECT DISTINCT owner FROM Owner owner left join fetch owner.pets WHERE owner.lastName LIKE concat(:lastName, '%')", countQuery = "SELECT count(owner) FROM Owner owner WHERE owner.lastName LIKE concat(:lastName, '%')")
-  Page<Owner> findByLastName(@Param("lastName") String lastName, Pageable pageable);
+  default Page<Owner> findByLastName(String lastName, Pageable pageable) {
+    Page<Long> ids = findIdsByLastName(lastName, pageable);
+    if (ids.isEmpty()) {
+      return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+    }
+    Map<Long, Owner> owners = new HashMap<>();
+    for (Owner owner : findWithPetsByIdIn(ids.getContent())) {
+      owners.put(owner.getId(), owner);
+    }
+    // Keep the order of the ID page; skip owners deleted in between
+    List<Owner> content = ids.getContent().stream().map(owners::get).filter(Objects::nonNull).toList();
+    return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+  }
+
+  /**
+   * Retrieves one page of the IDs of owners whose last name starts with the given
+   * string, in {@code (lastName, id)} order.
+   *
+   * @param lastName The last name to search for.
+   * @param pageable The pagination information.
+   * @return A page of owner IDs.
+   */
+  @Query(value = "SELECT owner.id FROM Owner owner WHERE owner.lastName LIKE concat(:lastName, '%')"
+      + " ORDER BY owner.lastName, owner.id",
+      countQuery = "SELECT count(owner) FROM Owner owner WHERE owner.lastName LIKE concat(:lastName, '%')")
+  Page<Long> findIdsByLastName(@Param("lastName") String lastName, Pageable pageable);
+
+  /**
+   * Retrieves the first owners, in {@code (lastName, id)} order, whose last
+   * name starts with the given string. Only the slice size of the pageable is
+   * used; one extra row is read to tell whether more rows follow, and no
+   * count query is run.
+   *
+   * @param lastName The last name prefix to search for.
+   * @param pageable The slice size, starting at page 0.
+   * @return A slice of matching owners without their pets.
+   */
+  @Query("SELECT owner FROM Owner owner WHERE owner.lastName LIKE concat(:lastName, '%')"
+      + " ORDER BY owner.lastName, owner.id")
+  Slice<Owner> findSliceByLastName(@Param("lastName") String lastName, Pageable pageable);
+
+  /**
+   * Retrieves the owners, in {@code (lastName, id)} order, that follow the
+   * given position and whose last name starts with the given string. The
+   * redundant {@code lastName >= :afterLastName} bound lets the database seek
+   * on the {@code (last_name, id)} index instead of skipping rows.
+   *
+   * @param lastName      The last name prefix to search for.
+   * @param afterLastName The last name of the last owner already returned.
+   * @param afterId       The id of the last owner already returned.
+   * @param pageable      The slice size, starting at page 0.
+   * @return A slice of matching owners without their pets.
+   */
+  @Query("SELECT owner FROM Owner owner WHERE owner.lastName LIKE concat(:lastName, '%')"
+      + " AND owner.lastName >= :afterLastName"
+      + " AND (owner.lastName > :afterLastName OR owner.id > :afterId)"
+      + " ORDER BY owner.lastName, owner.id")
+  Slice<Owner> findSliceByLastNameAfter(@Param("lastName") String lastName,
+      @Param("afterLastName") String afterLastName, @Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Counts the owners whose last name starts with the given string.
+   *
+   * @param lastName The last name prefix to search for.
+   * @return The number of matching owners.
+   */
+  @Query("SELECT count(owner) FROM Owner owner WHERE owner.lastName LIKE concat(:lastName, '%')")
+  long countByLastName(@Param("lastName") String lastName);
+
+  /**
+   * Retrieves the given owners with their pets fetched in the same query.
+   * Used after a paged query so that the page itself needs no collection
+   * fetch join.
+   *
+   * @param ids The owner IDs.
+   * @return The owners, in no particular order.
+   */
+  @Query("SELECT DISTINCT owner FROM Owner owner left join fetch owner.pets WHERE owner.id IN :ids")
+  List<Owner> findWithPetsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Streams the id and names of every owner without loading entities. Must be
+   * consumed inside a transaction and closed afterwards.
+   *
+   * @return The owner names, in no particular order.
+   */
+  @Query("SELECT owner.id AS id, owner.firstName AS firstName, owner.lastName AS lastName FROM Owner owner")
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<OwnerName> streamAllNames();
 
   /**
    * Retrieves an owner by their ID, fetching their pets in the same query.
@@ -62,4 +170,16 @@ public interface OwnerRepository extends JpaRepository<Owner, Long> {
   @Query("SELECT owner FROM Owner owner left join fetch owner.pets WHERE owner.id =:id")
   @NonNull
   Optional<Owner> findById(@Param("id") @NotNull Long id);
+
+  /**
+   * Projection of an owner's id and names.
+   */
+  interface OwnerName {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
+
+/**
+ * Free-text search over owners.
+ *
+ * <p>
+ * Every whitespace separated term of the query must occur, case-insensitively,
+ * somewhere in the owner's first name, last name, city or telephone number;
+ * a term may match in the middle of a value ({@code "ank"} finds
+ * {@code Franklin}). Terms shorter than {@link #MIN_SUBSTRING_LENGTH}
+ * characters, too short for a trigram, only match the start of a word
+ * ({@code "fr"} finds {@code Franklin} but not {@code Alfred}). Results are
+ * ranked best first.
+ *
+ * <p>
+ * Implementations:
+ * <ul>
+ * <li>{@link JdbcOwnerSearchRepository} - PostgreSQL {@code pg_trgm} GIN
+ * index.</li>
+ * <li>{@link InMemoryOwnerSearchRepository} - in-memory trigram index, used
+ * on other databases (H2).</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public interface OwnerSearchRepository {
+
+  /** Maximum number of terms of a query; further terms are ignored. */
+  int MAX_TERMS = 5;
+
+  /** Shortest term matched anywhere in a value; shorter terms match word starts. */
+  int MIN_SUBSTRING_LENGTH = 3;
+
+  /**
+   * Searches owners.
+   *
+   * @param query the free-text query
+   * @param limit the maximum number of results
+   * @return the matches, best first; empty for a blank query
+   */
+  List<OwnerSearchResult> search(String query, int limit);
+
+  /**
+   * Brings the index up to date with a saved owner. Implementations backed by
+   * a database index need not do anything.
+   *
+   * @param owner the saved owner
+   */
+  void index(Owner owner);
+
+  /**
+   * Splits a query into lower-case terms.
+   *
+   * @param query the query
+   * @return at most {@link #MAX_TERMS} terms
+   */
+  static List<String> terms(String query) {
+    if (query == null || query.isBlank()) {
+      return List.of();
+    }
+    return Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+        .distinct()
+        .limit(MAX_TERMS)
+        .toList();
+  }
+
+  /**
+   * Returns whether a term matches the space-separated, lower-case searchable
+   * text of an owner.
+   *
+   * @param text the owner's first name, last name, city and telephone
+   * @param term a term as returned by {@link #terms(String)}
+   * @return whether the term occurs, or starts a word if it is short
+   */
+  static boolean matches(String text, String term) {
+    if (term.length() >= MIN_SUBSTRING_LENGTH) {
+      return text.contains(term);
+    }
+    return text.startsWith(term) || text.contains(" " + term);
+  }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.stereotype.Repository;
@@ -46,4 +47,16 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
    */
   @Query("SELECT ptype FROM PetType ptype ORDER BY ptype.name")
   List<PetType> findPetTypes();
+
+  /**
+   * Retrieves the ID of the owner's pet with the given name, compared
+   * case-insensitively. The {@code lower(name)} comparison is served by the
+   * {@code uq_pets_owner_name} index, so no pets are loaded.
+   *
+   * @param ownerId the ID of the owner
+   * @param name    the pet name
+   * @return the pet ID, or {@code null} if the owner has no such pet
+   */
+  @Query("SELECT pet.id FROM Pet pet WHERE pet.owner.id = :ownerId AND lower(pet.name) = lower(:name)")
+  Long findIdByOwnerIdAndName(@Param("ownerId") Long ownerId, @Param("name") String name);
 }
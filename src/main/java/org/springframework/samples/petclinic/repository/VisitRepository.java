@@ -15,9 +15,14 @@
  */
 package org.springframework.samples.petclinic.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.stereotype.Repository;
 
@@ -30,6 +35,12 @@ import org.springframework.stereotype.Repository;
  * query method to find visits by pet ID.
  * </p>
  *
+ * <p>
+ * Visit history is read newest first, one page at a time. Both history
+ * queries are served by the {@code (pet_id, visit_date DESC)} index on every
+ * {@code visits} partition.
+ * </p>
+ *
  * @author Spring Petclinic Team
  * @version 2.0.0
  * @since 2.0.0
@@ -44,4 +55,30 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
    * @return A list of visits for the given pet.
    */
   List<Visit> findByPetId(Long petId);
+
+  /**
+   * Retrieves one page of a pet's visits, newest first.
+   *
+   * @param petId    the ID of the pet
+   * @param pageable the page to read; its sort is ignored
+   * @return the page of visits
+   */
+  @Query(value = "SELECT visit FROM Visit visit WHERE visit.pet.id = :petId"
+      + " ORDER BY visit.date DESC, visit.id DESC",
+      countQuery = "SELECT count(visit) FROM Visit visit WHERE visit.pet.id = :petId")
+  Page<Visit> findPageByPetId(@Param("petId") Long petId, Pageable pageable);
+
+  /**
+   * Retrieves the latest {@code perPet} visits of each of the given pets with
+   * a single query, newest first within each pet.
+   *
+   * @param petIds the IDs of the pets
+   * @param perPet the maximum number of visits per pet
+   * @return the visits, grouped by pet
+   */
+  @Query(value = "SELECT id, pet_id, visit_date, description, version FROM ("
+      + "SELECT v.*, ROW_NUMBER() OVER (PARTITION BY v.pet_id ORDER BY v.visit_date DESC, v.id DESC) AS rn"
+      + " FROM visits v WHERE v.pet_id IN (:petIds)) ranked"
+      + " WHERE rn <= :perPet ORDER BY pet_id, visit_date DESC, id DESC", nativeQuery = true)
+  List<Visit> findLatestByPetIdIn(@Param("petIds") Collection<Long> petIds, @Param("perPet") int perPet);
 }
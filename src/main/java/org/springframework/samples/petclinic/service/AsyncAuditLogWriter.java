@@ -0,0 +1,316 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.model.AuditLog;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Writes {@link AuditLog} rows asynchronously in JDBC batches.
+ *
+ * <p>
+ * Entries are handed over through a bounded queue and written by a single
+ * background thread, which waits up to {@code audit.writer.linger-ms} for a
+ * batch of {@code audit.writer.batch-size} rows and inserts it with one
+ * {@code executeBatch} and one commit. Rows are inserted with plain JDBC so
+ * the {@code BIGSERIAL} default assigns ids, avoiding Hibernate's per-row
+ * {@code IDENTITY} round trips.
+ *
+ * <p>
+ * When the queue is full, {@code audit.writer.overflow-policy} decides:
+ * <ul>
+ * <li>{@code CALLER_RUNS} (default): the caller writes its row synchronously,
+ * so no entry is lost.</li>
+ * <li>{@code BLOCK}: the caller waits up to
+ * {@code audit.writer.block-timeout-ms}, then drops the row.</li>
+ * <li>{@code DROP}: the row is dropped immediately.</li>
+ * </ul>
+ *
+ * <p>
+ * On shutdown the queue is drained before the data source is closed, for at
+ * most {@code audit.writer.shutdown-timeout-ms}.
+ *
+ * <p>
+ * Metrics tracked:
+ * <ul>
+ * <li>{@code petclinic.audit.queue.depth}: entries waiting to be written
+ * (Gauge).</li>
+ * <li>{@code petclinic.audit.flush}: batch insert latency (Timer).</li>
+ * <li>{@code petclinic.audit.rows.written}: rows inserted (Counter).</li>
+ * <li>{@code petclinic.audit.rows.dropped{reason=queue_full|error|shutdown}}:
+ * rows lost (Counter).</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class AsyncAuditLogWriter implements SmartLifecycle {
+
+  /**
+   * What to do with an entry when the queue is full.
+   */
+  public enum OverflowPolicy {
+    /** Wait for space up to the block timeout, then drop. */
+    BLOCK,
+    /** Drop the entry. */
+    DROP,
+    /** Write the entry on the calling thread. */
+    CALLER_RUNS
+  }
+
+  static final String INSERT_SQL = "INSERT INTO audit_log (entity_type, entity_id, action, user_id, timestamp,"
+      + " old_value, new_value, trace_id, ip_address) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncAuditLogWriter.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<AuditLog> queue;
+  private final int batchSize;
+  private final long lingerNanos;
+  private final OverflowPolicy overflowPolicy;
+  private final long blockTimeoutMs;
+  private final long shutdownTimeoutMs;
+
+  private final Timer flushTimer;
+  private final Counter rowsWritten;
+  private final Counter droppedQueueFull;
+  private final Counter droppedError;
+  private final Counter droppedShutdown;
+
+  private volatile boolean running;
+  private volatile boolean stopped;
+  private Thread worker;
+
+  /**
+   * Creates the writer; the background thread starts with the application
+   * context.
+   *
+   * @param jdbcTemplate       the template used for batch inserts
+   * @param transactionManager the transaction manager wrapping each batch
+   * @param registry           the meter registry
+   * @param queueCapacity      maximum number of pending entries
+   * @param batchSize          maximum rows per batch
+   * @param lingerMs           how long to wait for a batch to fill
+   * @param overflowPolicy     what to do when the queue is full
+   * @param blockTimeoutMs     how long {@code BLOCK} waits for space
+   * @param shutdownTimeoutMs  how long shutdown waits for the queue to drain
+   */
+  @Autowired
+  public AsyncAuditLogWriter(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      io.micrometer.core.instrument.composite.CompositeMeterRegistry registry,
+      @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+      @Value("${audit.writer.batch-size:500}") int batchSize,
+      @Value("${audit.writer.linger-ms:200}") long lingerMs,
+      @Value("${audit.writer.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy,
+      @Value("${audit.writer.block-timeout-ms:100}") long blockTimeoutMs,
+      @Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+    this(jdbcTemplate, transactionManager, (MeterRegistry) registry, queueCapacity, batchSize, lingerMs,
+        overflowPolicy, blockTimeoutMs, shutdownTimeoutMs);
+  }
+
+  AsyncAuditLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+      MeterRegistry registry, int queueCapacity, int batchSize, long lingerMs, OverflowPolicy overflowPolicy,
+      long blockTimeoutMs, long shutdownTimeoutMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+    this.overflowPolicy = overflowPolicy;
+    this.blockTimeoutMs = blockTimeoutMs;
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+    Gauge.builder("petclinic.audit.queue.depth", queue, BlockingQueue::size)
+        .description("Audit log entries waiting to be written")
+        .register(registry);
+    this.flushTimer = Timer.builder("petclinic.audit.flush")
+        .description("Time taken to insert one batch of audit log rows")
+        .register(registry);
+    this.rowsWritten = Counter.builder("petclinic.audit.rows.written")
+        .description("Audit log rows inserted")
+        .register(registry);
+    this.droppedQueueFull = droppedCounter(registry, "queue_full");
+    this.droppedError = droppedCounter(registry, "error");
+    this.droppedShutdown = droppedCounter(registry, "shutdown");
+  }
+
+  /**
+   * Hands an entry over for writing.
+   *
+   * @param entry the audit log entry
+   * @return {@code false} if the entry was dropped
+   */
+  public boolean submit(AuditLog entry) {
+    if (stopped) {
+      // Late writes during shutdown go straight to the database
+      return flush(List.of(entry));
+    }
+    if (queue.offer(entry)) {
+      return true;
+    }
+    switch (overflowPolicy) {
+      case CALLER_RUNS:
+        return flush(List.of(entry));
+      case BLOCK:
+        try {
+          if (queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+            return true;
+          }
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        break;
+      default:
+        break;
+    }
+    droppedQueueFull.increment();
+    logger.warn("Audit log queue full, dropping entry for {} {}", entry.getEntityType(), entry.getEntityId());
+    return false;
+  }
+
+  @Override
+  public void start() {
+    stopped = false;
+    running = true;
+    worker = new Thread(this::drainLoop, "audit-log-writer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    stopped = true;
+    if (worker == null) {
+      return;
+    }
+    try {
+      worker.join(shutdownTimeoutMs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    if (worker.isAlive()) {
+      worker.interrupt();
+    }
+    int lost = queue.size();
+    if (lost > 0) {
+      queue.clear();
+      droppedShutdown.increment(lost);
+      logger.error("Audit log writer did not drain within {} ms, {} entries lost", shutdownTimeoutMs, lost);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void drainLoop() {
+    List<AuditLog> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        // Wake up regularly so a stop request is noticed on an idle queue
+        AuditLog first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0 || !running) {
+            break;
+          }
+          AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        flush(batch);
+        batch.clear();
+      } catch (InterruptedException ex) {
+        flush(batch);
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private boolean flush(List<AuditLog> batch) {
+    if (batch.isEmpty()) {
+      return true;
+    }
+    try {
+      flushTimer.record(() -> transactionTemplate.executeWithoutResult(
+          status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AsyncAuditLogWriter::setValues)));
+      rowsWritten.increment(batch.size());
+      return true;
+    } catch (RuntimeException ex) {
+      droppedError.increment(batch.size());
+      logger.error("Failed to write {} audit log entries", batch.size(), ex);
+      return false;
+    }
+  }
+
+  private static void setValues(PreparedStatement ps, AuditLog entry) throws SQLException {
+    ps.setString(1, entry.getEntityType());
+    ps.setObject(2, entry.getEntityId(), Types.BIGINT);
+    ps.setString(3, entry.getAction());
+    ps.setString(4, entry.getUserId());
+    ps.setTimestamp(5, Timestamp.valueOf(entry.getTimestamp()));
+    ps.setString(6, entry.getOldValue());
+    ps.setString(7, entry.getNewValue());
+    ps.setString(8, entry.getTraceId());
+    ps.setString(9, entry.getIpAddress());
+  }
+
+  private static Counter droppedCounter(MeterRegistry registry, String reason) {
+    return Counter.builder("petclinic.audit.rows.dropped")
+        .description("Audit log rows that could not be written")
+        .tag("reason", reason)
+        .register(registry);
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.EnumSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams clinic data sets from a database cursor into an
+ * {@link ExportWriter}.
+ *
+ * <p>
+ * Rows are read with a JDBC fetch size inside one read-only, repeatable-read
+ * transaction (PostgreSQL only uses a server-side cursor when auto-commit is
+ * off) and written as soon as they are read, so heap use does not grow with
+ * the number of rows. No entities are loaded. Vets are grouped with their
+ * specialties on the fly from a join ordered by vet id.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class ClinicDataExporter {
+
+  /** Rows fetched from the database per round trip. */
+  static final int FETCH_SIZE = 500;
+
+  /** Records written between two flushes to the client. */
+  static final int FLUSH_EVERY = 1_000;
+
+  /**
+   * Exportable data sets, written in declaration order.
+   */
+  public enum Dataset {
+    /** Vets with their specialty names. */
+    VETS("vets", "vet", "SELECT v.id, v.first_name, v.last_name, s.name AS specialty FROM vets v"
+        + " LEFT JOIN vet_specialties vs ON vs.vet_id = v.id"
+        + " LEFT JOIN specialties s ON s.id = vs.specialty_id"
+        + " ORDER BY v.id, s.name"),
+    /** Owners. */
+    OWNERS("owners", "owner", "SELECT id, first_name, last_name, address, city, telephone FROM owners ORDER BY id"),
+    /** Pets with their type name and owner id. */
+    PETS("pets", "pet", "SELECT p.id, p.name, p.birth_date, t.name AS type, p.owner_id FROM pets p"
+        + " JOIN types t ON t.id = p.type_id ORDER BY p.id"),
+    /** Visits with their pet id. */
+    VISITS("visits", "visit", "SELECT id, pet_id, visit_date, description FROM visits ORDER BY id");
+
+    private final String section;
+    private final String element;
+    private final String sql;
+
+    Dataset(String section, String element, String sql) {
+      this.section = section;
+      this.element = element;
+      this.sql = sql;
+    }
+
+    /**
+     * Returns the section name used in exports and request parameters.
+     *
+     * @return the section name, e.g. {@code vets}
+     */
+    public String section() {
+      return section;
+    }
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Creates the exporter.
+   *
+   * @param jdbcTemplate       the JDBC template
+   * @param transactionManager the transaction manager
+   */
+  @Autowired
+  public ClinicDataExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    // All sections see the same snapshot
+    this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  /**
+   * Writes the given data sets and finishes the document.
+   *
+   * @param datasets the data sets to export
+   * @param writer   the target writer
+   * @throws IOException if writing to the client fails
+   */
+  public void export(Collection<Dataset> datasets, ExportWriter writer) throws IOException {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        for (Dataset dataset : datasets.isEmpty() ? EnumSet.noneOf(Dataset.class) : EnumSet.copyOf(datasets)) {
+          writeSection(dataset, writer);
+        }
+      });
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    writer.finish();
+  }
+
+  private void writeSection(Dataset dataset, ExportWriter writer) {
+    try {
+      writer.startSection(dataset.section, dataset.element);
+      if (dataset == Dataset.VETS) {
+        VetRowHandler handler = new VetRowHandler(writer);
+        jdbcTemplate.query(connection -> streaming(connection, dataset.sql), handler);
+        handler.finish();
+      } else {
+        jdbcTemplate.query(connection -> streaming(connection, dataset.sql), new FlatRowHandler(writer));
+      }
+      writer.endSection();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Prepares a query that streams in batches of {@link #FETCH_SIZE} rows; the
+   * fetch size is set per statement because the template is shared.
+   */
+  private static PreparedStatement streaming(Connection connection, String sql) throws SQLException {
+    PreparedStatement statement = connection.prepareStatement(sql);
+    statement.setFetchSize(FETCH_SIZE);
+    return statement;
+  }
+
+  private static Object value(ResultSet rs, int column) throws SQLException {
+    Object value = rs.getObject(column);
+    if (value instanceof Date date) {
+      return date.toLocalDate();
+    }
+    if (value instanceof Timestamp timestamp) {
+      return timestamp.toLocalDateTime();
+    }
+    return value;
+  }
+
+  /**
+   * Writes each row as one record; field names are the camel-cased column
+   * labels.
+   */
+  private static final class FlatRowHandler implements RowCallbackHandler {
+
+    private final ExportWriter writer;
+    private String[] fields;
+    private long rows;
+
+    FlatRowHandler(ExportWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      if (fields == null) {
+        ResultSetMetaData metaData = rs.getMetaData();
+        fields = new String[metaData.getColumnCount()];
+        for (int i = 0; i < fields.length; i++) {
+          fields[i] = JdbcUtils.convertUnderscoreNameToPropertyName(JdbcUtils.lookupColumnName(metaData, i + 1));
+        }
+      }
+      try {
+        writer.startRecord();
+        for (int i = 0; i < fields.length; i++) {
+          writer.field(fields[i], value(rs, i + 1));
+        }
+        writer.endRecord();
+        if (++rows % FLUSH_EVERY == 0) {
+          writer.flush();
+        }
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  /**
+   * Folds the vet/specialty join rows, ordered by vet id, into one record per
+   * vet with a {@code specialties} list.
+   */
+  private static final class VetRowHandler implements RowCallbackHandler {
+
+    private final ExportWriter writer;
+    private long currentId = -1;
+    private long vets;
+
+    VetRowHandler(ExportWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      long id = rs.getLong("id");
+      try {
+        if (id != currentId) {
+          finish();
+          writer.startRecord();
+          writer.field("id", id);
+          writer.field("firstName", rs.getString("first_name"));
+          writer.field("lastName", rs.getString("last_name"));
+          writer.startList("specialties", "specialty");
+          currentId = id;
+        }
+        String specialty = rs.getString("specialty");
+        if (specialty != null) {
+          writer.item(specialty);
+        }
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    void finish() throws IOException {
+      if (currentId != -1) {
+        writer.endList();
+        writer.endRecord();
+        if (++vets % FLUSH_EVERY == 0) {
+          writer.flush();
+        }
+      }
+    }
+  }
+}
@@ -16,6 +16,8 @@
 package org.springframework.samples.petclinic.service;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -23,6 +25,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.model.Vet;
@@ -58,6 +61,17 @@ public interface ClinicService {
    */
   Owner findOwnerById(@NonNull Long id);
 
+  /**
+   * Retrieves an owner by their ID for editing. Unlike
+   * {@link #findOwnerById(Long)} this always reads the database, so the
+   * version posted back by the edit form is current even when another node
+   * changed the owner.
+   *
+   * @param id the ID of the owner to retrieve
+   * @return the owner if found, or null otherwise
+   */
+  Owner findOwnerForUpdate(@NonNull Long id);
+
   /**
    * Retrieves a paginated list of owners whose last name starts with the given
    * string.
@@ -69,6 +83,33 @@ public interface ClinicService {
   @NonNull
   Page<Owner> findOwnerByLastName(String lastName, @NonNull Pageable pageable);
 
+  /**
+   * Retrieves one keyset page of owners whose last name starts with the given
+   * string, ordered by last name and id. The page query reads no more rows
+   * than it returns (plus one), whatever the position, and the pets of the
+   * page are loaded by a second query.
+   *
+   * @param lastName   the last name to search for
+   * @param cursor     the {@link KeysetPage#nextCursor() cursor} of the
+   *                   previous page, or {@code null} for the first page
+   * @param size       the page size
+   * @param countTotal whether to also count all matches
+   * @return the page
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  @NonNull
+  KeysetPage<Owner> findOwnerByLastName(String lastName, String cursor, int size, boolean countTotal);
+
+  /**
+   * Searches owners by any part of their name, city or telephone number.
+   *
+   * @param query the free-text query; every term must match
+   * @param limit the maximum number of results
+   * @return the matches, best first
+   */
+  @NonNull
+  List<OwnerSearchResult> searchOwners(String query, int limit);
+
   /**
    * Saves a new or existing owner.
    *
@@ -83,6 +124,27 @@ public interface ClinicService {
    */
   void saveVisit(@NotNull Visit visit);
 
+  /**
+   * Retrieves one page of a pet's visit history, newest first.
+   *
+   * @param petId    the ID of the pet
+   * @param pageable the page to read
+   * @return the page of visits
+   */
+  @NonNull
+  Page<Visit> findVisitsByPetId(@NonNull Long petId, @NonNull Pageable pageable);
+
+  /**
+   * Retrieves the latest visits of several pets with one query.
+   *
+   * @param petIds the IDs of the pets
+   * @param perPet the maximum number of visits per pet
+   * @return the visits, newest first, keyed by pet ID; pets without visits
+   *         have no entry
+   */
+  @NonNull
+  Map<Long, List<Visit>> findLatestVisits(Collection<Long> petIds, int perPet);
+
   /**
    * Retrieves a pet by their ID.
    *
@@ -91,6 +153,25 @@ public interface ClinicService {
    */
   Pet findPetById(@NonNull Long id);
 
+  /**
+   * Retrieves a pet by their ID for editing, always from the database (see
+   * {@link #findOwnerForUpdate(Long)}).
+   *
+   * @param id the ID of the pet to retrieve
+   * @return the pet if found, or null otherwise
+   */
+  Pet findPetForUpdate(@NonNull Long id);
+
+  /**
+   * Retrieves the ID of the owner's pet with the given name, compared
+   * case-insensitively, without loading the owner's pets.
+   *
+   * @param ownerId the ID of the owner
+   * @param name    the pet name
+   * @return the pet ID, or null if the owner has no pet with that name
+   */
+  Long findPetIdByName(@NonNull Long ownerId, @NonNull String name);
+
   /**
    * Saves a new or existing pet.
    *
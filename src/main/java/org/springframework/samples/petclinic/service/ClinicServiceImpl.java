@@ -15,24 +15,35 @@
  */
 package org.springframework.samples.petclinic.service;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import jakarta.validation.constraints.NotNull;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.lang.NonNull;
+import org.springframework.samples.petclinic.aspect.Loggable;
 import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.model.Vet;
 import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.repository.OwnerRepository;
+import org.springframework.samples.petclinic.repository.OwnerSearchRepository;
 import org.springframework.samples.petclinic.repository.PetRepository;
 import org.springframework.samples.petclinic.repository.VetRepository;
 import org.springframework.samples.petclinic.repository.VisitRepository;
@@ -50,8 +61,10 @@ import org.springframework.samples.petclinic.util.PetclinicConstants;
  * This implementation handles:
  * <ul>
  * <li>Transactional boundaries (mapped to {@code @Transactional}).</li>
- * <li>Caching (mapped to {@code @Cacheable}).</li>
+ * <li>Caching (mapped to {@code @Cacheable}); writes evict the owner and pet
+ * detail entries they affect.</li>
  * <li>Fault tolerance (Resilience4J circuit breakers and rate limiters).</li>
+ * <li>Method and slow-call logging ({@link Loggable}).</li>
  * </ul>
  *
  * @author Spring Petclinic Team
@@ -59,6 +72,7 @@ import org.springframework.samples.petclinic.util.PetclinicConstants;
  * @since 2.0.0
  */
 @Service
+@Loggable
 public class ClinicServiceImpl implements ClinicService {
 
   private static final Logger logger = LoggerFactory.getLogger(ClinicServiceImpl.class);
@@ -67,30 +81,34 @@ public class ClinicServiceImpl implements ClinicService {
   private final VetRepository vetRepository;
   private final OwnerRepository ownerRepository;
   private final VisitRepository visitRepository;
+  private final OwnerSearchRepository ownerSearchRepository;
 
   /**
    * Constructor to inject the repositories.
    *
-   * @param petRepository   The pet repository.
-   * @param vetRepository   The vet repository.
-   * @param ownerRepository The owner repository.
-   * @param visitRepository The visit repository.
+   * @param petRepository         The pet repository.
+   * @param vetRepository         The vet repository.
+   * @param ownerRepository       The owner repository.
+   * @param visitRepository       The visit repository.
+   * @param ownerSearchRepository The owner search index.
    */
   @Autowired
   public ClinicServiceImpl(
       PetRepository petRepository,
       VetRepository vetRepository,
       OwnerRepository ownerRepository,
-      VisitRepository visitRepository) {
+      VisitRepository visitRepository,
+      OwnerSearchRepository ownerSearchRepository) {
     this.petRepository = petRepository;
     this.vetRepository = vetRepository;
     this.ownerRepository = ownerRepository;
     this.visitRepository = visitRepository;
+    this.ownerSearchRepository = ownerSearchRepository;
   }
 
   @Override
   @Transactional(readOnly = true)
-  @Cacheable(value = "vets")
+  @Cacheable(value = "vets", sync = true)
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
@@ -102,7 +120,7 @@ public class ClinicServiceImpl implements ClinicService {
 
   @Override
   @Transactional(readOnly = true)
-  @Cacheable(value = "petTypes")
+  @Cacheable(value = "petTypes", sync = true)
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
@@ -118,6 +136,7 @@ public class ClinicServiceImpl implements ClinicService {
 
   @Override
   @Transactional(readOnly = true)
+  @Cacheable(value = "ownerDetails", unless = "#result == null")
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
@@ -128,6 +147,16 @@ public class ClinicServiceImpl implements ClinicService {
     return ownerRepository.findById(id).orElse(null);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  public Owner findOwnerForUpdate(@NonNull Long id) throws DataAccessException {
+    // Deliberately not @Cacheable: the form's version must match the row
+    return ownerRepository.findById(id).orElse(null);
+  }
+
   @Override
   @Transactional(readOnly = true)
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
@@ -146,8 +175,42 @@ public class ClinicServiceImpl implements ClinicService {
     return result;
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  @NonNull
+  public KeysetPage<Owner> findOwnerByLastName(String lastName, String cursor, int size, boolean countTotal)
+      throws DataAccessException {
+    logger.debug("Fetching owners by last name: {} after cursor: {}", lastName, cursor);
+    OwnerCursor after = cursor == null || cursor.isEmpty() ? null : OwnerCursor.decode(cursor);
+    Pageable limit = PageRequest.of(0, size);
+    Slice<Owner> slice = after == null
+        ? ownerRepository.findSliceByLastName(lastName, limit)
+        : ownerRepository.findSliceByLastNameAfter(lastName, after.lastName(), after.id(), limit);
+    List<Owner> owners = slice.getContent();
+    if (!owners.isEmpty()) {
+      // Initializes the pets of the owners already in the persistence context
+      ownerRepository.findWithPetsByIdIn(owners.stream().map(Owner::getId).toList());
+    }
+    String nextCursor = slice.hasNext() ? OwnerCursor.after(owners.get(owners.size() - 1)).encode() : null;
+    Long total = countTotal ? ownerRepository.countByLastName(lastName) : null;
+    return new KeysetPage<>(owners, nextCursor, total);
+  }
+
+  @Override
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  @NonNull
+  public List<OwnerSearchResult> searchOwners(String query, int limit) throws DataAccessException {
+    logger.debug("Searching owners: {}", query);
+    return ownerSearchRepository.search(query, limit);
+  }
+
   @Override
   @Transactional
+  @CacheEvict(value = "ownerDetails", key = "#owner.id", condition = "#owner != null && #owner.id != null")
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
   public void saveOwner(@NotNull Owner owner) throws DataAccessException {
@@ -160,6 +223,11 @@ public class ClinicServiceImpl implements ClinicService {
 
   @Override
   @Transactional
+  @Caching(evict = {
+      @CacheEvict(value = "petDetails", key = "#visit.pet.id",
+          condition = "#visit?.pet?.id != null"),
+      @CacheEvict(value = "ownerDetails", key = "#visit.pet.owner.id",
+          condition = "#visit?.pet?.owner?.id != null") })
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
   public void saveVisit(@NotNull Visit visit) throws DataAccessException {
@@ -175,6 +243,40 @@ public class ClinicServiceImpl implements ClinicService {
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  @NonNull
+  public Page<Visit> findVisitsByPetId(@NonNull Long petId, @NonNull Pageable pageable)
+      throws DataAccessException {
+    logger.debug("Fetching visits of pet: {} page: {}", petId, pageable);
+    return visitRepository.findPageByPetId(petId, pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  @NonNull
+  public Map<Long, List<Visit>> findLatestVisits(Collection<Long> petIds, int perPet)
+      throws DataAccessException {
+    if (petIds == null || petIds.isEmpty() || perPet <= 0) {
+      return Map.of();
+    }
+    logger.debug("Fetching latest {} visits of pets: {}", perPet, petIds);
+    // Rows arrive grouped by pet and newest first; the pet is a lazy proxy,
+    // so reading its id needs no further query
+    Map<Long, List<Visit>> latest = new LinkedHashMap<>();
+    for (Visit visit : visitRepository.findLatestByPetIdIn(petIds, perPet)) {
+      latest.computeIfAbsent(visit.getPet().getId(), id -> new ArrayList<>()).add(visit);
+    }
+    return latest;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(value = "petDetails")
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
   public Pet findPetById(@NonNull Long id) throws DataAccessException {
     logger.debug("Finding pet by ID: {}", id);
     // JDK 21: Using Optional with orElseThrow for cleaner error handling and
@@ -184,8 +286,30 @@ public class ClinicServiceImpl implements ClinicService {
     return pet;
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  public Pet findPetForUpdate(@NonNull Long id) throws DataAccessException {
+    // Deliberately not @Cacheable: the form's version must match the row
+    return petRepository.findById(id).orElse(null);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @Retry(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
+  @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
+  public Long findPetIdByName(@NonNull Long ownerId, @NonNull String name) throws DataAccessException {
+    return petRepository.findIdByOwnerIdAndName(ownerId, name);
+  }
+
   @Override
   @Transactional
+  @Caching(evict = {
+      @CacheEvict(value = "petDetails", key = "#pet.id", condition = "#pet.id != null"),
+      @CacheEvict(value = "ownerDetails", key = "#pet.owner.id", condition = "#pet.owner?.id != null") })
   @CircuitBreaker(name = PetclinicConstants.DEFAULT_CIRCUIT_BREAKER)
   @RateLimiter(name = PetclinicConstants.DEFAULT_RATE_LIMITER)
   public void savePet(@NotNull Pet pet) throws DataAccessException {
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.IOException;
+
+/**
+ * Incremental writer for clinic exports.
+ *
+ * <p>
+ * The exporter calls it once per database row, so an implementation must
+ * write through to its output rather than build a document in memory. The
+ * shape is the same for every format: a root holding one section per data
+ * set, each section a sequence of flat records whose fields may include one
+ * list of scalar values.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public interface ExportWriter {
+
+  /**
+   * Starts a section, e.g. {@code vets}.
+   *
+   * @param name    the section name
+   * @param element the name of one record, e.g. {@code vet}
+   * @throws IOException if writing fails
+   */
+  void startSection(String name, String element) throws IOException;
+
+  /**
+   * Starts a record in the current section.
+   *
+   * @throws IOException if writing fails
+   */
+  void startRecord() throws IOException;
+
+  /**
+   * Writes one field of the current record; {@code null} values are omitted.
+   *
+   * @param name  the field name
+   * @param value a string, number or date
+   * @throws IOException if writing fails
+   */
+  void field(String name, Object value) throws IOException;
+
+  /**
+   * Starts a list field of the current record.
+   *
+   * @param name    the field name, e.g. {@code specialties}
+   * @param element the name of one item, e.g. {@code specialty}
+   * @throws IOException if writing fails
+   */
+  void startList(String name, String element) throws IOException;
+
+  /**
+   * Writes one item of the current list.
+   *
+   * @param value the item
+   * @throws IOException if writing fails
+   */
+  void item(Object value) throws IOException;
+
+  /**
+   * Ends the current list.
+   *
+   * @throws IOException if writing fails
+   */
+  void endList() throws IOException;
+
+  /**
+   * Ends the current record.
+   *
+   * @throws IOException if writing fails
+   */
+  void endRecord() throws IOException;
+
+  /**
+   * Ends the current section.
+   *
+   * @throws IOException if writing fails
+   */
+  void endSection() throws IOException;
+
+  /**
+   * Pushes buffered output to the client so that it is sent in chunks.
+   *
+   * @throws IOException if writing fails
+   */
+  void flush() throws IOException;
+
+  /**
+   * Ends the document and flushes it; the underlying stream is left open.
+   *
+   * @throws IOException if writing fails
+   */
+  void finish() throws IOException;
+}
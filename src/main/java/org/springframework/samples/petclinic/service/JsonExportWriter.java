@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * {@link ExportWriter} producing
+ * {@code {"vets":[{"id":1,...,"specialties":["radiology"]}],"owners":[...]}}
+ * with a Jackson streaming {@link JsonGenerator}.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class JsonExportWriter implements ExportWriter {
+
+  private static final JsonFactory FACTORY = new JsonFactory()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  private final JsonGenerator generator;
+
+  /**
+   * Starts a document on the given stream.
+   *
+   * @param out the output stream
+   * @throws IOException if writing fails
+   */
+  public JsonExportWriter(OutputStream out) throws IOException {
+    this.generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+    generator.writeStartObject();
+  }
+
+  @Override
+  public void startSection(String name, String element) throws IOException {
+    generator.writeArrayFieldStart(name);
+  }
+
+  @Override
+  public void startRecord() throws IOException {
+    generator.writeStartObject();
+  }
+
+  @Override
+  public void field(String name, Object value) throws IOException {
+    if (value != null) {
+      generator.writeFieldName(name);
+      writeValue(value);
+    }
+  }
+
+  @Override
+  public void startList(String name, String element) throws IOException {
+    generator.writeArrayFieldStart(name);
+  }
+
+  @Override
+  public void item(Object value) throws IOException {
+    writeValue(value);
+  }
+
+  @Override
+  public void endList() throws IOException {
+    generator.writeEndArray();
+  }
+
+  @Override
+  public void endRecord() throws IOException {
+    generator.writeEndObject();
+  }
+
+  @Override
+  public void endSection() throws IOException {
+    generator.writeEndArray();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    generator.flush();
+  }
+
+  @Override
+  public void finish() throws IOException {
+    generator.writeEndObject();
+    generator.close();
+  }
+
+  private void writeValue(Object value) throws IOException {
+    if (value instanceof Long number) {
+      generator.writeNumber(number);
+    } else if (value instanceof Integer number) {
+      generator.writeNumber(number);
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated result.
+ *
+ * <p>
+ * Unlike {@link org.springframework.data.domain.Page}, a keyset page carries
+ * no page number: the next page is addressed by {@link #nextCursor()}, an
+ * opaque token encoding the sort key of the last row. The total is only
+ * present when the caller asked for it, since counting is a separate query.
+ *
+ * @param <T>           the element type
+ * @param content       the rows of this page
+ * @param nextCursor    the cursor of the next page, or {@code null} on the
+ *                      last page
+ * @param totalElements the total number of matches, or {@code null} when not
+ *                      counted
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor, Long totalElements) implements Serializable {
+
+  public KeysetPage {
+    content = List.copyOf(content);
+  }
+
+  /**
+   * Returns whether another page follows this one.
+   *
+   * @return {@code true} if {@link #nextCursor()} is set
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+
+  /**
+   * Returns whether {@link #totalElements()} was counted.
+   *
+   * @return {@code true} if the total is known
+   */
+  public boolean hasTotal() {
+    return totalElements != null;
+  }
+}
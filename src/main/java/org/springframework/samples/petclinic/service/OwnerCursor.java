@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.samples.petclinic.model.Owner;
+
+/**
+ * Position in the owner search order {@code (last_name, id)}.
+ *
+ * <p>
+ * Cursors are exchanged with clients as opaque, URL-safe Base64 tokens. A
+ * token that cannot be decoded is rejected with an
+ * {@link IllegalArgumentException}.
+ *
+ * @param lastName the last name of the last row seen
+ * @param id       the id of the last row seen
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record OwnerCursor(String lastName, long id) {
+
+  private static final char SEPARATOR = ':';
+
+  /**
+   * Returns the cursor positioned after the given owner.
+   *
+   * @param owner the last owner of a page
+   * @return the cursor
+   */
+  public static OwnerCursor after(Owner owner) {
+    return new OwnerCursor(owner.getLastName(), owner.getId());
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token the opaque cursor token
+   * @return the cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static OwnerCursor decode(String token) {
+    String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    int separator = value.indexOf(SEPARATOR);
+    if (separator <= 0) {
+      throw new IllegalArgumentException("Malformed owner cursor");
+    }
+    return new OwnerCursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+  }
+
+  /**
+   * Encodes this cursor as an opaque, URL-safe token.
+   *
+   * @return the token
+   */
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((id + String.valueOf(SEPARATOR) + lastName).getBytes(StandardCharsets.UTF_8));
+  }
+}
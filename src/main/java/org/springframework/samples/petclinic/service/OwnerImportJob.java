@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A background owner import and its live progress.
+ *
+ * <p>
+ * The job is written by the single import thread running it and read by
+ * status requests; all accessors are synchronized, which costs nothing next
+ * to a chunk of inserts.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public final class OwnerImportJob {
+
+  /** Lifecycle of a job. */
+  public enum State {
+    /** Waiting for an import thread. */
+    QUEUED,
+    /** Being imported. */
+    RUNNING,
+    /** All lines imported or rejected. */
+    COMPLETED,
+    /** Stopped by an error or shutdown; can be resumed from its checkpoint. */
+    FAILED
+  }
+
+  private final String id;
+  private final Path file;
+  private final long totalBytes;
+  private final String submittedBy;
+  private final List<OwnerImportStatus.RowError> errors = new ArrayList<>();
+  private State state = State.QUEUED;
+  private long linesRead;
+  private long bytesRead;
+  private long ownersImported;
+  private long ownersMerged;
+  private long petsImported;
+  private long rejected;
+  private Instant startedAt;
+  private Instant finishedAt;
+  private String failure;
+
+  OwnerImportJob(String id, Path file, long totalBytes, String submittedBy) {
+    this.id = id;
+    this.file = file;
+    this.totalBytes = totalBytes;
+    this.submittedBy = submittedBy;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  Path getFile() {
+    return file;
+  }
+
+  String getSubmittedBy() {
+    return submittedBy;
+  }
+
+  /**
+   * Returns a snapshot of the job's progress.
+   *
+   * @return the status
+   */
+  public synchronized OwnerImportStatus status() {
+    return new OwnerImportStatus(id, state, linesRead, bytesRead, totalBytes, ownersImported, ownersMerged,
+        petsImported, rejected, errors, iso(startedAt), iso(finishedAt), failure);
+  }
+
+  private static String iso(Instant instant) {
+    return instant != null ? instant.toString() : null;
+  }
+
+  synchronized boolean requeue() {
+    if (state != State.FAILED) {
+      return false;
+    }
+    state = State.QUEUED;
+    return true;
+  }
+
+  synchronized void start(Checkpoint checkpoint) {
+    state = State.RUNNING;
+    startedAt = Instant.now();
+    finishedAt = null;
+    failure = null;
+    errors.clear();
+    linesRead = 0;
+    bytesRead = 0;
+    ownersImported = checkpoint.ownersImported();
+    ownersMerged = checkpoint.ownersMerged();
+    petsImported = checkpoint.petsImported();
+    rejected = checkpoint.rejected();
+  }
+
+  synchronized void read(long line, long bytes) {
+    linesRead = line;
+    bytesRead += bytes;
+  }
+
+  synchronized void reject(long line, String message) {
+    rejected++;
+    if (errors.size() < OwnerImporter.MAX_REPORTED_ERRORS) {
+      errors.add(new OwnerImportStatus.RowError(line, message));
+    }
+  }
+
+  synchronized void imported(long owners, long merged, long pets) {
+    ownersImported += owners;
+    ownersMerged += merged;
+    petsImported += pets;
+  }
+
+  /**
+   * Returns the counters to persist once a chunk with the given totals
+   * commits.
+   */
+  synchronized Checkpoint checkpoint(long line, long owners, long merged, long pets) {
+    return new Checkpoint(line, ownersImported + owners, ownersMerged + merged, petsImported + pets, rejected);
+  }
+
+  synchronized void complete() {
+    state = State.COMPLETED;
+    finishedAt = Instant.now();
+  }
+
+  synchronized void fail(String message) {
+    state = State.FAILED;
+    finishedAt = Instant.now();
+    failure = message;
+  }
+
+  /**
+   * The last committed line of a job and its counters at that point.
+   *
+   * @param line           the last input line covered by committed chunks
+   * @param ownersImported the owners inserted
+   * @param ownersMerged   the owners merged by telephone
+   * @param petsImported   the pets inserted
+   * @param rejected       the rows rejected
+   */
+  record Checkpoint(long line, long ownersImported, long ownersMerged, long petsImported, long rejected) {
+
+    static final Checkpoint NONE = new Checkpoint(0, 0, 0, 0, 0);
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link OwnerImporter} jobs in the background.
+ *
+ * <p>
+ * An upload is first copied to {@code import.owners.directory} as
+ * {@code <jobId>.ndjson}, so the request returns as soon as the file is on
+ * disk, and the job is queued on a pool of {@code import.owners.concurrent-jobs}
+ * threads. The file is deleted once the job completes. A failed job, or one
+ * interrupted by shutdown, keeps its file and can be resumed by id, also after
+ * a restart: the importer then continues after the job's last checkpoint.
+ * Status requests for a job this node is not running are answered from that
+ * checkpoint, so any node can report any job.
+ *
+ * <p>
+ * More than one concurrent job relies on the importer's per-telephone locks,
+ * which only PostgreSQL provides; keep {@code import.owners.concurrent-jobs}
+ * at 1 on other databases.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class OwnerImportJobs implements SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(OwnerImportJobs.class);
+
+  private final OwnerImporter importer;
+  private final Path directory;
+  private final int concurrentJobs;
+  private final long shutdownTimeoutMs;
+  private final Map<String, OwnerImportJob> jobs = new ConcurrentHashMap<>();
+
+  private volatile ExecutorService executor;
+
+  /**
+   * Creates the job runner; its threads start with the application context.
+   *
+   * @param importer          the importer
+   * @param directory         where uploaded files are kept until imported
+   * @param concurrentJobs    jobs imported at the same time
+   * @param shutdownTimeoutMs how long shutdown waits for running jobs to reach
+   *                          a chunk boundary
+   */
+  @Autowired
+  public OwnerImportJobs(OwnerImporter importer,
+      @Value("${import.owners.directory:${java.io.tmpdir}/petclinic-imports}") String directory,
+      @Value("${import.owners.concurrent-jobs:1}") int concurrentJobs,
+      @Value("${import.owners.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+    this.importer = importer;
+    this.directory = Paths.get(directory);
+    this.concurrentJobs = concurrentJobs;
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+  }
+
+  /**
+   * Stores an upload and queues it for import.
+   *
+   * @param input the NDJSON upload; not closed
+   * @return the status of the queued job
+   * @throws IOException if the upload cannot be stored
+   */
+  public OwnerImportStatus submit(InputStream input) throws IOException {
+    String id = UUID.randomUUID().toString();
+    Files.createDirectories(directory);
+    Path file = file(id);
+    long size = Files.copy(input, file);
+    OwnerImportJob job = new OwnerImportJob(id, file, size, currentUser());
+    jobs.put(id, job);
+    schedule(job);
+    return job.status();
+  }
+
+  /**
+   * Returns the live progress of a job started on this node since the last
+   * restart, or else the job's last checkpoint.
+   *
+   * @param jobId the job id
+   * @return the status, or empty if the job is unknown
+   */
+  public Optional<OwnerImportStatus> status(String jobId) {
+    OwnerImportJob job = jobs.get(jobId);
+    if (job != null) {
+      return Optional.of(job.status());
+    }
+    return isJobId(jobId) ? importer.checkpointStatus(jobId) : Optional.empty();
+  }
+
+  /**
+   * Queues a failed or interrupted job again. Jobs that are queued or running
+   * are left alone.
+   *
+   * @param jobId the job id
+   * @return the job status, or empty if neither the job nor its file exists
+   * @throws IOException if the stored file cannot be read
+   */
+  public Optional<OwnerImportStatus> resume(String jobId) throws IOException {
+    if (!isJobId(jobId)) {
+      // Never turn it into a path
+      return Optional.empty();
+    }
+    OwnerImportJob job = jobs.get(jobId);
+    if (job == null) {
+      Path file = file(jobId);
+      if (!Files.isRegularFile(file)) {
+        return Optional.empty();
+      }
+      // Uploaded before a restart
+      job = new OwnerImportJob(jobId, file, Files.size(file), currentUser());
+      OwnerImportJob previous = jobs.putIfAbsent(jobId, job);
+      if (previous == null) {
+        schedule(job);
+        return Optional.of(job.status());
+      }
+      job = previous;
+    }
+    if (job.requeue()) {
+      schedule(job);
+    }
+    return Optional.of(job.status());
+  }
+
+  @Override
+  public void start() {
+    AtomicInteger threads = new AtomicInteger();
+    ThreadFactory factory = runnable -> {
+      Thread thread = new Thread(runnable, "owner-import-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    executor = Executors.newFixedThreadPool(concurrentJobs, factory);
+  }
+
+  @Override
+  public void stop() {
+    ExecutorService current = executor;
+    if (current == null) {
+      return;
+    }
+    executor = null;
+    // Interrupted jobs stop at the next chunk boundary and stay resumable
+    current.shutdownNow();
+    try {
+      if (!current.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+        logger.warn("Owner import jobs did not stop within {} ms", shutdownTimeoutMs);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  private void schedule(OwnerImportJob job) {
+    ExecutorService current = executor;
+    if (current == null) {
+      job.fail("Import service is not running");
+      return;
+    }
+    current.execute(() -> run(job));
+  }
+
+  private void run(OwnerImportJob job) {
+    try {
+      importer.run(job);
+      Files.deleteIfExists(job.getFile());
+      logger.info("Owner import {} completed", job.getId());
+    } catch (Exception ex) {
+      logger.error("Owner import {} failed; it can be resumed from its last checkpoint", job.getId(), ex);
+      job.fail(ex.getMessage());
+    }
+  }
+
+  private static boolean isJobId(String jobId) {
+    try {
+      UUID.fromString(jobId);
+      return true;
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
+  private Path file(String jobId) {
+    return directory.resolve(jobId + ".ndjson");
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null ? authentication.getName() : "anonymous";
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Point-in-time progress of a background owner import.
+ *
+ * <p>
+ * Counters cover the whole job, including chunks committed before a restart;
+ * {@link #errors()} only lists rows rejected since the job was last started,
+ * up to {@link OwnerImporter#MAX_REPORTED_ERRORS}.
+ *
+ * @param jobId          the job id
+ * @param state          the job state
+ * @param linesRead      the input lines read so far
+ * @param bytesRead      the input bytes read so far
+ * @param totalBytes     the input size
+ * @param ownersImported the owners inserted
+ * @param ownersMerged   input owners whose telephone matched an existing or
+ *                       earlier owner; their pets were added to that owner
+ * @param petsImported   the pets inserted
+ * @param rejected       the rows not imported
+ * @param errors         the first rejected rows and their reasons
+ * @param startedAt      when the job last started (ISO-8601), or
+ *                       {@code null} if queued
+ * @param finishedAt     when the job finished (ISO-8601), or {@code null}
+ * @param failure        why the job failed, or {@code null}
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record OwnerImportStatus(String jobId, OwnerImportJob.State state, long linesRead, long bytesRead,
+    long totalBytes, long ownersImported, long ownersMerged, long petsImported, long rejected,
+    List<RowError> errors, String startedAt, String finishedAt, String failure) implements Serializable {
+
+  public OwnerImportStatus {
+    errors = List.copyOf(errors);
+  }
+
+  /**
+   * Returns the share of the input read so far.
+   *
+   * @return a percentage between 0 and 100
+   */
+  public int getPercentComplete() {
+    if (totalBytes <= 0) {
+      return state == OwnerImportJob.State.COMPLETED ? 100 : 0;
+    }
+    return (int) Math.min(100, bytesRead * 100 / totalBytes);
+  }
+
+  /**
+   * A rejected input row.
+   *
+   * @param line    the line number in the input
+   * @param message why the row was rejected
+   */
+  public record RowError(long line, String message) implements Serializable {
+  }
+}
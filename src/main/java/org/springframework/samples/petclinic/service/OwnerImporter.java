@@ -0,0 +1,524 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.model.AuditLog;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.repository.OwnerSearchRepository;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+import org.springframework.samples.petclinic.util.InputSanitizer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Imports owners with their pets from newline-delimited JSON.
+ *
+ * <p>
+ * Each line is one owner in the shape of the clinic export, with its pets
+ * inlined:
+ *
+ * <pre>
+ * {"firstName":"George","lastName":"Franklin","address":"110 W. Liberty St.","city":"Madison",
+ *  "telephone":"6085551023","pets":[{"name":"Leo","birthDate":"2010-09-07","type":"cat"}]}
+ * </pre>
+ *
+ * <p>
+ * The file is read sequentially in chunks of {@code import.owners.chunk-size}
+ * lines. The lines of a chunk are parsed, run through {@link InputSanitizer}
+ * and checked against the entities' Bean Validation constraints in parallel
+ * on a dedicated pool of {@code import.owners.parallelism} threads; the chunk
+ * is then written in one transaction:
+ * <ul>
+ * <li>Owners are de-duplicated by telephone: a telephone already in the
+ * database, or earlier in the chunk, adds the pets to that owner instead of
+ * creating a new one.</li>
+ * <li>Pet names are unique per owner, ignoring case: a pet whose name the
+ * owner already has, in the database or earlier in the chunk, is skipped.</li>
+ * <li>Owners and pets are inserted with one JDBC batch each, with ids reserved
+ * in blocks by a {@link PooledIdGenerator}.</li>
+ * <li>The job's {@code import_checkpoints} row is updated with the last line
+ * of the chunk, so the chunk and its checkpoint commit together and a resumed
+ * job skips exactly the committed lines.</li>
+ * </ul>
+ * On PostgreSQL the chunk transaction first takes a transaction-level
+ * advisory lock per telephone, in sorted order, so jobs running at the same
+ * time, on this node or another, cannot both insert an owner for the same
+ * telephone: {@code idx_owners_telephone} is not unique. Other databases (H2
+ * in tests) get no such lock and need {@code import.owners.concurrent-jobs=1}.
+ *
+ * <p>
+ * The checkpoint row also records the job's state, so
+ * {@link #checkpointStatus(String)} can report a job run by another node.
+ *
+ * After each commit, new owners are added to the search indexes, merged owners
+ * are evicted from the caches, and one audit row is queued.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class OwnerImporter implements DisposableBean {
+
+  /** Rejected rows listed in the job status. */
+  public static final int MAX_REPORTED_ERRORS = 1_000;
+
+  private static final String OWNERS_BY_TELEPHONE_SQL =
+      "SELECT telephone, MIN(id) FROM owners WHERE telephone IN (:telephones) GROUP BY telephone";
+  private static final String PET_NAMES_BY_OWNER_SQL = "SELECT owner_id, name FROM pets WHERE owner_id IN (:ownerIds)";
+  private static final String INSERT_OWNER_SQL = "INSERT INTO owners (id, first_name, last_name, address, city,"
+      + " telephone, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+  private static final String INSERT_PET_SQL =
+      "INSERT INTO pets (id, name, birth_date, type_id, owner_id, version) VALUES (?, ?, ?, ?, ?, 0)";
+  private static final String LOCK_TELEPHONES_SQL = "SELECT pg_advisory_xact_lock(hashtext('owners.telephone'),"
+      + " hashtext(t)) FROM (SELECT DISTINCT t FROM unnest(ARRAY[:telephones]::text[]) AS t ORDER BY t) AS sorted";
+  private static final String SELECT_CHECKPOINT_SQL = "SELECT line, owners_imported, owners_merged, pets_imported,"
+      + " rejected, state, updated_at FROM import_checkpoints WHERE job_id = ?";
+  private static final String UPDATE_CHECKPOINT_SQL = "UPDATE import_checkpoints SET line = ?, owners_imported = ?,"
+      + " owners_merged = ?, pets_imported = ?, rejected = ?, state = ?, updated_at = ? WHERE job_id = ?";
+  private static final String INSERT_CHECKPOINT_SQL = "INSERT INTO import_checkpoints (line, owners_imported,"
+      + " owners_merged, pets_imported, rejected, state, updated_at, job_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String UPDATE_STATE_SQL =
+      "UPDATE import_checkpoints SET state = ?, updated_at = ? WHERE job_id = ?";
+  private static final String OWNER_PETS_ROLE = Owner.class.getName() + ".pets";
+  private static final int MAX_NAME_LENGTH = 30;
+  private static final int MAX_CITY_LENGTH = 80;
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabasePlatform databasePlatform;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheManager cacheManager;
+  private final EntityManagerFactory entityManagerFactory;
+  private final OwnerSearchRepository ownerSearchRepository;
+  private final OwnerTypeaheadIndex ownerTypeaheadIndex;
+  private final AsyncAuditLogWriter auditLogWriter;
+  private final Validator validator;
+  private final ForkJoinPool validationPool;
+  private final int chunkSize;
+
+  /**
+   * Creates the importer.
+   *
+   * @param jdbcTemplate          the JDBC template
+   * @param databasePlatform      the database product
+   * @param transactionManager    the transaction manager
+   * @param cacheManager          the cache manager holding owner views
+   * @param entityManagerFactory  the entity manager factory, for second-level
+   *                              cache eviction
+   * @param ownerSearchRepository the owner search index
+   * @param ownerTypeaheadIndex   the owner typeahead index
+   * @param auditLogWriter        the audit log writer
+   * @param chunkSize             lines per transaction
+   * @param parallelism           threads validating a chunk; {@code 0} means
+   *                              one per core
+   */
+  @Autowired
+  public OwnerImporter(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform,
+      PlatformTransactionManager transactionManager,
+      CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+      OwnerSearchRepository ownerSearchRepository, OwnerTypeaheadIndex ownerTypeaheadIndex,
+      AsyncAuditLogWriter auditLogWriter,
+      @Value("${import.owners.chunk-size:1000}") int chunkSize,
+      @Value("${import.owners.parallelism:0}") int parallelism) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databasePlatform = databasePlatform;
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.cacheManager = cacheManager;
+    this.entityManagerFactory = entityManagerFactory;
+    this.ownerSearchRepository = ownerSearchRepository;
+    this.ownerTypeaheadIndex = ownerTypeaheadIndex;
+    this.auditLogWriter = auditLogWriter;
+    this.validator = Validation.buildDefaultValidatorFactory().getValidator();
+    this.validationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void destroy() {
+    validationPool.shutdownNow();
+  }
+
+  /**
+   * Runs the job from its last checkpoint to the end of its file.
+   *
+   * @param job the job
+   * @throws IOException if reading the file fails, or the thread is
+   *                     interrupted between chunks
+   */
+  public void run(OwnerImportJob job) throws IOException {
+    OwnerImportJob.Checkpoint checkpoint = checkpoint(job.getId());
+    job.start(checkpoint);
+    saveState(job.getId(), OwnerImportJob.State.RUNNING);
+    try {
+      long lines = importLines(job, checkpoint);
+      saveCheckpoint(job.getId(), job.checkpoint(lines, 0, 0, 0), OwnerImportJob.State.COMPLETED);
+    } catch (IOException | RuntimeException ex) {
+      try {
+        saveState(job.getId(), OwnerImportJob.State.FAILED);
+      } catch (RuntimeException stateEx) {
+        ex.addSuppressed(stateEx);
+      }
+      throw ex;
+    }
+    job.complete();
+  }
+
+  /**
+   * Returns the status of a job as of its last checkpoint, for jobs that are
+   * not running on this node. Only the counters and the state are stored:
+   * bytes and rejected rows are not reported.
+   *
+   * @param jobId the job id
+   * @return the status, or empty if the job has not committed a chunk
+   */
+  public Optional<OwnerImportStatus> checkpointStatus(String jobId) {
+    return Optional.ofNullable(jdbcTemplate.query(SELECT_CHECKPOINT_SQL, rs -> {
+      if (!rs.next()) {
+        return null;
+      }
+      OwnerImportJob.State state = OwnerImportJob.State.valueOf(rs.getString(6));
+      String updatedAt = rs.getTimestamp(7).toInstant().toString();
+      boolean finished = state == OwnerImportJob.State.COMPLETED || state == OwnerImportJob.State.FAILED;
+      return new OwnerImportStatus(jobId, state, rs.getLong(1), 0, 0, rs.getLong(2), rs.getLong(3), rs.getLong(4),
+          rs.getLong(5), List.of(), null, finished ? updatedAt : null, null);
+    }, jobId));
+  }
+
+  /**
+   * Imports the lines after the checkpoint and returns the number of lines in
+   * the file.
+   */
+  private long importLines(OwnerImportJob job, OwnerImportJob.Checkpoint checkpoint) throws IOException {
+    Map<String, PetType> petTypes = petTypes();
+    PooledIdGenerator ownerIds = PooledIdGenerator.forSequence(jdbcTemplate, databasePlatform, "owners_id_seq");
+    PooledIdGenerator petIds = PooledIdGenerator.forSequence(jdbcTemplate, databasePlatform, "pets_id_seq");
+    long lineNumber = 0;
+    try (BufferedReader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8)) {
+      List<InputLine> chunk = new ArrayList<>(chunkSize);
+      String text;
+      while ((text = reader.readLine()) != null) {
+        lineNumber++;
+        job.read(lineNumber, text.getBytes(StandardCharsets.UTF_8).length + 1L);
+        if (lineNumber <= checkpoint.line() || text.isBlank()) {
+          continue;
+        }
+        chunk.add(new InputLine(lineNumber, text));
+        if (chunk.size() == chunkSize) {
+          writeChunk(job, validate(chunk, petTypes), ownerIds, petIds);
+          chunk = new ArrayList<>(chunkSize);
+          if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Import interrupted after line " + lineNumber);
+          }
+        }
+      }
+      if (!chunk.isEmpty()) {
+        writeChunk(job, validate(chunk, petTypes), ownerIds, petIds);
+      }
+    }
+    return lineNumber;
+  }
+
+  private List<ParsedOwner> validate(List<InputLine> chunk, Map<String, PetType> petTypes) {
+    return validationPool.submit(() -> chunk.parallelStream()
+        .map(line -> parse(line, petTypes))
+        .toList())
+        .join();
+  }
+
+  private void writeChunk(OwnerImportJob job, List<ParsedOwner> parsed, PooledIdGenerator ownerIds,
+      PooledIdGenerator petIds) {
+    Map<String, ParsedOwner> byTelephone = new LinkedHashMap<>();
+    int validRows = 0;
+    for (ParsedOwner owner : parsed) {
+      if (owner.error() != null) {
+        job.reject(owner.line(), owner.error());
+      } else {
+        validRows++;
+        byTelephone.merge(owner.owner().getTelephone(), owner, ParsedOwner::merge);
+      }
+    }
+    long checkpointLine = parsed.get(parsed.size() - 1).line();
+    int owners = validRows;
+    ChunkResult result = transactionTemplate.execute(status -> {
+      ChunkResult written = byTelephone.isEmpty() ? ChunkResult.EMPTY : insert(byTelephone, ownerIds, petIds);
+      int merged = owners - written.newOwners().size();
+      saveCheckpoint(job.getId(), job.checkpoint(checkpointLine, written.newOwners().size(), merged,
+          written.pets()), OwnerImportJob.State.RUNNING);
+      return written;
+    });
+    job.imported(result.newOwners().size(), validRows - result.newOwners().size(), result.pets());
+    if (result.pets() > 0 || !result.newOwners().isEmpty()) {
+      afterCommit(job, result);
+    }
+  }
+
+  private ChunkResult insert(Map<String, ParsedOwner> byTelephone, PooledIdGenerator ownerIds,
+      PooledIdGenerator petIds) {
+    if (databasePlatform.isPostgres()) {
+      namedJdbcTemplate.query(LOCK_TELEPHONES_SQL, Map.of("telephones", byTelephone.keySet()), rs -> {
+      });
+    }
+    Map<String, Long> existing = new HashMap<>();
+    namedJdbcTemplate.query(OWNERS_BY_TELEPHONE_SQL, Map.of("telephones", byTelephone.keySet()),
+        rs -> {
+          existing.put(rs.getString(1), rs.getLong(2));
+        });
+    Map<Long, Set<String>> petNames = new HashMap<>();
+    if (!existing.isEmpty()) {
+      namedJdbcTemplate.query(PET_NAMES_BY_OWNER_SQL, Map.of("ownerIds", existing.values()),
+          rs -> {
+            petNames.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(Owner.nameKey(rs.getString(2)));
+          });
+    }
+    List<Object[]> ownerRows = new ArrayList<>();
+    List<Object[]> petRows = new ArrayList<>();
+    List<Owner> newOwners = new ArrayList<>();
+    List<Long> mergedOwnerIds = new ArrayList<>();
+    for (ParsedOwner parsed : byTelephone.values()) {
+      Owner owner = parsed.owner();
+      Long ownerId = existing.get(owner.getTelephone());
+      if (ownerId == null) {
+        ownerId = ownerIds.next();
+        owner.setId(ownerId);
+        newOwners.add(owner);
+        ownerRows.add(new Object[] { ownerId, owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+            owner.getCity(), owner.getTelephone() });
+      } else {
+        mergedOwnerIds.add(ownerId);
+      }
+      Set<String> names = petNames.computeIfAbsent(ownerId, id -> new HashSet<>());
+      for (Pet pet : parsed.pets()) {
+        if (!names.add(Owner.nameKey(pet.getName()))) {
+          continue;
+        }
+        petRows.add(new Object[] { petIds.next(), pet.getName(), Date.valueOf(pet.getBirthDate()),
+            pet.getType().getId(), ownerId });
+      }
+    }
+    if (!ownerRows.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_OWNER_SQL, ownerRows);
+    }
+    if (!petRows.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_PET_SQL, petRows);
+    }
+    return new ChunkResult(newOwners, mergedOwnerIds, petRows.size());
+  }
+
+  private void afterCommit(OwnerImportJob job, ChunkResult result) {
+    for (Owner owner : result.newOwners()) {
+      ownerSearchRepository.index(owner);
+      ownerTypeaheadIndex.update(owner);
+    }
+    if (!result.mergedOwnerIds().isEmpty()) {
+      Cache ownerDetails = cacheManager.getCache("ownerDetails");
+      org.hibernate.Cache entityCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+      for (Long ownerId : result.mergedOwnerIds()) {
+        entityCache.evictCollectionData(OWNER_PETS_ROLE, ownerId);
+        if (ownerDetails != null) {
+          ownerDetails.evict(ownerId);
+        }
+      }
+    }
+    AuditLog audit = new AuditLog();
+    audit.setEntityType("Owner");
+    audit.setEntityId(result.newOwners().isEmpty() ? result.mergedOwnerIds().get(0)
+        : result.newOwners().get(0).getId());
+    audit.setAction("IMPORT");
+    audit.setTimestamp(LocalDateTime.now());
+    audit.setUserId(job.getSubmittedBy());
+    audit.setTraceId(MDC.get("traceId"));
+    audit.setNewValue(result.newOwners().size() + " owners, " + result.pets() + " pets imported");
+    auditLogWriter.submit(audit);
+  }
+
+  private OwnerImportJob.Checkpoint checkpoint(String jobId) {
+    return jdbcTemplate.query(SELECT_CHECKPOINT_SQL,
+        rs -> rs.next()
+            ? new OwnerImportJob.Checkpoint(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5))
+            : OwnerImportJob.Checkpoint.NONE,
+        jobId);
+  }
+
+  private void saveCheckpoint(String jobId, OwnerImportJob.Checkpoint checkpoint, OwnerImportJob.State state) {
+    Object[] args = { checkpoint.line(), checkpoint.ownersImported(), checkpoint.ownersMerged(),
+        checkpoint.petsImported(), checkpoint.rejected(), state.name(), Timestamp.valueOf(LocalDateTime.now()),
+        jobId };
+    if (jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, args) == 0) {
+      jdbcTemplate.update(INSERT_CHECKPOINT_SQL, args);
+    }
+  }
+
+  /** Updates the state of a job that has a checkpoint row; others have nothing to report yet. */
+  private void saveState(String jobId, OwnerImportJob.State state) {
+    jdbcTemplate.update(UPDATE_STATE_SQL, state.name(), Timestamp.valueOf(LocalDateTime.now()), jobId);
+  }
+
+  private Map<String, PetType> petTypes() {
+    Map<String, PetType> types = new HashMap<>();
+    jdbcTemplate.query("SELECT id, name FROM types", rs -> {
+      PetType type = new PetType();
+      type.setId(rs.getLong(1));
+      type.setName(rs.getString(2));
+      types.put(type.getName().toLowerCase(Locale.ROOT), type);
+    });
+    return types;
+  }
+
+  private ParsedOwner parse(InputLine line, Map<String, PetType> petTypes) {
+    try {
+      JsonNode node;
+      try {
+        node = MAPPER.readTree(line.text());
+      } catch (JsonProcessingException ex) {
+        return ParsedOwner.rejected(line.number(), "malformed JSON");
+      }
+      if (node == null || !node.isObject()) {
+        return ParsedOwner.rejected(line.number(), "expected a JSON object");
+      }
+      Owner owner = new Owner();
+      owner.setFirstName(field(node, "firstName", MAX_NAME_LENGTH));
+      owner.setLastName(field(node, "lastName", MAX_NAME_LENGTH));
+      owner.setAddress(field(node, "address", 255));
+      owner.setCity(field(node, "city", MAX_CITY_LENGTH));
+      owner.setTelephone(field(node, "telephone", 20));
+      String violations = violations(validator.validate(owner), "");
+      List<Pet> pets = new ArrayList<>();
+      JsonNode petNodes = node.path("pets");
+      for (int i = 0; i < petNodes.size(); i++) {
+        Pet pet = pet(petNodes.get(i), "pets[" + i + "].", petTypes);
+        violations += violations(validator.validate(pet), "pets[" + i + "].");
+        pets.add(pet);
+      }
+      if (!violations.isEmpty()) {
+        return ParsedOwner.rejected(line.number(), violations.substring(2));
+      }
+      return new ParsedOwner(line.number(), owner, pets, null);
+    } catch (IllegalArgumentException ex) {
+      return ParsedOwner.rejected(line.number(), ex.getMessage());
+    }
+  }
+
+  private static Pet pet(JsonNode node, String path, Map<String, PetType> petTypes) {
+    Pet pet = new Pet();
+    pet.setName(field(node, "name", MAX_NAME_LENGTH));
+    String birthDate = field(node, "birthDate", 10);
+    if (!birthDate.isEmpty()) {
+      try {
+        pet.setBirthDate(LocalDate.parse(birthDate));
+      } catch (DateTimeParseException ex) {
+        throw new IllegalArgumentException(path + "birthDate must be yyyy-MM-dd");
+      }
+      if (pet.getBirthDate().isAfter(LocalDate.now())) {
+        throw new IllegalArgumentException(path + "birthDate is in the future");
+      }
+    }
+    String type = field(node, "type", MAX_NAME_LENGTH);
+    if (!type.isEmpty()) {
+      pet.setType(petTypes.get(type.toLowerCase(Locale.ROOT)));
+      if (pet.getType() == null) {
+        throw new IllegalArgumentException(path + "type: unknown pet type " + type);
+      }
+    }
+    return pet;
+  }
+
+  private static String field(JsonNode node, String name, int maxLength) {
+    JsonNode value = node.get(name);
+    String text = InputSanitizer.sanitize(value == null || value.isNull() ? null : value.asText());
+    if (text.length() > maxLength) {
+      throw new IllegalArgumentException(name + " is longer than " + maxLength + " characters");
+    }
+    return text;
+  }
+
+  private static <T> String violations(Set<ConstraintViolation<T>> violations, String path) {
+    return violations.stream()
+        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+        .map(violation -> "; " + path + violation.getPropertyPath() + ": " + violation.getMessage())
+        .collect(Collectors.joining());
+  }
+
+  private record InputLine(long number, String text) {
+  }
+
+  /**
+   * A parsed input line: an owner with its pets, or the reason it was
+   * rejected.
+   */
+  private record ParsedOwner(long line, Owner owner, List<Pet> pets, String error) {
+
+    static ParsedOwner rejected(long line, String error) {
+      return new ParsedOwner(line, null, List.of(), error);
+    }
+
+    ParsedOwner merge(ParsedOwner later) {
+      List<Pet> all = new ArrayList<>(pets);
+      all.addAll(later.pets());
+      return new ParsedOwner(line, owner, all, null);
+    }
+  }
+
+  private record ChunkResult(List<Owner> newOwners, List<Long> mergedOwnerIds, int pets) {
+
+    static final ChunkResult EMPTY = new ChunkResult(List.of(), List.of(), 0);
+  }
+}
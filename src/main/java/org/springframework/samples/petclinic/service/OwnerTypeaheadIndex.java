@@ -0,0 +1,584 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.repository.OwnerRepository;
+import org.springframework.samples.petclinic.repository.OwnerRepository.OwnerName;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * In-memory prefix index over owner names for the find-owners autocomplete.
+ *
+ * <p>
+ * Every owner is indexed under two names, {@code "Last First"} and
+ * {@code "First Last"}, so typing either the last or the first name (and then
+ * the other) finds it. Lookups never touch the database:
+ * <ul>
+ * <li>The bulk of the index is an immutable snapshot of sorted primitive
+ * arrays: all names concatenated in one {@code char[]}, an {@code int[]} of
+ * offsets and a parallel {@code long[]} of owner ids. A lookup is a binary
+ * search followed by a sequential scan, with no per-entry objects.</li>
+ * <li>Saved owners go to a small sorted overlay and their snapshot entries are
+ * masked. Once the overlay holds {@link #COMPACT_THRESHOLD} names, snapshot
+ * and overlay are merged into a new snapshot on a background thread.</li>
+ * </ul>
+ *
+ * <p>
+ * The snapshot is loaded once all singletons are created, by streaming name
+ * projections from {@link OwnerRepository} in a read-only transaction.
+ * {@code OwnerIndexingAspect} adds this node's saves after each
+ * {@code ClinicService.saveOwner}; owners saved on other nodes are picked up
+ * by a full reload, scheduled with {@code owners.typeahead.reload-cron}
+ * (disabled by default).
+ *
+ * <p>
+ * Metrics exported:
+ * <ul>
+ * <li>{@code petclinic.owners.typeahead.entries}: indexed names (Gauge).</li>
+ * <li>{@code petclinic.owners.typeahead.memory}: estimated heap use in bytes
+ * (Gauge).</li>
+ * <li>{@code petclinic.owners.typeahead.memory.per.million.owners}: the same,
+ * scaled to one million owners (Gauge).</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class OwnerTypeaheadIndex implements SmartInitializingSingleton, DisposableBean {
+
+  /** Overlay size at which the overlay is merged into a new snapshot. */
+  static final int COMPACT_THRESHOLD = 10_000;
+
+  /** Rough heap cost of one overlay entry: skip list node, key and suggestion. */
+  private static final long OVERLAY_ENTRY_BYTES = 200;
+
+  private static final int NAMES_PER_OWNER = 2;
+
+  private static final Logger logger = LoggerFactory.getLogger(OwnerTypeaheadIndex.class);
+
+  private final OwnerRepository ownerRepository;
+  private final TransactionTemplate transactionTemplate;
+  private volatile State state = new State(Snapshot.EMPTY);
+  // Numbers overlay writes, so a rebuilt snapshot knows which ones it already covers
+  private final AtomicLong updates = new AtomicLong();
+  private final AtomicBoolean compactionQueued = new AtomicBoolean();
+  private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "owner-typeahead-compaction");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Creates the index.
+   *
+   * @param ownerRepository    the repository the index is loaded from
+   * @param transactionManager the transaction manager
+   * @param registry           the meter registry
+   */
+  @Autowired
+  public OwnerTypeaheadIndex(OwnerRepository ownerRepository, PlatformTransactionManager transactionManager,
+      CompositeMeterRegistry registry) {
+    this(ownerRepository, transactionManager, (MeterRegistry) registry);
+  }
+
+  OwnerTypeaheadIndex(OwnerRepository ownerRepository, PlatformTransactionManager transactionManager,
+      MeterRegistry registry) {
+    this.ownerRepository = ownerRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    Gauge.builder("petclinic.owners.typeahead.entries", this, OwnerTypeaheadIndex::entries)
+        .description("Owner names in the typeahead index")
+        .register(registry);
+    Gauge.builder("petclinic.owners.typeahead.memory", this, OwnerTypeaheadIndex::memoryBytes)
+        .description("Estimated heap used by the typeahead index")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("petclinic.owners.typeahead.memory.per.million.owners", this,
+        index -> index.entries() == 0 ? 0 : index.memoryBytes() * 1_000_000.0 * NAMES_PER_OWNER / index.entries())
+        .description("Estimated typeahead index heap per one million owners")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  @Override
+  public void destroy() {
+    compactor.shutdownNow();
+  }
+
+  /**
+   * Rebuilds the snapshot from the database, picking up owners saved on
+   * other nodes. Owners saved on this node in the meantime stay in the
+   * overlay.
+   */
+  @Scheduled(cron = "${owners.typeahead.reload-cron:" + Scheduled.CRON_DISABLED + "}")
+  public void reload() {
+    // update() runs after commit, so every write numbered up to here is visible to the stream
+    long covered = updates.get();
+    SnapshotBuilder builder = new SnapshotBuilder();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<OwnerName> names = ownerRepository.streamAllNames()) {
+        names.forEach(name -> builder.add(name.getId(), name.getFirstName(), name.getLastName()));
+      }
+    });
+    Snapshot base = builder.build();
+    synchronized (this) {
+      state = carryOver(state, base, covered);
+    }
+    logger.info("Loaded {} owner names into the typeahead index (~{} KiB)", entries(), memoryBytes() / 1024);
+  }
+
+  /**
+   * Returns owners whose {@code "Last First"} or {@code "First Last"} name
+   * starts with the given prefix, ignoring case, in name order.
+   *
+   * @param prefix the typed text
+   * @param limit  the maximum number of owners
+   * @return the suggestions, one per owner
+   */
+  public List<Suggestion> suggest(String prefix, int limit) {
+    String key = prefix == null ? "" : lower(prefix.strip());
+    if (key.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    State current = state;
+    Snapshot base = current.base;
+    Iterator<Map.Entry<String, Suggestion>> overlay = current.overlay
+        .subMap(key, true, key + Character.MAX_VALUE, true).entrySet().iterator();
+    Map.Entry<String, Suggestion> pending = overlay.hasNext() ? overlay.next() : null;
+    Map<Long, Suggestion> results = new LinkedHashMap<>();
+    int i = base.lowerBound(key);
+    while (results.size() < limit) {
+      boolean baseMatches = i < base.size && base.startsWith(i, key);
+      if (!baseMatches && pending == null) {
+        break;
+      }
+      if (pending != null && (!baseMatches || base.compareTo(i, pending.getKey()) > 0)) {
+        results.putIfAbsent(pending.getValue().id(), pending.getValue());
+        pending = overlay.hasNext() ? overlay.next() : null;
+      } else {
+        if (!current.superseded.contains(base.ids[i])) {
+          results.putIfAbsent(base.ids[i], new Suggestion(base.ids[i], base.name(i)));
+        }
+        i++;
+      }
+    }
+    return List.copyOf(results.values());
+  }
+
+  /**
+   * Replaces the indexed names of a saved owner.
+   *
+   * @param owner the saved owner
+   */
+  public synchronized void update(Owner owner) {
+    if (owner.getId() == null) {
+      return;
+    }
+    long id = owner.getId();
+    State current = state;
+    List<String> keys = new ArrayList<>(NAMES_PER_OWNER);
+    for (String name : names(owner.getFirstName(), owner.getLastName())) {
+      String key = overlayKey(name, id);
+      current.overlay.put(key, new Suggestion(id, name));
+      keys.add(key);
+    }
+    // Mask the old names only once the new ones are readable; suggest() drops the brief duplicate
+    current.superseded.add(id);
+    OverlayEntry previous = current.overlayKeys.put(id, new OverlayEntry(keys, updates.incrementAndGet()));
+    if (previous != null) {
+      previous.keys().stream().filter(key -> !keys.contains(key)).forEach(current.overlay::remove);
+    }
+    if (current.overlay.size() >= COMPACT_THRESHOLD && compactionQueued.compareAndSet(false, true)) {
+      try {
+        compactor.execute(() -> {
+          try {
+            compact();
+          } finally {
+            compactionQueued.set(false);
+          }
+        });
+      } catch (RejectedExecutionException ex) {
+        // Shutting down
+        compactionQueued.set(false);
+      }
+    }
+  }
+
+  /**
+   * Merges the overlay into a new snapshot. The merge runs without holding
+   * the lock; updates made meanwhile are carried over into the new overlay.
+   */
+  void compact() {
+    State source;
+    long covered;
+    synchronized (this) {
+      source = state;
+      covered = updates.get();
+    }
+    Snapshot base = source.base;
+    SnapshotBuilder builder = new SnapshotBuilder();
+    for (int i = 0; i < base.size; i++) {
+      if (!source.superseded.contains(base.ids[i])) {
+        builder.addName(base.ids[i], base.name(i));
+      }
+    }
+    source.overlay.values().forEach(suggestion -> builder.addName(suggestion.id(), suggestion.name()));
+    Snapshot merged = builder.build();
+    synchronized (this) {
+      if (state != source) {
+        // A reload replaced the state meanwhile and is at least as fresh
+        return;
+      }
+      state = carryOver(source, merged, covered);
+    }
+  }
+
+  /**
+   * Returns a state on the given snapshot that keeps the overlay entries
+   * written after {@code covered}, since the snapshot may predate them.
+   * Called with the lock held.
+   */
+  private static State carryOver(State previous, Snapshot base, long covered) {
+    State next = new State(base);
+    previous.overlayKeys.forEach((id, entry) -> {
+      if (entry.sequence() > covered) {
+        entry.keys().forEach(key -> next.overlay.put(key, previous.overlay.get(key)));
+        next.overlayKeys.put(id, entry);
+        next.superseded.add(id);
+      }
+    });
+    return next;
+  }
+
+  /**
+   * Returns the number of indexed names, snapshot and overlay together.
+   *
+   * @return the number of entries
+   */
+  public int entries() {
+    State current = state;
+    return current.base.size + current.overlay.size();
+  }
+
+  /**
+   * Returns an estimate of the heap used by the index.
+   *
+   * @return the estimated size in bytes
+   */
+  public long memoryBytes() {
+    State current = state;
+    return current.base.memoryBytes() + current.overlay.size() * OVERLAY_ENTRY_BYTES;
+  }
+
+  private static List<String> names(String firstName, String lastName) {
+    String first = firstName == null ? "" : firstName.strip();
+    String last = lastName == null ? "" : lastName.strip();
+    if (first.isEmpty() || last.isEmpty()) {
+      String only = first.isEmpty() ? last : first;
+      return only.isEmpty() ? List.of() : List.of(only);
+    }
+    return List.of(last + " " + first, first + " " + last);
+  }
+
+  private static String overlayKey(String name, long id) {
+    // Sorts like the snapshot; the id keeps equal names apart
+    return lower(name) + '\u0000' + id;
+  }
+
+  /**
+   * Lower-cases char by char, so that comparisons in the snapshot (which
+   * lower-case on the fly) agree with the overlay keys.
+   */
+  private static String lower(String value) {
+    char[] chars = value.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(chars[i]);
+    }
+    return new String(chars);
+  }
+
+  /**
+   * An autocomplete hit.
+   *
+   * @param id   the owner id
+   * @param name the matched name, {@code "Last First"} or {@code "First Last"}
+   */
+  public record Suggestion(long id, String name) implements Serializable {
+  }
+
+  /**
+   * Snapshot and overlay as seen together by readers; replaced as a whole on
+   * reload and compaction.
+   */
+  private static final class State {
+
+    final Snapshot base;
+    final NavigableMap<String, Suggestion> overlay = new ConcurrentSkipListMap<>();
+    final Map<Long, OverlayEntry> overlayKeys = new ConcurrentHashMap<>();
+    final Set<Long> superseded = ConcurrentHashMap.newKeySet();
+
+    State(Snapshot base) {
+      this.base = base;
+    }
+  }
+
+  /**
+   * The overlay keys of one owner and the number of the write that put them.
+   */
+  private record OverlayEntry(List<String> keys, long sequence) {
+  }
+
+  /**
+   * Immutable sorted name arrays. Entry {@code i} is
+   * {@code chars[offsets[i] .. offsets[i + 1])} for owner {@code ids[i]}.
+   */
+  private static final class Snapshot {
+
+    static final Snapshot EMPTY = new Snapshot(new char[0], new int[] { 0 }, new long[0]);
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    final char[] chars;
+    final int[] offsets;
+    final long[] ids;
+    final int size;
+
+    Snapshot(char[] chars, int[] offsets, long[] ids) {
+      this.chars = chars;
+      this.offsets = offsets;
+      this.ids = ids;
+      this.size = ids.length;
+    }
+
+    String name(int i) {
+      return new String(chars, offsets[i], offsets[i + 1] - offsets[i]);
+    }
+
+    /** Compares entry {@code i}, lower-cased, with a lower-case key. */
+    int compareTo(int i, String key) {
+      int start = offsets[i];
+      int length = offsets[i + 1] - start;
+      int common = Math.min(length, key.length());
+      for (int k = 0; k < common; k++) {
+        int diff = Character.toLowerCase(chars[start + k]) - key.charAt(k);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return length - key.length();
+    }
+
+    boolean startsWith(int i, String prefix) {
+      int start = offsets[i];
+      if (offsets[i + 1] - start < prefix.length()) {
+        return false;
+      }
+      for (int k = 0; k < prefix.length(); k++) {
+        if (Character.toLowerCase(chars[start + k]) != prefix.charAt(k)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Returns the first entry not less than the key. */
+    int lowerBound(String key) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (compareTo(mid, key) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    long memoryBytes() {
+      return 3 * ARRAY_HEADER_BYTES + chars.length * 2L + offsets.length * 4L + ids.length * 8L;
+    }
+  }
+
+  /**
+   * Appends names to growing primitive buffers, then sorts an index array
+   * over them and packs the result into a {@link Snapshot}. No object is
+   * allocated per name, and names that arrive in order are not reordered.
+   */
+  private static final class SnapshotBuilder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private char[] chars = new char[INITIAL_CAPACITY * 16];
+    private int[] offsets = new int[INITIAL_CAPACITY + 1];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+    private int length;
+
+    void add(long id, String firstName, String lastName) {
+      String first = firstName == null ? "" : firstName.strip();
+      String last = lastName == null ? "" : lastName.strip();
+      if (first.isEmpty() || last.isEmpty()) {
+        String only = first.isEmpty() ? last : first;
+        if (!only.isEmpty()) {
+          addName(id, only);
+        }
+        return;
+      }
+      append(id, last, first);
+      append(id, first, last);
+    }
+
+    void addName(long id, String name) {
+      startEntry(id, name.length());
+      name.getChars(0, name.length(), chars, length);
+      length += name.length();
+    }
+
+    /** Appends {@code "head tail"} without concatenating the strings. */
+    private void append(long id, String head, String tail) {
+      startEntry(id, head.length() + 1 + tail.length());
+      head.getChars(0, head.length(), chars, length);
+      length += head.length();
+      chars[length++] = ' ';
+      tail.getChars(0, tail.length(), chars, length);
+      length += tail.length();
+    }
+
+    private void startEntry(long id, int nameLength) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+        offsets = Arrays.copyOf(offsets, size * 2 + 1);
+      }
+      if (length + nameLength > chars.length) {
+        chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + nameLength));
+      }
+      ids[size] = id;
+      offsets[size] = length;
+      size++;
+    }
+
+    Snapshot build() {
+      offsets[size] = length;
+      int[] order = new int[size];
+      boolean sorted = true;
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+        sorted &= i == 0 || compare(i - 1, i) <= 0;
+      }
+      if (sorted) {
+        return new Snapshot(Arrays.copyOf(chars, length), Arrays.copyOf(offsets, size + 1),
+            Arrays.copyOf(ids, size));
+      }
+      mergeSort(order, new int[size], 0, size);
+      char[] packedChars = new char[length];
+      int[] packedOffsets = new int[size + 1];
+      long[] packedIds = new long[size];
+      int position = 0;
+      for (int i = 0; i < size; i++) {
+        int entry = order[i];
+        int entryLength = offsets[entry + 1] - offsets[entry];
+        System.arraycopy(chars, offsets[entry], packedChars, position, entryLength);
+        packedOffsets[i] = position;
+        packedIds[i] = ids[entry];
+        position += entryLength;
+      }
+      packedOffsets[size] = position;
+      return new Snapshot(packedChars, packedOffsets, packedIds);
+    }
+
+    /**
+     * Stable merge sort of entry numbers; runs already in order (such as a
+     * previous snapshot) are merged without comparing their contents.
+     */
+    private void mergeSort(int[] order, int[] buffer, int from, int to) {
+      if (to - from < 2) {
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      mergeSort(order, buffer, from, middle);
+      mergeSort(order, buffer, middle, to);
+      if (compare(order[middle - 1], order[middle]) <= 0) {
+        return;
+      }
+      System.arraycopy(order, from, buffer, from, to - from);
+      int left = from;
+      int right = middle;
+      for (int i = from; i < to; i++) {
+        if (right >= to || (left < middle && compare(buffer[left], buffer[right]) <= 0)) {
+          order[i] = buffer[left++];
+        } else {
+          order[i] = buffer[right++];
+        }
+      }
+    }
+
+    /** Orders entries by lower-cased name, then by owner id. */
+    private int compare(int a, int b) {
+      int startA = offsets[a];
+      int startB = offsets[b];
+      int lengthA = offsets[a + 1] - startA;
+      int lengthB = offsets[b + 1] - startB;
+      int common = Math.min(lengthA, lengthB);
+      for (int k = 0; k < common; k++) {
+        int diff = Character.toLowerCase(chars[startA + k]) - Character.toLowerCase(chars[startB + k]);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return lengthA != lengthB ? lengthA - lengthB : Long.compare(ids[a], ids[b]);
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Action;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Create;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Detach;
+import org.springframework.samples.petclinic.service.PartitionPlanner.EnsureIndexes;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Range;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Scheduled lifecycle manager for the range-partitioned {@code audit_log}
+ * (monthly) and {@code visits} (yearly) tables.
+ *
+ * <p>
+ * On startup and then on {@code partition.maintenance.cron}, each table's
+ * partitions are read from the PostgreSQL catalog and the
+ * {@link PartitionPlanner} actions are applied, one transaction each:
+ * <ul>
+ * <li>Future partitions are created with their indexes and attached.</li>
+ * <li>Rows sitting in the default partition for a period without a partition
+ * are moved (with {@code DELETE ... RETURNING}) into a new partition before it
+ * is attached, which restores partition pruning for them.</li>
+ * <li>Partitions past retention are detached and left as standalone tables to
+ * be archived and dropped by operations.</li>
+ * <li>Missing indexes are created on existing partitions.</li>
+ * </ul>
+ *
+ * <p>
+ * Each action takes a transaction-scoped advisory lock per table, so when
+ * several nodes run the job at once only one of them changes a table. The
+ * manager does nothing on databases other than PostgreSQL (e.g. H2 in tests).
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class PartitionManager implements SmartInitializingSingleton {
+
+  static final String PARTITIONS_SQL = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)"
+      + " FROM pg_inherits i"
+      + " JOIN pg_class c ON c.oid = i.inhrelid"
+      + " JOIN pg_class p ON p.oid = i.inhparent"
+      + " WHERE p.relname = ? ORDER BY c.relname";
+
+  private static final Pattern RANGE_BOUND = Pattern.compile(
+      "FROM \\('(\\d{4}-\\d{2}-\\d{2})[^']*'\\) TO \\('(\\d{4}-\\d{2}-\\d{2})[^']*'\\)");
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionManager.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabasePlatform databasePlatform;
+  private final TransactionTemplate transactionTemplate;
+  private final List<PartitionPolicy> policies;
+  private final boolean enabled;
+  private final Clock clock;
+
+  /**
+   * Creates the manager for the {@code audit_log} and {@code visits} tables.
+   *
+   * @param jdbcTemplate          the template for catalog queries and DDL
+   * @param databasePlatform      the database product; other databases than
+   *                              PostgreSQL are skipped
+   * @param transactionManager    the transaction manager
+   * @param enabled               whether maintenance runs at all
+   * @param auditPrecreateMonths  future monthly {@code audit_log} partitions
+   * @param auditRetentionMonths  {@code audit_log} retention, 0 to keep all
+   * @param visitsPrecreateYears  future yearly {@code visits} partitions
+   * @param visitsRetentionYears  {@code visits} retention, 0 to keep all
+   */
+  @Autowired
+  public PartitionManager(
+      JdbcTemplate jdbcTemplate,
+      DatabasePlatform databasePlatform,
+      PlatformTransactionManager transactionManager,
+      @Value("${partition.maintenance.enabled:true}") boolean enabled,
+      @Value("${partition.audit-log.precreate-months:3}") int auditPrecreateMonths,
+      @Value("${partition.audit-log.retention-months:84}") int auditRetentionMonths,
+      @Value("${partition.visits.precreate-years:1}") int visitsPrecreateYears,
+      @Value("${partition.visits.retention-years:0}") int visitsRetentionYears) {
+    this(jdbcTemplate, databasePlatform, transactionManager,
+        defaultPolicies(auditPrecreateMonths, auditRetentionMonths, visitsPrecreateYears, visitsRetentionYears),
+        enabled, Clock.systemDefaultZone());
+  }
+
+  PartitionManager(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform,
+      PlatformTransactionManager transactionManager, List<PartitionPolicy> policies, boolean enabled, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databasePlatform = databasePlatform;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.policies = List.copyOf(policies);
+    this.enabled = enabled;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the policies for the tables created by {@code initDB.sql}.
+   *
+   * @param auditPrecreateMonths future monthly {@code audit_log} partitions
+   * @param auditRetentionMonths {@code audit_log} retention in months
+   * @param visitsPrecreateYears future yearly {@code visits} partitions
+   * @param visitsRetentionYears {@code visits} retention in years
+   * @return the policies
+   */
+  static List<PartitionPolicy> defaultPolicies(int auditPrecreateMonths, int auditRetentionMonths,
+      int visitsPrecreateYears, int visitsRetentionYears) {
+    return List.of(
+        new PartitionPolicy("audit_log", "timestamp", PartitionPolicy.Granularity.MONTH,
+            auditPrecreateMonths, auditRetentionMonths, List.of(
+                new PartitionPolicy.Index("idx_audit_entity", "entity_type, entity_id"),
+                new PartitionPolicy.Index("idx_audit_timestamp", "timestamp"),
+                new PartitionPolicy.Index("idx_audit_trace_id", "trace_id"))),
+        new PartitionPolicy("visits", "visit_date", PartitionPolicy.Granularity.YEAR,
+            visitsPrecreateYears, visitsRetentionYears, List.of(
+                new PartitionPolicy.Index("idx_visits_pet_id_date", "pet_id, visit_date DESC"),
+                new PartitionPolicy.Index("idx_visits_date", "visit_date"))));
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (enabled && !databasePlatform.isPostgres()) {
+      logger.info("Partition maintenance disabled on {}", databasePlatform.getProductName());
+    }
+    maintain();
+  }
+
+  /**
+   * Runs maintenance for every partitioned table.
+   */
+  @Scheduled(cron = "${partition.maintenance.cron:0 15 2 * * *}")
+  public void maintain() {
+    if (!enabled || !databasePlatform.isPostgres()) {
+      return;
+    }
+    LocalDate today = LocalDate.now(clock);
+    for (PartitionPolicy policy : policies) {
+      try {
+        maintain(policy, today);
+      } catch (DataAccessException ex) {
+        // One table failing must not block maintenance of the others
+        logger.error("Partition maintenance failed for {}", policy.table(), ex);
+      }
+    }
+  }
+
+  private void maintain(PartitionPolicy policy, LocalDate today) {
+    List<Range> existing = findPartitions(policy.table());
+    String defaultPartition = existing.stream().filter(Range::isDefault).map(Range::name).findFirst().orElse(null);
+    List<LocalDate> strayPeriods = defaultPartition != null
+        ? findStrayPeriods(policy, defaultPartition)
+        : List.of();
+    for (Action action : PartitionPlanner.plan(policy, existing, strayPeriods, today)) {
+      transactionTemplate.executeWithoutResult(status -> {
+        if (tryLock(policy.table())) {
+          apply(policy, defaultPartition, action);
+        }
+      });
+    }
+  }
+
+  private void apply(PartitionPolicy policy, String defaultPartition, Action action) {
+    switch (action) {
+      case Create create -> create(policy, defaultPartition, create);
+      case Detach detach -> {
+        jdbcTemplate.execute("ALTER TABLE " + policy.table() + " DETACH PARTITION " + detach.name());
+        logger.info("Detached expired partition {}; archive and drop it when no longer needed", detach.name());
+      }
+      case EnsureIndexes ensure -> ensureIndexes(policy, ensure.name(), ensure.suffix());
+    }
+  }
+
+  private void create(PartitionPolicy policy, String defaultPartition, Create create) {
+    if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+        "SELECT to_regclass(?) IS NOT NULL", Boolean.class, create.name()))) {
+      // Created by another node since the catalog was read
+      return;
+    }
+    jdbcTemplate.execute("CREATE TABLE " + create.name() + " (LIKE " + policy.table()
+        + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+    if (create.moveDefaultRows() && defaultPartition != null) {
+      // The default partition must not hold rows of the range being attached
+      int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + defaultPartition
+          + " WHERE " + policy.partitionColumn() + " >= ? AND " + policy.partitionColumn() + " < ?"
+          + " RETURNING *) INSERT INTO " + create.name() + " SELECT * FROM moved",
+          Date.valueOf(create.from()), Date.valueOf(create.to()));
+      logger.info("Moved {} rows from {} to {}", moved, defaultPartition, create.name());
+    }
+    ensureIndexes(policy, create.name(), policy.granularity().suffix(create.from()));
+    jdbcTemplate.execute("ALTER TABLE " + policy.table() + " ATTACH PARTITION " + create.name()
+        + " FOR VALUES FROM ('" + create.from() + "') TO ('" + create.to() + "')");
+    logger.info("Created partition {} [{}, {})", create.name(), create.from(), create.to());
+  }
+
+  private void ensureIndexes(PartitionPolicy policy, String partition, String suffix) {
+    for (PartitionPolicy.Index index : policy.indexes()) {
+      jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index.prefix() + "_" + suffix
+          + " ON " + partition + " (" + index.columns() + ")");
+    }
+  }
+
+  private List<Range> findPartitions(String table) {
+    return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> parseRange(rs.getString(1), rs.getString(2)), table);
+  }
+
+  private List<LocalDate> findStrayPeriods(PartitionPolicy policy, String defaultPartition) {
+    return jdbcTemplate.queryForList("SELECT DISTINCT date_trunc('" + policy.granularity().truncUnit() + "', "
+        + policy.partitionColumn() + ")::date FROM " + defaultPartition, Date.class)
+        .stream()
+        .map(Date::toLocalDate)
+        .toList();
+  }
+
+  private boolean tryLock(String table) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+        "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, "partition:" + table));
+  }
+
+  /**
+   * Parses a partition bound expression as returned by
+   * {@code pg_get_expr(relpartbound, oid)}.
+   *
+   * @param name  the partition name
+   * @param bound the bound expression
+   * @return the range; {@code from}/{@code to} are {@code null} for the
+   *         default partition
+   */
+  static Range parseRange(String name, String bound) {
+    Matcher matcher = RANGE_BOUND.matcher(bound);
+    if (!matcher.find()) {
+      return new Range(name, null, null);
+    }
+    return new Range(name, LocalDate.parse(matcher.group(1)), LocalDate.parse(matcher.group(2)));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Decides which partition maintenance actions a table needs.
+ *
+ * <p>
+ * Pure function of the current partitions, the periods that have rows stuck in
+ * the default partition and today's date, so the rules can be unit tested
+ * without a database. {@link PartitionManager} executes the resulting actions.
+ *
+ * <p>
+ * Rules:
+ * <ul>
+ * <li>The current period and the next {@code precreatePeriods} periods get a
+ * partition.</li>
+ * <li>Any other period with rows in the default partition gets a partition,
+ * and those rows are moved into it, unless it is already past retention.</li>
+ * <li>Partitions that ended {@code retentionPeriods} or more periods before
+ * the current one are detached.</li>
+ * <li>Every remaining partition, including the default, gets the policy's
+ * indexes.</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public final class PartitionPlanner {
+
+  /**
+   * An attached partition; {@code from} and {@code to} are {@code null} for
+   * the default partition.
+   *
+   * @param name the partition table name
+   * @param from the inclusive lower bound
+   * @param to   the exclusive upper bound
+   */
+  public record Range(String name, LocalDate from, LocalDate to) {
+
+    /**
+     * Returns whether this is the default partition.
+     *
+     * @return {@code true} for the default partition
+     */
+    public boolean isDefault() {
+      return from == null;
+    }
+
+    boolean covers(LocalDate date) {
+      return !isDefault() && !date.isBefore(from) && date.isBefore(to);
+    }
+  }
+
+  /**
+   * A maintenance step.
+   */
+  public sealed interface Action permits Create, Detach, EnsureIndexes {
+  }
+
+  /**
+   * Create and attach a partition.
+   *
+   * @param name             the partition name
+   * @param from             the inclusive lower bound
+   * @param to               the exclusive upper bound
+   * @param moveDefaultRows  whether rows of this range sit in the default
+   *                         partition and must be moved first
+   */
+  public record Create(String name, LocalDate from, LocalDate to, boolean moveDefaultRows) implements Action {
+  }
+
+  /**
+   * Detach an expired partition, leaving it as a standalone archive table.
+   *
+   * @param name the partition name
+   */
+  public record Detach(String name) implements Action {
+  }
+
+  /**
+   * Create any missing policy index on a partition.
+   *
+   * @param name   the partition name
+   * @param suffix the index name suffix
+   */
+  public record EnsureIndexes(String name, String suffix) implements Action {
+  }
+
+  private PartitionPlanner() {
+    // utility class
+  }
+
+  /**
+   * Plans the actions for one table.
+   *
+   * @param policy       the table's policy
+   * @param existing     the currently attached partitions
+   * @param strayPeriods period starts with rows in the default partition
+   * @param today        the current date
+   * @return the actions, creations first
+   */
+  public static List<Action> plan(PartitionPolicy policy, Collection<Range> existing,
+      Collection<LocalDate> strayPeriods, LocalDate today) {
+    PartitionPolicy.Granularity granularity = policy.granularity();
+    LocalDate current = granularity.start(today);
+    LocalDate cutoff = policy.retentionPeriods() > 0 ? granularity.plus(current, -policy.retentionPeriods()) : null;
+
+    TreeSet<LocalDate> wanted = new TreeSet<>();
+    for (int i = 0; i <= policy.precreatePeriods(); i++) {
+      wanted.add(granularity.plus(current, i));
+    }
+    for (LocalDate stray : strayPeriods) {
+      LocalDate start = granularity.start(stray);
+      // Rows already past retention stay in the default partition
+      if (cutoff == null || granularity.plus(start, 1).isAfter(cutoff)) {
+        wanted.add(start);
+      }
+    }
+
+    List<Action> actions = new ArrayList<>();
+    for (LocalDate start : wanted) {
+      if (existing.stream().noneMatch(range -> range.covers(start))) {
+        actions.add(new Create(policy.partitionName(start), start, granularity.plus(start, 1),
+            strayPeriods.stream().anyMatch(stray -> granularity.start(stray).equals(start))));
+      }
+    }
+    for (Range range : existing) {
+      if (!range.isDefault() && cutoff != null && !range.to().isAfter(cutoff)) {
+        actions.add(new Detach(range.name()));
+      } else {
+        actions.add(new EnsureIndexes(range.name(),
+            range.isDefault() ? "default" : granularity.suffix(range.from())));
+      }
+    }
+    return actions;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Lifecycle policy for one range-partitioned table.
+ *
+ * @param table             the partitioned (parent) table
+ * @param partitionColumn   the range partition key column
+ * @param granularity       the period covered by one partition
+ * @param precreatePeriods  how many periods after the current one must exist
+ * @param retentionPeriods  partitions ending this many periods before the
+ *                          current one are detached; {@code 0} keeps everything
+ * @param indexes           indexes created on every partition
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record PartitionPolicy(String table, String partitionColumn, Granularity granularity, int precreatePeriods,
+    int retentionPeriods, List<Index> indexes) {
+
+  /**
+   * Period covered by one partition, with the naming scheme used by
+   * {@code initDB.sql} ({@code audit_log_2024_01}, {@code visits_2024}).
+   */
+  public enum Granularity {
+    /** One partition per calendar month. */
+    MONTH("yyyy_MM", "month"),
+    /** One partition per calendar year. */
+    YEAR("yyyy", "year");
+
+    private final DateTimeFormatter suffixFormat;
+    private final String truncUnit;
+
+    Granularity(String suffixPattern, String truncUnit) {
+      this.suffixFormat = DateTimeFormatter.ofPattern(suffixPattern);
+      this.truncUnit = truncUnit;
+    }
+
+    /**
+     * Returns the first day of the period containing the given date.
+     *
+     * @param date any date
+     * @return the period start
+     */
+    public LocalDate start(LocalDate date) {
+      return this == MONTH ? date.withDayOfMonth(1) : date.withDayOfYear(1);
+    }
+
+    /**
+     * Returns the start of the period {@code periods} after the given start.
+     *
+     * @param start   a period start
+     * @param periods the number of periods to add (may be negative)
+     * @return the shifted period start
+     */
+    public LocalDate plus(LocalDate start, long periods) {
+      return this == MONTH ? start.plusMonths(periods) : start.plusYears(periods);
+    }
+
+    /**
+     * Returns the partition name suffix for the period starting at the given
+     * date.
+     *
+     * @param start the period start
+     * @return the suffix, e.g. {@code 2024_01}
+     */
+    public String suffix(LocalDate start) {
+      return suffixFormat.format(start);
+    }
+
+    /**
+     * Returns the {@code date_trunc} unit matching this granularity.
+     *
+     * @return the unit name
+     */
+    public String truncUnit() {
+      return truncUnit;
+    }
+  }
+
+  /**
+   * Index created on each partition, named {@code <prefix>_<suffix>}.
+   *
+   * @param prefix  the index name prefix, e.g. {@code idx_visits_pet_id_date}
+   * @param columns the indexed column list
+   */
+  public record Index(String prefix, String columns) {
+  }
+
+  /**
+   * Returns the name of the partition for the period starting at the given
+   * date.
+   *
+   * @param start the period start
+   * @return the partition name
+   */
+  public String partitionName(LocalDate start) {
+    return table + "_" + granularity.suffix(start);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.samples.petclinic.cache.RefreshingCacheLoader;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name to {@link PetType} lookup for form binding.
+ *
+ * <p>
+ * Lookups go to an immutable map snapshot, so a lookup is one hash lookup and
+ * never passes through the {@link ClinicService} proxy chain. The snapshot is
+ * built from {@link ClinicService#findPetTypes()} on first use and rebuilt only
+ * when the pet types change: whenever the {@code petTypes} cache loader loads
+ * or refreshes them, and after an explicit {@link #refresh()}. Pet types are
+ * read-only reference data, so a catalog without a cache loader keeps its
+ * snapshot until refreshed.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class PetTypeCatalog {
+
+  /** Cache that {@code ClinicService.findPetTypes()} results are stored in. */
+  static final String CACHE_NAME = "petTypes";
+
+  private final ClinicService clinicService;
+  // null until first use and after refresh()
+  private volatile Map<String, PetType> byName;
+
+  /**
+   * Creates a catalog that reads the pet types through the service and is
+   * rebuilt only by {@link #refresh()}.
+   *
+   * @param clinicService the service to read the pet types through
+   */
+  public PetTypeCatalog(ClinicService clinicService) {
+    this.clinicService = clinicService;
+  }
+
+  /**
+   * Creates a catalog that is also rebuilt whenever the {@code petTypes} cache
+   * loader loads or refreshes the pet types.
+   *
+   * @param clinicService the service to read the pet types through on first
+   *                      use
+   * @param cacheLoaders  the cache loaders; the one of the {@code petTypes}
+   *                      cache, if any, is listened to
+   */
+  @Autowired
+  public PetTypeCatalog(ClinicService clinicService, ObjectProvider<RefreshingCacheLoader> cacheLoaders) {
+    this(clinicService);
+    cacheLoaders.stream()
+        .filter(loader -> CACHE_NAME.equals(loader.getCacheName()))
+        .forEach(loader -> loader.addListener((key, value) -> onLoad(value)));
+  }
+
+  /**
+   * Returns the pet type with the given name.
+   *
+   * @param name the exact name
+   * @return the pet type, or {@code null} if there is none with that name
+   */
+  @Nullable
+  public PetType findByName(String name) {
+    Map<String, PetType> current = byName;
+    if (current == null) {
+      current = index(clinicService.findPetTypes());
+      byName = current;
+    }
+    return current.get(name);
+  }
+
+  /**
+   * Drops the snapshot; the next lookup reads the pet types again.
+   */
+  public void refresh() {
+    byName = null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void onLoad(Object value) {
+    if (value instanceof Collection<?> types) {
+      byName = index((Collection<PetType>) types);
+    }
+  }
+
+  private static Map<String, PetType> index(Collection<PetType> types) {
+    Map<String, PetType> byName = HashMap.newHashMap(types.size());
+    for (PetType type : types) {
+      if (type.getName() != null) {
+        byName.putIfAbsent(type.getName(), type);
+      }
+    }
+    return Map.copyOf(byName);
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of a bulk visit import.
+ *
+ * <p>
+ * Every data row is either imported or rejected. Rejected rows are listed
+ * with their line number (the CSV header is line 1) up to
+ * {@link VisitImporter#MAX_REPORTED_ERRORS}; {@link #rejected()} always
+ * counts all of them.
+ *
+ * @param rowsRead the number of data rows read
+ * @param imported the number of visits inserted
+ * @param rejected the number of rows not inserted
+ * @param errors   the first rejected rows and their reasons
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public record VisitImportReport(long rowsRead, long imported, long rejected, List<RowError> errors)
+    implements Serializable {
+
+  public VisitImportReport {
+    errors = List.copyOf(errors);
+  }
+
+  /**
+   * Returns whether more rows were rejected than {@link #errors()} lists.
+   *
+   * @return {@code true} if the error list was truncated
+   */
+  public boolean isErrorsTruncated() {
+    return rejected > errors.size();
+  }
+
+  /**
+   * A rejected input row.
+   *
+   * @param line    the line number in the input
+   * @param message why the row was rejected
+   */
+  public record RowError(long line, String message) implements Serializable {
+  }
+}
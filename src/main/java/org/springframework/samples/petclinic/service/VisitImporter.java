@@ -0,0 +1,415 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.model.AuditLog;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+import org.springframework.samples.petclinic.util.InputSanitizer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Imports visits in bulk from CSV or newline-delimited JSON.
+ *
+ * <p>
+ * The input is read line by line and never held in memory as a whole. Valid
+ * rows are collected into chunks of {@link #CHUNK_SIZE}; each chunk resolves
+ * its pets with one {@code IN} query and inserts its visits with one JDBC
+ * batch in its own transaction, so a bad chunk does not undo earlier ones.
+ * Ids are reserved from {@code visits_id_seq} in blocks by a
+ * {@link PooledIdGenerator}, so imported and JPA-inserted visits never
+ * collide.
+ *
+ * <p>
+ * Both formats use the field names of the clinic export: {@code petId},
+ * {@code visitDate} (ISO {@code yyyy-MM-dd}) and {@code description}; names
+ * are matched ignoring case and underscores, so {@code pet_id} works too. CSV
+ * input needs a header line. Each committed chunk evicts the cached owner and
+ * pet views it touched and writes one audit row.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class VisitImporter {
+
+  /** Supported input formats. */
+  public enum Format {
+    /** Comma-separated values with a header line. */
+    CSV,
+    /** One JSON object per line. */
+    NDJSON
+  }
+
+  /** Rows inserted per transaction. */
+  static final int CHUNK_SIZE = 1_000;
+
+  /** Rejected rows listed in the report. */
+  public static final int MAX_REPORTED_ERRORS = 1_000;
+
+  private static final int MAX_DESCRIPTION_LENGTH = 255;
+  private static final String ID_SEQUENCE = "visits_id_seq";
+  private static final String PETS_SQL = "SELECT id, owner_id FROM pets WHERE id IN (:ids)";
+  private static final String INSERT_SQL =
+      "INSERT INTO visits (id, pet_id, visit_date, description, version) VALUES (?, ?, ?, ?, 0)";
+  private static final String PET_VISITS_ROLE = Pet.class.getName() + ".visits";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Logger logger = LoggerFactory.getLogger(VisitImporter.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabasePlatform databasePlatform;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheManager cacheManager;
+  private final EntityManagerFactory entityManagerFactory;
+  private final AsyncAuditLogWriter auditLogWriter;
+
+  /**
+   * Creates the importer.
+   *
+   * @param jdbcTemplate         the JDBC template
+   * @param databasePlatform     the database product
+   * @param transactionManager   the transaction manager
+   * @param cacheManager         the cache manager holding owner and pet views
+   * @param entityManagerFactory the entity manager factory, for second-level
+   *                             cache eviction
+   * @param auditLogWriter       the audit log writer
+   */
+  @Autowired
+  public VisitImporter(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform,
+      PlatformTransactionManager transactionManager,
+      CacheManager cacheManager, EntityManagerFactory entityManagerFactory, AsyncAuditLogWriter auditLogWriter) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databasePlatform = databasePlatform;
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.cacheManager = cacheManager;
+    this.entityManagerFactory = entityManagerFactory;
+    this.auditLogWriter = auditLogWriter;
+  }
+
+  /**
+   * Imports all rows of the given input.
+   *
+   * @param input  the input, UTF-8 encoded; not closed
+   * @param format the input format
+   * @return the import report
+   * @throws IOException              if reading the input fails
+   * @throws IllegalArgumentException if the CSV header lacks a required column
+   */
+  public VisitImportReport importVisits(InputStream input, Format format) throws IOException {
+    ImportRun run = new ImportRun();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    Map<String, Integer> columns = null;
+    List<VisitRow> chunk = new ArrayList<>(CHUNK_SIZE);
+    long lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      if (format == Format.CSV && columns == null) {
+        columns = header(line);
+        continue;
+      }
+      run.rowsRead++;
+      try {
+        chunk.add(format == Format.CSV ? csvRow(lineNumber, line, columns) : jsonRow(lineNumber, line));
+      } catch (IllegalArgumentException ex) {
+        run.reject(lineNumber, ex.getMessage());
+      }
+      if (chunk.size() == CHUNK_SIZE) {
+        writeChunk(chunk, run);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      writeChunk(chunk, run);
+    }
+    return run.report();
+  }
+
+  private void writeChunk(List<VisitRow> chunk, ImportRun run) {
+    Set<Long> petIds = new HashSet<>();
+    for (VisitRow row : chunk) {
+      petIds.add(row.petId());
+    }
+    ChunkResult result;
+    try {
+      result = transactionTemplate.execute(status -> insert(chunk, petIds, run.ids()));
+    } catch (DataAccessException ex) {
+      logger.warn("Visit import chunk of {} rows failed", chunk.size(), ex);
+      for (VisitRow row : chunk) {
+        run.reject(row.line(), "not imported: the batch containing this row failed");
+      }
+      return;
+    }
+    for (VisitRow row : result.unknownPets()) {
+      run.reject(row.line(), "unknown pet " + row.petId());
+    }
+    run.imported += result.inserted();
+    if (result.inserted() > 0) {
+      evictCaches(result.petIds(), result.ownerIds());
+      audit(result.firstId(), result.inserted());
+    }
+  }
+
+  private ChunkResult insert(List<VisitRow> chunk, Set<Long> petIds, PooledIdGenerator ids) {
+    Map<Long, Long> ownerByPet = new HashMap<>();
+    namedJdbcTemplate.query(PETS_SQL, Map.of("ids", petIds),
+        rs -> {
+          ownerByPet.put(rs.getLong(1), rs.getLong(2));
+        });
+    List<VisitRow> unknownPets = new ArrayList<>();
+    List<Object[]> batch = new ArrayList<>(chunk.size());
+    long firstId = 0;
+    for (VisitRow row : chunk) {
+      if (!ownerByPet.containsKey(row.petId())) {
+        unknownPets.add(row);
+        continue;
+      }
+      long id = ids.next();
+      if (batch.isEmpty()) {
+        firstId = id;
+      }
+      batch.add(new Object[] { id, row.petId(), Date.valueOf(row.date()), row.description() });
+    }
+    if (!batch.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+    ownerByPet.keySet().retainAll(petIds);
+    return new ChunkResult(batch.size(), firstId, unknownPets, ownerByPet.keySet(),
+        new HashSet<>(ownerByPet.values()));
+  }
+
+  private void evictCaches(Set<Long> petIds, Set<Long> ownerIds) {
+    Cache petDetails = cacheManager.getCache("petDetails");
+    Cache ownerDetails = cacheManager.getCache("ownerDetails");
+    org.hibernate.Cache entityCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+    for (Long petId : petIds) {
+      entityCache.evictCollectionData(PET_VISITS_ROLE, petId);
+      if (petDetails != null) {
+        petDetails.evict(petId);
+      }
+    }
+    if (ownerDetails != null) {
+      ownerIds.forEach(ownerDetails::evict);
+    }
+  }
+
+  private void audit(long firstId, int inserted) {
+    AuditLog audit = new AuditLog();
+    audit.setEntityType("Visit");
+    audit.setEntityId(firstId);
+    audit.setAction("IMPORT");
+    audit.setTimestamp(LocalDateTime.now());
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    audit.setUserId(authentication != null ? authentication.getName() : "anonymous");
+    audit.setTraceId(MDC.get("traceId"));
+    audit.setNewValue(inserted + " visits imported");
+    auditLogWriter.submit(audit);
+  }
+
+  private static Map<String, Integer> header(String line) {
+    List<String> names = parseCsvLine(line);
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      columns.put(normalize(names.get(i)), i);
+    }
+    for (String required : new String[] { "petid", "visitdate", "description" }) {
+      if (!columns.containsKey(required)) {
+        throw new IllegalArgumentException("CSV header must name petId, visitDate and description");
+      }
+    }
+    return columns;
+  }
+
+  private static VisitRow csvRow(long line, String text, Map<String, Integer> columns) {
+    List<String> values = parseCsvLine(text);
+    return row(line, column(values, columns.get("petid")), column(values, columns.get("visitdate")),
+        column(values, columns.get("description")));
+  }
+
+  private static String column(List<String> values, int index) {
+    return index < values.size() ? values.get(index) : null;
+  }
+
+  private static VisitRow jsonRow(long line, String text) {
+    JsonNode node;
+    try {
+      node = MAPPER.readTree(text);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("malformed JSON");
+    }
+    if (node == null || !node.isObject()) {
+      throw new IllegalArgumentException("expected a JSON object");
+    }
+    Map<String, String> fields = new HashMap<>();
+    for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+      Map.Entry<String, JsonNode> field = it.next();
+      fields.put(normalize(field.getKey()), field.getValue().isNull() ? null : field.getValue().asText());
+    }
+    return row(line, fields.get("petid"), fields.get("visitdate"), fields.get("description"));
+  }
+
+  private static VisitRow row(long line, String petId, String visitDate, String description) {
+    if (petId == null || petId.isBlank()) {
+      throw new IllegalArgumentException("petId is required");
+    }
+    long pet;
+    try {
+      pet = Long.parseLong(petId.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException("petId must be a number");
+    }
+    if (visitDate == null || visitDate.isBlank()) {
+      throw new IllegalArgumentException("visitDate is required");
+    }
+    LocalDate date;
+    try {
+      date = LocalDate.parse(visitDate.trim());
+    } catch (DateTimeParseException ex) {
+      throw new IllegalArgumentException("visitDate must be yyyy-MM-dd");
+    }
+    String safeDescription = InputSanitizer.sanitize(description);
+    if (safeDescription.isEmpty()) {
+      throw new IllegalArgumentException("description is required");
+    }
+    if (safeDescription.length() > MAX_DESCRIPTION_LENGTH) {
+      throw new IllegalArgumentException("description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+    }
+    return new VisitRow(line, pet, date, safeDescription);
+  }
+
+  private static String normalize(String name) {
+    return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Splits one CSV line. Fields may be quoted; {@code ""} inside quotes is a
+   * literal quote. Quoted fields cannot span lines.
+   *
+   * @param line the line
+   * @return the field values
+   * @throws IllegalArgumentException if a quoted field is not closed
+   */
+  static List<String> parseCsvLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("unterminated quoted field");
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private record VisitRow(long line, long petId, LocalDate date, String description) {
+  }
+
+  private record ChunkResult(int inserted, long firstId, List<VisitRow> unknownPets, Set<Long> petIds,
+      Set<Long> ownerIds) {
+  }
+
+  /**
+   * Counters and errors of one import call.
+   */
+  private final class ImportRun {
+
+    private PooledIdGenerator ids;
+    private final List<VisitImportReport.RowError> errors = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+
+    void reject(long line, String message) {
+      rejected++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new VisitImportReport.RowError(line, message));
+      }
+    }
+
+    PooledIdGenerator ids() {
+      if (ids == null) {
+        ids = PooledIdGenerator.forSequence(jdbcTemplate, databasePlatform, ID_SEQUENCE);
+      }
+      return ids;
+    }
+
+    VisitImportReport report() {
+      return new VisitImportReport(rowsRead, imported, rejected, errors);
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * {@link ExportWriter} producing
+ * {@code <clinic><vets><vet><id>1</id>...<specialties><specialty>radiology</specialty></specialties></vet></vets></clinic>}
+ * with a StAX {@link XMLStreamWriter}.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class XmlExportWriter implements ExportWriter {
+
+  private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+  private final OutputStream out;
+  private final XMLStreamWriter writer;
+  private String sectionElement;
+  private String listElement;
+
+  /**
+   * Starts a document on the given stream.
+   *
+   * @param out the output stream
+   * @throws IOException if writing fails
+   */
+  public XmlExportWriter(OutputStream out) throws IOException {
+    this.out = out;
+    try {
+      this.writer = FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+      writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+      writer.writeStartElement("clinic");
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  @Override
+  public void startSection(String name, String element) throws IOException {
+    sectionElement = element;
+    startElement(name);
+  }
+
+  @Override
+  public void startRecord() throws IOException {
+    startElement(sectionElement);
+  }
+
+  @Override
+  public void field(String name, Object value) throws IOException {
+    if (value != null) {
+      startElement(name);
+      text(value);
+      endElement();
+    }
+  }
+
+  @Override
+  public void startList(String name, String element) throws IOException {
+    listElement = element;
+    startElement(name);
+  }
+
+  @Override
+  public void item(Object value) throws IOException {
+    startElement(listElement);
+    text(value);
+    endElement();
+  }
+
+  @Override
+  public void endList() throws IOException {
+    endElement();
+  }
+
+  @Override
+  public void endRecord() throws IOException {
+    endElement();
+  }
+
+  @Override
+  public void endSection() throws IOException {
+    endElement();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    try {
+      writer.flush();
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+    out.flush();
+  }
+
+  @Override
+  public void finish() throws IOException {
+    try {
+      writer.writeEndElement();
+      writer.writeEndDocument();
+      // Closes the StAX writer only; the output stream stays open
+      writer.close();
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+    out.flush();
+  }
+
+  private void startElement(String name) throws IOException {
+    try {
+      writer.writeStartElement(name);
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  private void text(Object value) throws IOException {
+    try {
+      writer.writeCharacters(value.toString());
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  private void endElement() throws IOException {
+    try {
+      writer.writeEndElement();
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.util;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The database product behind the application's data source.
+ *
+ * <p>
+ * Read from the connection metadata on first use and kept for the life of the
+ * application. Code with PostgreSQL-only SQL (trigram search, sequences,
+ * advisory locks, partitioning) asks {@link #isPostgres()}; any other
+ * database is H2 in tests and benchmarks.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+public class DatabasePlatform {
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile String productName;
+
+  /**
+   * Creates the platform; no connection is opened until it is first asked.
+   *
+   * @param jdbcTemplate the template of the data source to inspect
+   */
+  public DatabasePlatform(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Returns the product name reported by the JDBC driver.
+   *
+   * @return the product name, e.g. {@code PostgreSQL} or {@code H2}
+   */
+  public String getProductName() {
+    String name = productName;
+    if (name == null) {
+      name = jdbcTemplate.execute(
+          (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+      productName = name;
+    }
+    return name;
+  }
+
+  /**
+   * Returns whether the database is PostgreSQL.
+   *
+   * @return {@code true} on PostgreSQL
+   */
+  public boolean isPostgres() {
+    return "PostgreSQL".equalsIgnoreCase(getProductName());
+  }
+}
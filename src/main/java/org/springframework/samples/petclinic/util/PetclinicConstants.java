@@ -10,4 +10,9 @@ public final class PetclinicConstants {
 
     // View name for owner create/update form
     public static final String OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
+
+    // Form error shown when a save fails its optimistic lock (@Version) check
+    public static final String CONCURRENT_UPDATE_ERROR_CODE = "concurrentUpdate";
+    public static final String CONCURRENT_UPDATE_MESSAGE =
+        "This record was changed by someone else while you were editing it. Reload the page and apply your changes again.";
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.model.Visit;
+
+/**
+ * Computes strong HTTP ETags for read-only resources.
+ *
+ * <p>
+ * Owner pages are tagged from the {@code @Version} of the owner and its pets
+ * plus the ids of the (immutable) visits listed on the page, so no page content has to be
+ * rendered to answer a conditional GET. Vets carry no version column; their
+ * tag is a digest of the fields shown on the vet list. Both are computed from
+ * objects the service usually serves from cache.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+final class EntityTags {
+
+  private EntityTags() {
+    // utility class
+  }
+
+  /**
+   * Returns the ETag for the vet list.
+   *
+   * @param vets the vets, in display order
+   * @return the quoted ETag
+   */
+  static String vets(Collection<Vet> vets) {
+    Digest digest = new Digest();
+    for (Vet vet : vets) {
+      digest.add(vet.getId()).add(vet.getFirstName()).add(vet.getLastName());
+      for (Specialty specialty : vet.getSpecialties()) {
+        digest.add(specialty.getName());
+      }
+      digest.end();
+    }
+    return digest.tag("vets");
+  }
+
+  /**
+   * Returns the ETag for an owner page, which also lists pets and their
+   * latest visits.
+   *
+   * @param owner        the owner with pets loaded
+   * @param latestVisits the visits shown per pet, keyed by pet id
+   * @return the quoted ETag
+   */
+  static String owner(Owner owner, Map<Long, List<Visit>> latestVisits) {
+    Digest digest = new Digest();
+    digest.add(owner.getId()).add(owner.getVersion()).end();
+    for (Pet pet : owner.getPets()) {
+      digest.add(pet.getId()).add(pet.getVersion());
+      for (Visit visit : latestVisits.getOrDefault(pet.getId(), List.of())) {
+        digest.add(visit.getId());
+      }
+      digest.end();
+    }
+    return digest.tag("owner-" + owner.getId());
+  }
+
+  /**
+   * SHA-256 over field values separated by NUL, records separated by newline.
+   */
+  private static final class Digest {
+
+    private final MessageDigest sha256;
+
+    Digest() {
+      try {
+        this.sha256 = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    Digest add(Object value) {
+      sha256.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+      sha256.update((byte) 0);
+      return this;
+    }
+
+    void end() {
+      sha256.update((byte) '\n');
+    }
+
+    String tag(String prefix) {
+      return "\"" + prefix + "-" + HexFormat.of().formatHex(Arrays.copyOf(sha256.digest(), 16)) + "\"";
+    }
+  }
+}
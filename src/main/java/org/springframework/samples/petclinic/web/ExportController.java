@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.samples.petclinic.service.ClinicDataExporter;
+import org.springframework.samples.petclinic.service.ClinicDataExporter.Dataset;
+import org.springframework.samples.petclinic.service.ExportWriter;
+import org.springframework.samples.petclinic.service.JsonExportWriter;
+import org.springframework.samples.petclinic.service.XmlExportWriter;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller for streaming clinic exports.
+ *
+ * <p>
+ * Unlike {@code /vets.json} and {@code /vets.xml}, which build the whole
+ * document before the message converter writes it, these endpoints write each
+ * row to the response as it is read from the database. No
+ * {@code Content-Length} is set, so the response goes out with chunked
+ * transfer encoding and memory use stays flat for any number of rows:
+ * <ul>
+ * <li>{@code /export.json?include=vets,owners,pets,visits}</li>
+ * <li>{@code /export.xml?include=vets,owners,pets,visits}</li>
+ * </ul>
+ * {@code include} defaults to {@code vets}.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Controller
+public class ExportController {
+
+  private final ClinicDataExporter exporter;
+
+  /**
+   * Constructor to inject the exporter.
+   *
+   * @param exporter The clinic data exporter.
+   */
+  @Autowired
+  public ExportController(ClinicDataExporter exporter) {
+    this.exporter = exporter;
+  }
+
+  /**
+   * Streams the selected data sets as JSON.
+   *
+   * @param include  The data sets to export.
+   * @param response The HTTP response.
+   * @throws IOException If writing to the client fails.
+   */
+  @GetMapping("/export.json")
+  public void exportJson(@RequestParam(defaultValue = "vets") List<String> include,
+      HttpServletResponse response) throws IOException {
+    Set<Dataset> datasets = datasets(include);
+    OutputStream out = start(response, "application/json", "clinic-export.json");
+    exporter.export(datasets, new JsonExportWriter(out));
+  }
+
+  /**
+   * Streams the selected data sets as XML.
+   *
+   * @param include  The data sets to export.
+   * @param response The HTTP response.
+   * @throws IOException If writing to the client fails.
+   */
+  @GetMapping("/export.xml")
+  public void exportXml(@RequestParam(defaultValue = "vets") List<String> include,
+      HttpServletResponse response) throws IOException {
+    Set<Dataset> datasets = datasets(include);
+    OutputStream out = start(response, "application/xml", "clinic-export.xml");
+    exporter.export(datasets, new XmlExportWriter(out));
+  }
+
+  private static OutputStream start(HttpServletResponse response, String contentType, String filename)
+      throws IOException {
+    response.setContentType(contentType);
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader("Content-Disposition", "attachment; filename=" + filename);
+    return response.getOutputStream();
+  }
+
+  private static Set<Dataset> datasets(List<String> include) {
+    Set<Dataset> datasets = EnumSet.noneOf(Dataset.class);
+    for (String name : include) {
+      String section = name.trim();
+      Dataset dataset = Arrays.stream(Dataset.values())
+          .filter(candidate -> candidate.section().equalsIgnoreCase(section))
+          .findFirst()
+          .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown data set: " + section));
+      datasets.add(dataset);
+    }
+    return datasets;
+  }
+}
@@ -15,17 +15,26 @@
  */
 package org.springframework.samples.petclinic.web;
 
+import java.util.List;
 import java.util.Map;
 
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.util.PetclinicConstants;
 import org.springframework.samples.petclinic.service.ClinicService;
+import org.springframework.samples.petclinic.service.KeysetPage;
+import org.springframework.samples.petclinic.service.OwnerTypeaheadIndex;
 import org.springframework.samples.petclinic.util.InputSanitizer;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -36,6 +45,8 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
 /**
@@ -54,16 +65,34 @@ import org.springframework.web.servlet.ModelAndView;
 public class OwnerController {
 
   private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = PetclinicConstants.OWNER_CREATE_OR_UPDATE_FORM;
+  private static final int PAGE_SIZE = 5;
+  private static final int MAX_SEARCH_RESULTS = 50;
+  private static final int MAX_SUGGESTIONS = 20;
   private final ClinicService clinicService;
+  private final OwnerTypeaheadIndex ownerTypeaheadIndex;
+
+  /** {@code keyset} (cursor links, no OFFSET) or {@code offset} (numbered pages). */
+  @Value("${owners.search.pagination:offset}")
+  private String paginationMode = "offset";
+
+  /** Whether keyset mode also runs the count query to show the total. */
+  @Value("${owners.search.count-total:false}")
+  private boolean countTotal;
+
+  /** Number of recent visits listed per pet on the owner page. */
+  @Value("${owners.details.visits-per-pet:5}")
+  private int visitsPerPet = 5;
 
   /**
    * Constructor to inject the ClinicService.
    *
-   * @param clinicService The clinic service.
+   * @param clinicService       The clinic service.
+   * @param ownerTypeaheadIndex The owner name autocomplete index.
    */
   @Autowired
-  public OwnerController(ClinicService clinicService) {
+  public OwnerController(ClinicService clinicService, OwnerTypeaheadIndex ownerTypeaheadIndex) {
     this.clinicService = clinicService;
+    this.ownerTypeaheadIndex = ownerTypeaheadIndex;
   }
 
   /**
@@ -128,7 +157,14 @@ public class OwnerController {
    * Processes the owner find form.
    * Demonstrates JDK 21 pattern matching and enhanced switch expressions.
    *
-   * @param page   The page number for pagination.
+   * <p>
+   * By default pages are numbered and the total is shown. With
+   * {@code owners.search.pagination=keyset} pages are addressed by an opaque
+   * {@code cursor} instead, so deep pages cost the same as the first one; the
+   * count query then only runs with {@code owners.search.count-total=true}.
+   *
+   * @param page   The page number for pagination (offset mode).
+   * @param cursor The cursor of the page to show (keyset mode).
    * @param owner  The owner to find.
    * @param result The binding result.
    * @param model  The model.
@@ -136,14 +172,18 @@ public class OwnerController {
    */
   @GetMapping("/owners")
   public String processFindForm(
-      @RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result, Model model) {
+      @RequestParam(defaultValue = "1") int page, @RequestParam(required = false) String cursor,
+      Owner owner, BindingResult result, Model model) {
     // allow parameterless GET request for /owners to return all records
     if (owner.getLastName() == null) {
       owner.setLastName(""); // empty string signifies broadest possible search
     }
+    if ("keyset".equalsIgnoreCase(paginationMode)) {
+      return processKeysetFind(cursor, owner, result, model);
+    }
 
     // find owners by last name
-    Pageable pageable = PageRequest.of(page - 1, 5);
+    Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
     Page<Owner> owners = clinicService.findOwnerByLastName(owner.getLastName(), pageable);
 
     // JDK 21: Enhanced switch expression with pattern matching (JEP 441)
@@ -170,6 +210,64 @@ public class OwnerController {
     };
   }
 
+  private String processKeysetFind(String cursor, Owner owner, BindingResult result, Model model) {
+    KeysetPage<Owner> owners;
+    try {
+      owners = clinicService.findOwnerByLastName(owner.getLastName(), cursor, PAGE_SIZE, countTotal);
+    } catch (IllegalArgumentException ex) {
+      // Tampered or outdated cursor: start over from the first page
+      cursor = null;
+      owners = clinicService.findOwnerByLastName(owner.getLastName(), null, PAGE_SIZE, countTotal);
+    }
+    boolean firstPage = cursor == null || cursor.isEmpty();
+    if (firstPage && owners.content().isEmpty()) {
+      result.rejectValue("lastName", "notFound", "not found");
+      return "owners/findOwners";
+    }
+    if (firstPage && owners.content().size() == 1 && !owners.hasNext()) {
+      return "redirect:/owners/" + owners.content().get(0).getId();
+    }
+    model.addAttribute("listOwners", owners.content());
+    model.addAttribute("nextCursor", owners.nextCursor());
+    model.addAttribute("firstPage", firstPage);
+    if (owners.hasTotal()) {
+      model.addAttribute("totalItems", owners.totalElements());
+    }
+    return "owners/ownersList";
+  }
+
+  /**
+   * Free-text owner search, e.g. {@code /owners/search?q=frank madison}.
+   * Every term must occur in the owner's first name, last name, city or
+   * telephone number, anywhere in the value; terms of one or two characters
+   * must start a word.
+   *
+   * @param query the search terms
+   * @param limit the maximum number of results, capped at 50
+   * @return the matching owners as JSON, best first
+   */
+  @GetMapping(value = "/owners/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseBody
+  public List<OwnerSearchResult> searchOwners(
+      @RequestParam("q") String query, @RequestParam(defaultValue = "20") int limit) {
+    return clinicService.searchOwners(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+  }
+
+  /**
+   * Owner name autocomplete, answered from memory without a database query.
+   *
+   * @param prefix the typed start of a {@code "Last First"} or
+   *               {@code "First Last"} name
+   * @param limit  the maximum number of owners, capped at 20
+   * @return the matching owners as JSON, in name order
+   */
+  @GetMapping(value = "/owners/typeahead", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseBody
+  public List<OwnerTypeaheadIndex.Suggestion> suggestOwners(
+      @RequestParam("q") String prefix, @RequestParam(defaultValue = "10") int limit) {
+    return ownerTypeaheadIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+  }
+
   /**
    * Initializes the owner update form.
    *
@@ -179,7 +277,8 @@ public class OwnerController {
    */
   @GetMapping("/owners/{ownerId}/edit")
   public String initUpdateOwnerForm(@PathVariable("ownerId") Long ownerId, Model model) {
-    Owner owner = this.clinicService.findOwnerById(ownerId);
+    // Not from the ownerDetails cache: a stale version would fail on submit
+    Owner owner = this.clinicService.findOwnerForUpdate(ownerId);
     if (owner != null) {
       model.addAttribute(owner);
     }
@@ -189,6 +288,11 @@ public class OwnerController {
   /**
    * Processes the owner update form.
    *
+   * <p>
+   * The form posts back the owner's {@code version}; if someone else saved
+   * the owner in the meantime, the form is shown again with an error instead
+   * of overwriting their change.
+   *
    * @param owner   The owner to update.
    * @param result  The binding result.
    * @param ownerId The ID of the owner to update.
@@ -209,7 +313,13 @@ public class OwnerController {
       owner.setAddress(InputSanitizer.sanitize(owner.getAddress()));
       owner.setCity(InputSanitizer.sanitize(owner.getCity()));
 
-      this.clinicService.saveOwner(owner);
+      try {
+        this.clinicService.saveOwner(owner);
+      } catch (OptimisticLockingFailureException ex) {
+        // The submitted version is stale; never overwrite the newer row
+        result.reject(PetclinicConstants.CONCURRENT_UPDATE_ERROR_CODE, PetclinicConstants.CONCURRENT_UPDATE_MESSAGE);
+        return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
+      }
       return "redirect:/owners/{ownerId}";
     }
   }
@@ -217,15 +327,29 @@ public class OwnerController {
   /**
    * Shows the details of an owner.
    *
+   * <p>
+   * Each pet lists only its latest visits, read for all pets with one
+   * query. The page carries an ETag derived from the owner and pet versions
+   * and those visits; a matching {@code If-None-Match} gets a 304 without
+   * rendering the view.
+   *
    * @param ownerId The ID of the owner to show.
-   * @return The view for the owner details.
+   * @param request The current request, used for the conditional check.
+   * @return The view for the owner details, or {@code null} if the client's
+   *         copy is current.
    */
   @GetMapping("/owners/{ownerId}")
-  public ModelAndView showOwner(@PathVariable("ownerId") Long ownerId) {
+  public ModelAndView showOwner(@PathVariable("ownerId") Long ownerId, WebRequest request) {
     ModelAndView mav = new ModelAndView("owners/ownerDetails");
     Owner owner = this.clinicService.findOwnerById(ownerId);
     if (owner != null) {
+      List<Long> petIds = owner.getPets().stream().map(Pet::getId).toList();
+      Map<Long, List<Visit>> latestVisits = this.clinicService.findLatestVisits(petIds, visitsPerPet);
+      if (request.checkNotModified(EntityTags.owner(owner, latestVisits))) {
+        return null;
+      }
       mav.addObject(owner);
+      mav.addObject("latestVisits", latestVisits);
     }
     return mav;
   }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import java.io.IOException;
+import java.net.URI;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.service.OwnerImportJobs;
+import org.springframework.samples.petclinic.service.OwnerImportStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Controller for background owner and pet imports.
+ *
+ * <ul>
+ * <li>{@code POST /imports/owners} with
+ * {@code Content-Type: application/x-ndjson} stores the body and starts a
+ * job; the response is {@code 202 Accepted} with the job's status URL in
+ * {@code Location}.</li>
+ * <li>{@code GET /imports/owners/{jobId}} reports the job's progress.</li>
+ * <li>{@code POST /imports/owners/{jobId}/resume} restarts a failed job from
+ * its last checkpoint.</li>
+ * </ul>
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Controller
+public class OwnerImportController {
+
+  private final OwnerImportJobs importJobs;
+
+  /**
+   * Constructor to inject the import jobs.
+   *
+   * @param importJobs The background import jobs.
+   */
+  @Autowired
+  public OwnerImportController(OwnerImportJobs importJobs) {
+    this.importJobs = importJobs;
+  }
+
+  /**
+   * Starts an import of the request body.
+   *
+   * @param request The HTTP request.
+   * @return The queued job's status.
+   * @throws IOException If the body cannot be stored.
+   */
+  @PostMapping(value = "/imports/owners", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<OwnerImportStatus> startImport(HttpServletRequest request) throws IOException {
+    OwnerImportStatus status = importJobs.submit(request.getInputStream());
+    return ResponseEntity.accepted().location(statusUri(status)).body(status);
+  }
+
+  /**
+   * Reports the progress of an import.
+   *
+   * @param jobId The job id.
+   * @return The job status.
+   */
+  @GetMapping(value = "/imports/owners/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseBody
+  public OwnerImportStatus showImport(@PathVariable("jobId") String jobId) {
+    return importJobs.status(jobId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import " + jobId));
+  }
+
+  /**
+   * Resumes a failed import from its last checkpoint.
+   *
+   * @param jobId The job id.
+   * @return The job status.
+   * @throws IOException If the stored upload cannot be read.
+   */
+  @PostMapping(value = "/imports/owners/{jobId}/resume", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<OwnerImportStatus> resumeImport(@PathVariable("jobId") String jobId) throws IOException {
+    OwnerImportStatus status = importJobs.resume(jobId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import " + jobId));
+    return ResponseEntity.accepted().location(statusUri(status)).body(status);
+  }
+
+  private static URI statusUri(OwnerImportStatus status) {
+    return ServletUriComponentsBuilder.fromCurrentContextPath()
+        .path("/imports/owners/{jobId}")
+        .buildAndExpand(status.jobId())
+        .toUri();
+  }
+}
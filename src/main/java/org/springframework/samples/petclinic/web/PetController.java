@@ -15,15 +15,20 @@
  */
 package org.springframework.samples.petclinic.web;
 
+import java.sql.SQLException;
 import java.util.Collection;
 
 import jakarta.validation.Valid;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.service.ClinicService;
+import org.springframework.samples.petclinic.util.PetclinicConstants;
 import org.springframework.samples.petclinic.util.InputSanitizer;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
@@ -53,6 +58,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class PetController {
 
   private static final String VIEWS_PET_CREATE_OR_UPDATE_FORM = "pets/createOrUpdatePetForm";
+  /** Unique index on {@code pets (owner_id, lower(name))}. */
+  static final String PET_NAME_CONSTRAINT = "uq_pets_owner_name";
+  /** SQLState of a unique violation. */
+  private static final String UNIQUE_VIOLATION = "23505";
   private final ClinicService clinicService;
 
   /**
@@ -138,10 +147,10 @@ public class PetController {
   @PostMapping("/pets/new")
   public String processCreationForm(
       Owner owner, @Valid Pet pet, BindingResult result, ModelMap model) {
-    // Check for duplicate pet names.
+    // Check for duplicate pet names in the database; the cached owner's pets are not loaded for this.
     if (StringUtils.hasLength(pet.getName())
         && pet.isNew()
-        && owner.getPet(pet.getName(), true) != null) {
+        && findPetIdByName(owner, pet.getName()) != null) {
       result.rejectValue("name", "duplicate", "already exists");
     }
     owner.addPet(pet);
@@ -151,7 +160,11 @@ public class PetController {
     } else {
       // Sanitize input before saving.
       pet.setName(InputSanitizer.sanitize(pet.getName()));
-      this.clinicService.savePet(pet);
+      try {
+        this.clinicService.savePet(pet);
+      } catch (DataIntegrityViolationException ex) {
+        return rejectDuplicateName(ex, pet, result, model);
+      }
       return "redirect:/owners/{ownerId}";
     }
   }
@@ -166,7 +179,8 @@ public class PetController {
    */
   @GetMapping("/pets/{petId}/edit")
   public String initUpdateForm(@PathVariable("petId") Long petId, ModelMap model) {
-    Pet pet = this.clinicService.findPetById(petId);
+    // Not from the petDetails cache: a stale version would fail on submit
+    Pet pet = this.clinicService.findPetForUpdate(petId);
     if (pet == null) {
       throw new IllegalArgumentException("Pet not found with id: " + petId);
     }
@@ -177,15 +191,27 @@ public class PetController {
   /**
    * Processes the pet update form.
    *
+   * <p>
+   * The form posts back the pet's {@code version}; if someone else saved the
+   * pet in the meantime, the form is shown again with an error instead of
+   * overwriting their change.
+   *
    * @param pet    The pet to update.
    * @param result The binding result.
    * @param owner  The owner of the pet.
+   * @param petId  The ID of the pet to update.
    * @param model  The model.
    * @return The view to redirect to after updating.
    */
   @PostMapping("/pets/{petId}/edit")
   public String processUpdateForm(
-      @Valid Pet pet, BindingResult result, Owner owner, ModelMap model) {
+      @Valid Pet pet, BindingResult result, Owner owner, @PathVariable("petId") Long petId, ModelMap model) {
+    // The id is not bound from the form; take it from the path so the save updates this pet
+    pet.setId(petId);
+    Long sameName = StringUtils.hasLength(pet.getName()) ? findPetIdByName(owner, pet.getName()) : null;
+    if (sameName != null && !sameName.equals(petId)) {
+      result.rejectValue("name", "duplicate", "already exists");
+    }
     if (result.hasErrors()) {
       pet.setOwner(owner);
       model.put("pet", pet);
@@ -194,8 +220,54 @@ public class PetController {
       owner.addPet(pet);
       // Sanitize input before saving.
       pet.setName(InputSanitizer.sanitize(pet.getName()));
-      this.clinicService.savePet(pet);
+      try {
+        this.clinicService.savePet(pet);
+      } catch (OptimisticLockingFailureException ex) {
+        // The submitted version is stale; never overwrite the newer row
+        result.reject(PetclinicConstants.CONCURRENT_UPDATE_ERROR_CODE, PetclinicConstants.CONCURRENT_UPDATE_MESSAGE);
+        model.put("pet", pet);
+        return VIEWS_PET_CREATE_OR_UPDATE_FORM;
+      } catch (DataIntegrityViolationException ex) {
+        return rejectDuplicateName(ex, pet, result, model);
+      }
       return "redirect:/owners/{ownerId}";
     }
   }
+
+  private Long findPetIdByName(Owner owner, String name) {
+    return owner.isNew() ? null : this.clinicService.findPetIdByName(owner.getId(), name);
+  }
+
+  /**
+   * Turns a violation of the {@code (owner_id, lower(name))} unique index,
+   * raised when another request saved the same name since the check above,
+   * into a form error. Other integrity violations are rethrown.
+   */
+  private static String rejectDuplicateName(DataIntegrityViolationException ex, Pet pet, BindingResult result,
+      ModelMap model) {
+    if (!isPetNameViolation(ex)) {
+      throw ex;
+    }
+    result.rejectValue("name", "duplicate", "already exists");
+    model.put("pet", pet);
+    return VIEWS_PET_CREATE_OR_UPDATE_FORM;
+  }
+
+  /**
+   * Identifies the violated constraint by the name Hibernate extracted from
+   * the driver error; without a name, any unique violation (SQLState 23505)
+   * on a pet save can only be the pet name index.
+   */
+  static boolean isPetNameViolation(DataIntegrityViolationException ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+        String name = violation.getConstraintName();
+        return PET_NAME_CONSTRAINT.equalsIgnoreCase(name.substring(name.lastIndexOf('.') + 1));
+      }
+      if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -15,11 +15,19 @@
  */
 package org.springframework.samples.petclinic.web;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.http.CacheControl;
 import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
 
 /**
  * Interceptor that adds security-related HTTP headers to every response.
@@ -30,16 +38,84 @@ import org.springframework.web.servlet.HandlerInterceptor;
  * <li>X-Frame-Options: DENY</li>
  * <li>X-XSS-Protection: 1; mode=block</li>
  * <li>X-Content-Type-Options: nosniff</li>
- * <li>Cache-Control: no-cache, no-store, max-age=0, must-revalidate</li>
- * <li>Pragma: no-cache</li>
+ * <li>Cache-Control: per route, see below</li>
  * </ul>
  *
+ * <p>
+ * {@code Cache-Control} follows a per-route policy: an ordered map from Ant
+ * path patterns to header values, first match wins. Routes without a policy
+ * get {@value #NO_STORE} plus {@code Pragma: no-cache}, so pages with owner
+ * data are never stored unless a route opts in. A {@code null} value leaves
+ * the header to the handler, e.g. the static resource handler and its cache
+ * period. See {@link #defaultCacheControlPolicy()}.
+ *
  * @author Spring Petclinic Team
  * @version 2.0.0
  * @since 2.0.0
  */
 public class SecurityHeadersInterceptor implements HandlerInterceptor {
 
+  /** Cache-Control for routes without a policy. */
+  public static final String NO_STORE = "no-cache, no-store, max-age=0, must-revalidate";
+
+  private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final Map<String, String> cacheControlPolicy;
+
+  /**
+   * Creates the interceptor with the {@linkplain #defaultCacheControlPolicy()
+   * default policy}.
+   */
+  public SecurityHeadersInterceptor() {
+    this(defaultCacheControlPolicy());
+  }
+
+  /**
+   * Creates the interceptor with the given policy.
+   *
+   * @param cacheControlPolicy Ant path patterns mapped to Cache-Control values,
+   *                           checked in iteration order; {@code null} values
+   *                           leave the header to the handler
+   */
+  public SecurityHeadersInterceptor(Map<String, String> cacheControlPolicy) {
+    this.cacheControlPolicy = new LinkedHashMap<>(cacheControlPolicy);
+  }
+
+  /**
+   * Returns the default policy.
+   *
+   * <ul>
+   * <li>Static resources and WebJars: left to the resource handler.</li>
+   * <li>Vet list in every format: {@code no-cache, public}; shared caches may
+   * store it and revalidate with the ETag.</li>
+   * <li>Owner details: {@code no-cache, private}; only the browser may store
+   * the page, which lets it revalidate with the ETag.</li>
+   * </ul>
+   *
+   * @return a new, ordered policy map
+   */
+  public static Map<String, String> defaultCacheControlPolicy() {
+    Map<String, String> policy = new LinkedHashMap<>();
+    policy.put("/resources/**", null);
+    policy.put("/webjars/**", null);
+    String revalidatePublic = CacheControl.noCache().cachePublic().getHeaderValue();
+    policy.put("/vets.html", revalidatePublic);
+    policy.put("/vets.json", revalidatePublic);
+    policy.put("/vets.xml", revalidatePublic);
+    policy.put("/vets.pdf", revalidatePublic);
+    policy.put("/owners/{ownerId:\\d+}", CacheControl.noCache().cachePrivate().getHeaderValue());
+    return policy;
+  }
+
+  /**
+   * Returns the configured policy.
+   *
+   * @return an unmodifiable view of the policy
+   */
+  public Map<String, String> getCacheControlPolicy() {
+    return Collections.unmodifiableMap(cacheControlPolicy);
+  }
+
   /**
    * Adds security headers to the response before the handler is executed.
    *
@@ -57,8 +133,17 @@ public class SecurityHeadersInterceptor implements HandlerInterceptor {
     response.addHeader("X-XSS-Protection", "1; mode=block");
     // Prevents the browser from MIME-sniffing the content type.
     response.addHeader("X-Content-Type-Options", "nosniff");
+    String path = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+    for (Map.Entry<String, String> route : cacheControlPolicy.entrySet()) {
+      if (PATH_MATCHER.match(route.getKey(), path)) {
+        if (route.getValue() != null) {
+          response.setHeader("Cache-Control", route.getValue());
+        }
+        return true;
+      }
+    }
     // Disables caching.
-    response.addHeader("Cache-Control", "no-cache, no-store, max-age=0, must-revalidate");
+    response.addHeader("Cache-Control", NO_STORE);
     response.addHeader("Pragma", "no-cache");
     return true;
   }
@@ -14,18 +14,22 @@
  * limitations under the License.
  */
 package org.springframework.samples.petclinic.web;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.pdf.PdfWriter;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.samples.petclinic.model.Vet;
 import org.springframework.samples.petclinic.model.Vets;
 import org.springframework.samples.petclinic.service.ClinicService;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for Vet-related actions.
@@ -42,15 +46,18 @@ import org.springframework.web.bind.annotation.ResponseBody;
 public class VetController {
 
   private final ClinicService clinicService;
+  private final VetListPdfRenderer pdfRenderer;
 
   /**
    * Constructor to inject the ClinicService.
   *
   * @param clinicService The clinic service.
+  * @param pdfRenderer   The vet list PDF renderer.
   */
   @Autowired
-  public VetController(ClinicService clinicService) {
+  public VetController(ClinicService clinicService, VetListPdfRenderer pdfRenderer) {
     this.clinicService = clinicService;
+    this.pdfRenderer = pdfRenderer;
   }
 
   /**
@@ -73,59 +80,59 @@ public class VetController {
   /**
    * Shows the list of veterinarians in JSON or XML format.
    *
-   * @return The Vets object, which will be marshalled to JSON or XML.
+   * @param request The current request, used for the conditional check.
+   * @return The Vets object, which will be marshalled to JSON or XML, or
+   *         {@code null} if the client's copy is current.
    */
   @GetMapping(value = "/vets.json", produces = "application/json")
   @ResponseBody
-  public Vets showResourcesVetListJson() {
-    Vets vets = new Vets();
-    vets.getVetList().addAll(this.clinicService.findVets());
-    return vets;
+  public Vets showResourcesVetListJson(WebRequest request) {
+    return vetsIfModified(request);
   }
 
   @GetMapping(value = "/vets.xml", produces = "application/xml")
   @ResponseBody
-  public Vets showResourcesVetListXml() {
-    Vets vets = new Vets();
-    vets.getVetList().addAll(this.clinicService.findVets());
-    return vets;
+  public Vets showResourcesVetListXml(WebRequest request) {
+    return vetsIfModified(request);
   }
 
   /**
    * Generates a PDF of the veterinarians list.
+   *
+   * <p>
+   * The ETag is derived from the vet data; a matching {@code If-None-Match}
+   * gets a 304 without rendering, and an unchanged document is served from the
+   * renderer's cache.
+   *
+   * @param request  The current request, used for the conditional check.
+   * @param response The HTTP response.
+   * @throws IOException If writing to the client fails.
    */
   @GetMapping(value = "/vets.pdf", produces = "application/pdf")
-  @ResponseBody
-  public void showVetListPdf(jakarta.servlet.http.HttpServletResponse response) {
-    Vets vets = new Vets();
-    vets.getVetList().addAll(this.clinicService.findVets());
+  public void showVetListPdf(ServletWebRequest request, HttpServletResponse response) throws IOException {
+    Collection<Vet> vets = this.clinicService.findVets();
+    String etag = EntityTags.vets(vets);
+    if (request.checkNotModified(etag)) {
+      return;
+    }
     response.setContentType("application/pdf");
     response.setHeader("Content-Disposition", "attachment; filename=vets.pdf");
-    try {
-      Document document = new Document();
-      PdfWriter.getInstance(document, response.getOutputStream());
-      document.open();
-      document.add(new Paragraph("Veterinarians List"));
-      com.itextpdf.text.pdf.PdfPTable table = new com.itextpdf.text.pdf.PdfPTable(2);
-      table.addCell("Name");
-      table.addCell("Specialties");
-      for (org.springframework.samples.petclinic.model.Vet vet : vets.getVetList()) {
-        table.addCell(vet.getFirstName() + " " + vet.getLastName());
-        if (vet.getSpecialties().isEmpty()) {
-          table.addCell("none");
-        } else {
-          StringBuilder sb = new StringBuilder();
-          for (org.springframework.samples.petclinic.model.Specialty s : vet.getSpecialties()) {
-            if (sb.length() > 0) sb.append(", ");
-            sb.append(s.getName());
-          }
-          table.addCell(sb.toString());
-        }
-      }
-      document.add(table);
-      document.close();
-    } catch (Exception e) {
-      throw new RuntimeException("Error generating PDF", e);
+    byte[] pdf = this.pdfRenderer.cached(etag);
+    if (pdf != null) {
+      response.setContentLength(pdf.length);
+      response.getOutputStream().write(pdf);
+      return;
     }
+    this.pdfRenderer.render(vets, etag, response.getOutputStream());
+  }
+
+  private Vets vetsIfModified(WebRequest request) {
+    Collection<Vet> found = this.clinicService.findVets();
+    if (request.checkNotModified(EntityTags.vets(found))) {
+      return null;
+    }
+    Vets vets = new Vets();
+    vets.getVetList().addAll(found);
+    return vets;
   }
 }
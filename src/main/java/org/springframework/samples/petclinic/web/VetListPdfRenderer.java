@@ -0,0 +1,185 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+/**
+ * Renders the vet list PDF and keeps the last rendered document.
+ *
+ * <p>
+ * The document is identified by the vet list ETag ({@link EntityTags#vets}),
+ * which is computed from the vet data itself, so it changes whenever the
+ * {@code vets} cache is refreshed with different data and no explicit eviction
+ * hook is needed. The last document is kept as bytes and served as-is while
+ * its ETag still matches.
+ *
+ * <p>
+ * The table is rendered with {@link PdfPTable#setComplete(boolean)} set to
+ * {@code false} and added to the document every {@link #ROWS_PER_CHUNK} rows,
+ * so finished pages are written to the output stream and dropped from memory
+ * instead of building the whole table first. Documents larger than
+ * {@code vets.pdf.cache.max-bytes} are streamed but not kept.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Component
+public class VetListPdfRenderer {
+
+  /** Table rows added to the document per chunk. */
+  static final int ROWS_PER_CHUNK = 50;
+
+  private final int maxCachedBytes;
+  private final AtomicReference<RenderedPdf> lastRendered = new AtomicReference<>();
+
+  /**
+   * Creates the renderer.
+   *
+   * @param maxCachedBytes the largest document kept in memory
+   */
+  @Autowired
+  public VetListPdfRenderer(@Value("${vets.pdf.cache.max-bytes:1048576}") int maxCachedBytes) {
+    this.maxCachedBytes = maxCachedBytes;
+  }
+
+  /**
+   * Returns the kept document if it was rendered for the given ETag.
+   *
+   * @param etag the current ETag
+   * @return the PDF bytes, or {@code null} if not cached
+   */
+  public byte[] cached(String etag) {
+    RenderedPdf rendered = lastRendered.get();
+    return rendered != null && rendered.etag().equals(etag) ? rendered.content() : null;
+  }
+
+  /**
+   * Renders the PDF to the given stream and keeps it for the given ETag if it
+   * is small enough. The stream is not closed.
+   *
+   * @param vets the vets to list
+   * @param etag the ETag computed by {@link EntityTags#vets(Collection)}
+   * @param out  the target stream
+   * @throws IOException if writing to the stream fails
+   */
+  public void render(Collection<Vet> vets, String etag, OutputStream out) throws IOException {
+    CapturingOutputStream capture = new CapturingOutputStream(out, maxCachedBytes);
+    Document document = new Document();
+    try {
+      PdfWriter writer = PdfWriter.getInstance(document, capture);
+      writer.setCloseStream(false);
+      document.open();
+      document.add(new Paragraph("Veterinarians List"));
+      PdfPTable table = new PdfPTable(2);
+      table.setHeaderRows(1);
+      table.setComplete(false);
+      table.addCell("Name");
+      table.addCell("Specialties");
+      int rows = 0;
+      for (Vet vet : vets) {
+        table.addCell(vet.getFirstName() + " " + vet.getLastName());
+        table.addCell(vet.getNrOfSpecialties() == 0 ? "none" : specialties(vet));
+        if (++rows % ROWS_PER_CHUNK == 0) {
+          // Lays out the pending rows and releases them; the header row is kept
+          document.add(table);
+        }
+      }
+      table.setComplete(true);
+      document.add(table);
+      document.close();
+    } catch (DocumentException ex) {
+      throw new IOException("Error generating PDF", ex);
+    }
+    out.flush();
+    byte[] content = capture.captured();
+    if (content != null) {
+      lastRendered.set(new RenderedPdf(etag, content));
+    }
+  }
+
+  private static String specialties(Vet vet) {
+    return vet.getSpecialties().stream().map(Specialty::getName).collect(Collectors.joining(", "));
+  }
+
+  private record RenderedPdf(String etag, byte[] content) {
+  }
+
+  /**
+   * Passes bytes through and keeps a copy until the limit is exceeded.
+   */
+  private static final class CapturingOutputStream extends FilterOutputStream {
+
+    private final int limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    CapturingOutputStream(OutputStream out, int limit) {
+      super(out);
+      this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      capture(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      capture(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+
+    byte[] captured() {
+      return copy == null ? null : copy.toByteArray();
+    }
+
+    private void capture(byte[] b, int off, int len) {
+      if (copy == null) {
+        return;
+      }
+      if (copy.size() + len > limit) {
+        copy = null;
+      } else {
+        copy.write(b, off, len);
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import java.util.Map;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.service.ClinicService;
@@ -32,6 +33,7 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Controller for Visit-related actions.
@@ -47,6 +49,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 @Controller
 public class VisitController {
 
+  /** Number of previous visits per history page. */
+  static final int HISTORY_PAGE_SIZE = 20;
+
   private final ClinicService clinicService;
 
   /**
@@ -70,23 +75,32 @@ public class VisitController {
   }
 
   /**
-   * Loads the pet and creates a new visit for it.
+   * Loads the pet, one page of its visit history (newest first) and creates a
+   * new visit for it.
+   *
+   * <p>
+   * The new visit is linked to the pet without touching the pet's lazy visit
+   * collection, which is not loaded on a cached pet.
    *
    * @param petId The ID of the pet.
+   * @param page  The zero-based page of previous visits to show.
    * @param model The model.
    * @return The new visit.
    * @throws IllegalArgumentException if the pet is not found or the petId is null.
    */
   @ModelAttribute("visit")
-  public Visit loadPetWithVisit(@PathVariable("petId") Long petId, Map<String, Object> model) {
+  public Visit loadPetWithVisit(@PathVariable("petId") Long petId,
+      @RequestParam(name = "page", defaultValue = "0") int page, Map<String, Object> model) {
     if (petId != null) {
       Pet pet = this.clinicService.findPetById(petId);
       if (pet == null) {
         throw new IllegalArgumentException("Pet not found with id: " + petId);
       }
       model.put("pet", pet);
+      model.put("visits", this.clinicService.findVisitsByPetId(petId,
+          PageRequest.of(Math.max(page, 0), HISTORY_PAGE_SIZE)));
       Visit visit = new Visit();
-      pet.addVisit(visit);
+      visit.setPet(pet);
       return visit;
     }
     throw new IllegalArgumentException("petId must not be null");
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.service.VisitImportReport;
+import org.springframework.samples.petclinic.service.VisitImporter;
+import org.springframework.samples.petclinic.service.VisitImporter.Format;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller for bulk visit imports.
+ *
+ * <p>
+ * The request body is handed to the {@link VisitImporter} as a stream, so
+ * uploads of any size are parsed without buffering them first:
+ * <ul>
+ * <li>{@code POST /visits/import} with {@code Content-Type: text/csv}</li>
+ * <li>{@code POST /visits/import} with
+ * {@code Content-Type: application/x-ndjson}</li>
+ * </ul>
+ * The response is a JSON {@link VisitImportReport} listing imported and
+ * rejected rows.
+ *
+ * @author Spring Petclinic Team
+ * @version 2.0.0
+ * @since 2.0.0
+ */
+@Controller
+public class VisitImportController {
+
+  static final String TEXT_CSV = "text/csv";
+
+  private final VisitImporter importer;
+
+  /**
+   * Constructor to inject the importer.
+   *
+   * @param importer The visit importer.
+   */
+  @Autowired
+  public VisitImportController(VisitImporter importer) {
+    this.importer = importer;
+  }
+
+  /**
+   * Imports visits from a CSV body with a header line.
+   *
+   * @param request The HTTP request.
+   * @return The import report.
+   * @throws IOException If reading the request body fails.
+   */
+  @PostMapping(value = "/visits/import", consumes = TEXT_CSV, produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseBody
+  public VisitImportReport importCsv(HttpServletRequest request) throws IOException {
+    return importVisits(request, Format.CSV);
+  }
+
+  /**
+   * Imports visits from a newline-delimited JSON body.
+   *
+   * @param request The HTTP request.
+   * @return The import report.
+   * @throws IOException If reading the request body fails.
+   */
+  @PostMapping(value = "/visits/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseBody
+  public VisitImportReport importNdjson(HttpServletRequest request) throws IOException {
+    return importVisits(request, Format.NDJSON);
+  }
+
+  private VisitImportReport importVisits(HttpServletRequest request, Format format) throws IOException {
+    try {
+      return importer.importVisits(request.getInputStream(), format);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+  }
+}
@@ -16,7 +16,6 @@
 package org.springframework.samples.petclinic.web.formatters;
 
 import java.text.ParseException;
-import java.util.Collection;
 import java.util.Locale;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +23,7 @@ import org.springframework.format.Formatter;
 import org.springframework.lang.NonNull;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.service.ClinicService;
+import org.springframework.samples.petclinic.service.PetTypeCatalog;
 import org.springframework.stereotype.Component;
 
 /**
@@ -31,7 +31,8 @@ import org.springframework.stereotype.Component;
  *
  * <p>
  * Used by Spring MVC to convert between PetType objects and their
- * string representation (the name) in forms and views.
+ * string representation (the name) in forms and views. Parsing is a lookup in
+ * a {@link PetTypeCatalog} snapshot.
  *
  * @author Spring Petclinic Team
  * @version 2.0.0
@@ -40,16 +41,26 @@ import org.springframework.stereotype.Component;
 @Component
 public class PetTypeFormatter implements Formatter<PetType> {
 
-  private final ClinicService clinicService;
+  private final PetTypeCatalog petTypeCatalog;
 
   /**
-   * Constructor to inject the ClinicService.
+   * Constructor to inject the pet type catalog.
    *
-   * @param clinicService The clinic service.
+   * @param petTypeCatalog The pet type catalog.
    */
   @Autowired
+  public PetTypeFormatter(PetTypeCatalog petTypeCatalog) {
+    this.petTypeCatalog = petTypeCatalog;
+  }
+
+  /**
+   * Creates a formatter whose catalog reads the pet types once through the
+   * service.
+   *
+   * @param clinicService The clinic service.
+   */
   public PetTypeFormatter(ClinicService clinicService) {
-    this.clinicService = clinicService;
+    this(new PetTypeCatalog(clinicService));
   }
 
   /**
@@ -77,12 +88,10 @@ public class PetTypeFormatter implements Formatter<PetType> {
   @Override
   @NonNull
   public PetType parse(@NonNull String text, @NonNull Locale locale) throws ParseException {
-    Collection<PetType> findPetTypes = this.clinicService.findPetTypes();
-    for (PetType type : findPetTypes) {
-      if (type.getName().equals(text)) {
-        return type;
-      }
+    PetType type = this.petTypeCatalog.findByName(text);
+    if (type == null) {
+      throw new ParseException("type not found: " + text, 0);
     }
-    throw new ParseException("type not found: " + text, 0);
+    return type;
   }
 }
@@ -9,6 +9,7 @@
 -- 5. Compliance & Retention: Easy to implement data retention policies, e.g., keep only 7 years of audit logs.
 
 -- Drop tables if they exist (safe order)
+DROP TABLE IF EXISTS import_checkpoints CASCADE;
 DROP TABLE IF EXISTS audit_log CASCADE;
 DROP TABLE IF EXISTS visits CASCADE;
 DROP TABLE IF EXISTS pets CASCADE;
@@ -63,6 +64,8 @@ COMMENT ON TABLE types IS 'Pet types (cat, dog, bird, etc.)';
 -- =======================
 -- Owners table
 -- =======================
+-- owners, pets and visits carry a version column for optimistic locking
+-- (@Version). Existing databases: see migrateOptimisticLocking.sql.
 CREATE TABLE owners (
     id BIGSERIAL PRIMARY KEY,
     first_name VARCHAR(30) NOT NULL,
@@ -70,11 +73,23 @@ CREATE TABLE owners (
     address VARCHAR(255),
     city VARCHAR(80),
     telephone VARCHAR(20),
+    version INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
-CREATE INDEX idx_owners_last_name ON owners(last_name);
+-- (last_name, id) serves both the prefix search and keyset pagination.
+-- Existing databases: see migrateOwnerLastNameIndex.sql.
+CREATE INDEX idx_owners_last_name_id ON owners(last_name, id);
 CREATE INDEX idx_owners_city ON owners(city);
+-- Owner imports de-duplicate by telephone (OwnerImporter)
+CREATE INDEX idx_owners_telephone ON owners(telephone);
+-- Substring search over name, city and telephone (JdbcOwnerSearchRepository);
+-- the expression must match JdbcOwnerSearchRepository.SEARCH_EXPRESSION.
+-- Existing databases: see migrateOwnerSearch.sql.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_owners_search_trgm ON owners USING gin (
+    (lower(first_name || ' ' || last_name || ' ' || coalesce(city, '') || ' ' || coalesce(telephone, ''))) gin_trgm_ops
+);
 COMMENT ON TABLE owners IS 'Pet owners - PII data masked in logs';
 
 -- =======================
@@ -86,6 +101,7 @@ CREATE TABLE pets (
     birth_date DATE,
     type_id BIGINT NOT NULL,
     owner_id BIGINT NOT NULL,
+    version INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT chk_birth_date CHECK (birth_date <= CURRENT_DATE),
@@ -93,7 +109,8 @@ CREATE TABLE pets (
     FOREIGN KEY (type_id) REFERENCES types(id)
 );
 CREATE INDEX idx_pets_name ON pets(name);
-CREATE INDEX idx_pets_owner_id ON pets(owner_id);
+-- Pet names are unique per owner, ignoring case; also serves owner_id lookups
+CREATE UNIQUE INDEX uq_pets_owner_name ON pets(owner_id, lower(name));
 CREATE INDEX idx_pets_type_id ON pets(type_id);
 
 -- =======================
@@ -104,6 +121,7 @@ CREATE TABLE visits (
     pet_id BIGINT NOT NULL,
     visit_date DATE NOT NULL,
     description VARCHAR(255),
+    version INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     PRIMARY KEY (id, visit_date),
     FOREIGN KEY (pet_id) REFERENCES pets(id) ON DELETE CASCADE
@@ -116,16 +134,16 @@ CREATE TABLE visits_2025 PARTITION OF visits FOR VALUES FROM ('2025-01-01') TO (
 CREATE TABLE visits_default PARTITION OF visits DEFAULT;
 
 -- Indexes on partitions
-CREATE INDEX idx_visits_pet_id_2023 ON visits_2023(pet_id);
+CREATE INDEX idx_visits_pet_id_date_2023 ON visits_2023(pet_id, visit_date DESC);
 CREATE INDEX idx_visits_date_2023 ON visits_2023(visit_date);
 
-CREATE INDEX idx_visits_pet_id_2024 ON visits_2024(pet_id);
+CREATE INDEX idx_visits_pet_id_date_2024 ON visits_2024(pet_id, visit_date DESC);
 CREATE INDEX idx_visits_date_2024 ON visits_2024(visit_date);
 
-CREATE INDEX idx_visits_pet_id_2025 ON visits_2025(pet_id);
+CREATE INDEX idx_visits_pet_id_date_2025 ON visits_2025(pet_id, visit_date DESC);
 CREATE INDEX idx_visits_date_2025 ON visits_2025(visit_date);
 
-CREATE INDEX idx_visits_pet_id_default ON visits_default(pet_id);
+CREATE INDEX idx_visits_pet_id_date_default ON visits_default(pet_id, visit_date DESC);
 CREATE INDEX idx_visits_date_default ON visits_default(visit_date);
 
 -- =======================
@@ -164,6 +182,10 @@ BEGIN
                 lpad(m::text,2,'0'), next_year
             );
         END IF;
+        -- Indexes on audit_log partitions
+        EXECUTE format('CREATE INDEX idx_audit_entity_2024_%1$s ON audit_log_2024_%1$s(entity_type, entity_id);', lpad(m::text,2,'0'));
+        EXECUTE format('CREATE INDEX idx_audit_timestamp_2024_%1$s ON audit_log_2024_%1$s(timestamp);', lpad(m::text,2,'0'));
+        EXECUTE format('CREATE INDEX idx_audit_trace_id_2024_%1$s ON audit_log_2024_%1$s(trace_id);', lpad(m::text,2,'0'));
     END LOOP;
 END;
 $$;
@@ -171,10 +193,43 @@ $$;
 -- Default partition
 CREATE TABLE audit_log_default PARTITION OF audit_log DEFAULT;
 
--- Indexes on audit_log partitions
-CREATE INDEX idx_audit_entity_2024_01 ON audit_log_2024_01(entity_type, entity_id);
-CREATE INDEX idx_audit_timestamp_2024_01 ON audit_log_2024_01(timestamp);
-CREATE INDEX idx_audit_trace_id_2024_01 ON audit_log_2024_01(trace_id);
+CREATE INDEX idx_audit_entity_default ON audit_log_default(entity_type, entity_id);
+CREATE INDEX idx_audit_timestamp_default ON audit_log_default(timestamp);
+CREATE INDEX idx_audit_trace_id_default ON audit_log_default(trace_id);
+
+-- Later partitions are created ahead of time, indexed and detached after
+-- retention by PartitionManager (partition.* properties).
 
 COMMENT ON TABLE audit_log IS 'Audit trail for CRUD operations - 7 year retention';
 COMMENT ON COLUMN audit_log.trace_id IS 'Distributed tracing ID from OTEL bridge';
+
+-- =======================
+-- Import checkpoints
+-- =======================
+-- One row per background owner import; updated in the same transaction as
+-- each imported chunk, so a restarted job resumes after the last committed
+-- line (OwnerImporter). The state lets any node report the job's status.
+CREATE TABLE import_checkpoints (
+    job_id VARCHAR(36) PRIMARY KEY,
+    line BIGINT NOT NULL,
+    owners_imported BIGINT NOT NULL,
+    owners_merged BIGINT NOT NULL,
+    pets_imported BIGINT NOT NULL,
+    rejected BIGINT NOT NULL,
+    state VARCHAR(16) NOT NULL DEFAULT 'RUNNING',
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- =======================
+-- Id sequences
+-- =======================
+-- Hibernate allocates ids from <table>_id_seq 50 at a time (pooled-lo), so
+-- inserts can be batched; the BIGSERIAL defaults keep serving plain SQL
+-- inserts. Existing databases: see migratePooledSequences.sql.
+ALTER SEQUENCE vets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE specialties_id_seq INCREMENT BY 50;
+ALTER SEQUENCE types_id_seq INCREMENT BY 50;
+ALTER SEQUENCE owners_id_seq INCREMENT BY 50;
+ALTER SEQUENCE pets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE visits_id_seq INCREMENT BY 50;
+ALTER SEQUENCE audit_log_id_seq INCREMENT BY 50;
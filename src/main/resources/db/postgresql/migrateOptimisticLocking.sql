@@ -0,0 +1,14 @@
+-- =====================================================
+-- Spring Petclinic: optimistic locking
+-- =====================================================
+-- Run once on databases created before owners, pets and visits carried a
+-- @Version column. Hibernate reads and writes version on every statement for
+-- these entities, and ddl-auto=validate refuses to start without it. Adding a
+-- column with a constant default only updates the catalog, so existing rows
+-- are not rewritten; on the partitioned visits table the column is added to
+-- every partition.
+BEGIN;
+ALTER TABLE owners ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE visits ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+COMMIT;
@@ -0,0 +1,22 @@
+-- =====================================================
+-- Spring Petclinic: owner import support
+-- =====================================================
+-- Run once on databases created before the background owner import. Adds the
+-- telephone index used to de-duplicate imported owners and the checkpoint
+-- table that lets an interrupted import resume. CREATE INDEX CONCURRENTLY
+-- cannot run inside a transaction block, so this script has none.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_owners_telephone ON owners(telephone);
+
+CREATE TABLE IF NOT EXISTS import_checkpoints (
+    job_id VARCHAR(36) PRIMARY KEY,
+    line BIGINT NOT NULL,
+    owners_imported BIGINT NOT NULL,
+    owners_merged BIGINT NOT NULL,
+    pets_imported BIGINT NOT NULL,
+    rejected BIGINT NOT NULL,
+    state VARCHAR(16) NOT NULL DEFAULT 'RUNNING',
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Tables created before the job state was recorded
+ALTER TABLE import_checkpoints ADD COLUMN IF NOT EXISTS state VARCHAR(16) NOT NULL DEFAULT 'RUNNING';
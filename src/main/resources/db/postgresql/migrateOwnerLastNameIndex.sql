@@ -0,0 +1,12 @@
+-- =====================================================
+-- Spring Petclinic: owner last name index
+-- =====================================================
+-- Run once on databases created before owner keyset pagination. Replaces the
+-- single-column idx_owners_last_name with idx_owners_last_name_id on
+-- (last_name, id), which serves both the last name prefix search and the
+-- "last_name, id" keyset order. The new index is built before the old one is
+-- dropped, so searches stay indexed throughout. CREATE/DROP INDEX
+-- CONCURRENTLY cannot run inside a transaction block, so this script has none.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_owners_last_name_id ON owners(last_name, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_owners_last_name;
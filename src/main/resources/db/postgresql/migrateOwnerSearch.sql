@@ -0,0 +1,16 @@
+-- =====================================================
+-- Spring Petclinic: owner free-text search
+-- =====================================================
+-- Run once on databases created before the owner search. Installs pg_trgm,
+-- which provides word_similarity(), and builds the trigram index that answers
+-- the search's LIKE predicates; without it every search scans the owners
+-- table. The indexed expression must match
+-- JdbcOwnerSearchRepository.SEARCH_EXPRESSION exactly, or the planner does not
+-- use the index. Creating the extension needs the CREATE privilege on the
+-- database. CREATE INDEX CONCURRENTLY cannot run inside a transaction block,
+-- so this script has none.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_owners_search_trgm ON owners USING gin (
+    (lower(first_name || ' ' || last_name || ' ' || coalesce(city, '') || ' ' || coalesce(telephone, ''))) gin_trgm_ops
+);
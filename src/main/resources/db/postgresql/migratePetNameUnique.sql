@@ -0,0 +1,16 @@
+-- =====================================================
+-- Spring Petclinic: unique pet names per owner
+-- =====================================================
+-- Run once on databases created before pet names were unique per owner.
+-- Replaces idx_pets_owner_id with a unique index on (owner_id, lower(name)),
+-- which still serves lookups by owner. Building the index fails if an owner
+-- already has two pets whose names differ only in case; list them with
+--
+--   SELECT owner_id, lower(name), array_agg(id) FROM pets
+--   GROUP BY owner_id, lower(name) HAVING count(*) > 1;
+--
+-- and rename one of each pair first. CREATE/DROP INDEX CONCURRENTLY cannot
+-- run inside a transaction block, so this script has none.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_pets_owner_name ON pets(owner_id, lower(name));
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_pets_owner_id;
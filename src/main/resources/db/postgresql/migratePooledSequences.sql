@@ -0,0 +1,19 @@
+-- =====================================================
+-- Spring Petclinic: IDENTITY -> pooled sequence ids
+-- =====================================================
+-- Run once on databases created before ids moved from IDENTITY to SEQUENCE
+-- generation. Hibernate now reserves 50 ids per nextval() from the sequences
+-- behind the BIGSERIAL columns (pooled-lo: nextval() returns the first id
+-- of the block). Changing the increment keeps each sequence's current value,
+-- so every id handed out afterwards is above the existing rows and no setval()
+-- is needed. Column defaults still work for plain SQL inserts; each such
+-- insert consumes a block of 50 ids.
+BEGIN;
+ALTER SEQUENCE vets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE specialties_id_seq INCREMENT BY 50;
+ALTER SEQUENCE types_id_seq INCREMENT BY 50;
+ALTER SEQUENCE owners_id_seq INCREMENT BY 50;
+ALTER SEQUENCE pets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE visits_id_seq INCREMENT BY 50;
+ALTER SEQUENCE audit_log_id_seq INCREMENT BY 50;
+COMMIT;
@@ -0,0 +1,26 @@
+-- =====================================================
+-- Spring Petclinic: visit history index
+-- =====================================================
+-- Run once on databases created before visit history was paged. Replaces the
+-- pet_id index of every visits partition with (pet_id, visit_date DESC), which
+-- serves both the newest-first history page and the latest-visits-per-pet
+-- query of the owner page without a sort. PartitionManager creates the same
+-- index on partitions it adds later.
+DO $$
+DECLARE
+    part RECORD;
+    suffix TEXT;
+BEGIN
+    FOR part IN
+        SELECT child.relname AS name
+        FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'visits'
+    LOOP
+        suffix := substring(part.name FROM length('visits_') + 1);
+        EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I (pet_id, visit_date DESC)',
+            'idx_visits_pet_id_date_' || suffix, part.name);
+        EXECUTE format('DROP INDEX IF EXISTS %I', 'idx_visits_pet_id_' || suffix);
+    END LOOP;
+END $$;
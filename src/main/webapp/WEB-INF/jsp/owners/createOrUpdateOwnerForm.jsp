@@ -21,6 +21,10 @@
         </h2>
 
         <form:form modelAttribute="owner" class="form-horizontal" id="add-owner-form">
+            <form:errors element="div" cssClass="alert alert-danger" />
+            <c:if test="${!owner['new']}">
+                <form:hidden path="version" />
+            </c:if>
             <div class="mb-3 row">
                 <label class="col-sm-2 col-form-label">First Name</label>
                 <div class="col-sm-10">
@@ -25,11 +25,13 @@
                 <label class="col-sm-2 col-form-label">Last name</label>
                 <div class="col-sm-10">
                     <div class="input-group">
-                        <form:input class="form-control" path="lastName" size="30" maxlength="80" />
+                        <form:input class="form-control" path="lastName" size="30" maxlength="80"
+                            autocomplete="off" />
                         <span class="help-inline">
                             <form:errors path="*" cssClass="text-danger" />
                         </span>
                     </div>
+                    <div class="list-group" id="owner-suggestions"></div>
                 </div>
             </div>
             <div class="row mb-3">
@@ -43,6 +45,39 @@
         <spring:url value="/owners/new" var="addOwnerUrl" htmlEscape="true"/>
         <a class="btn btn-secondary" href='${addOwnerUrl}'>Add Owner</a>
 
+        <spring:url value="/owners/typeahead" var="typeaheadUrl" />
+        <spring:url value="/owners/" var="ownerUrl" />
+        <script>
+            // Suggests owner names from the in-memory typeahead index as the user types
+            (function () {
+                var input = document.getElementById('lastName');
+                var list = document.getElementById('owner-suggestions');
+                var pending;
+                input.addEventListener('input', function () {
+                    clearTimeout(pending);
+                    var prefix = input.value.trim();
+                    if (prefix.length < 2) {
+                        list.replaceChildren();
+                        return;
+                    }
+                    pending = setTimeout(function () {
+                        fetch('${typeaheadUrl}?q=' + encodeURIComponent(prefix))
+                            .then(function (response) { return response.json(); })
+                            .then(function (suggestions) {
+                                list.replaceChildren();
+                                suggestions.forEach(function (suggestion) {
+                                    var link = document.createElement('a');
+                                    link.className = 'list-group-item list-group-item-action';
+                                    link.href = '${ownerUrl}' + suggestion.id;
+                                    link.textContent = suggestion.name;
+                                    list.appendChild(link);
+                                });
+                            });
+                    }, 100);
+                });
+            })();
+        </script>
+
         <jsp:include page="../fragments/footer.jsp" />
     </div>
 
@@ -90,7 +90,7 @@
                                 </tr>
                             </thead>
                             <tbody>
-                                <c:forEach var="visit" items="${pet.visits}">
+                                <c:forEach var="visit" items="${latestVisits[pet.id]}">
                                     <tr>
                                         <td>
                                             <c:out value="${visit.date}" />
@@ -90,6 +90,33 @@
                         </ul>
                     </nav>
                 </c:if>
+                <%-- Keyset mode: cursor links instead of page numbers --%>
+                <c:if test="${not empty firstPage and (not firstPage or not empty nextCursor)}">
+                    <nav aria-label="Page navigation">
+                        <ul class="pagination">
+                            <c:if test="${not firstPage}">
+                                <li class="page-item">
+                                    <spring:url value="/owners" var="firstPageUrl">
+                                        <spring:param name="lastName" value="${param.lastName}" />
+                                    </spring:url>
+                                    <a class="page-link" href="${firstPageUrl}">First</a>
+                                </li>
+                            </c:if>
+                            <c:if test="${not empty nextCursor}">
+                                <li class="page-item">
+                                    <spring:url value="/owners" var="nextCursorUrl">
+                                        <spring:param name="lastName" value="${param.lastName}" />
+                                        <spring:param name="cursor" value="${nextCursor}" />
+                                    </spring:url>
+                                    <a class="page-link" href="${nextCursorUrl}">Next</a>
+                                </li>
+                            </c:if>
+                        </ul>
+                    </nav>
+                </c:if>
+                <c:if test="${not empty firstPage and not empty totalItems}">
+                    <span class="text-muted"><c:out value="${totalItems}" /> owners found</span>
+                </c:if>
             </div>
             <div>
                 <spring:url value="/owners/new" var="addOwnerUrl" htmlEscape="true" />
@@ -21,6 +21,10 @@
         </h2>
 
         <form:form modelAttribute="pet" class="form-horizontal">
+            <form:errors element="div" cssClass="alert alert-danger" />
+            <c:if test="${!pet['new']}">
+                <form:hidden path="version" />
+            </c:if>
             <div class="mb-3 row">
                 <label class="col-sm-2 col-form-label">Owner</label>
                 <div class="col-sm-10">
@@ -81,20 +81,37 @@
                     <th>Date</th>
                     <th>Description</th>
                 </tr>
-                <c:forEach var="visit" items="${pet.visits}">
-                    <c:if test="${!visit['new']}">
-                        <tr>
-                            <td>
-                                <c:out value="${visit.date}" />
-                            </td>
-                            <td>
-                                <c:out value="${visit.description}" />
-                            </td>
-                        </tr>
-                    </c:if>
+                <c:forEach var="previousVisit" items="${visits.content}">
+                    <tr>
+                        <td>
+                            <c:out value="${previousVisit.date}" />
+                        </td>
+                        <td>
+                            <c:out value="${previousVisit.description}" />
+                        </td>
+                    </tr>
                 </c:forEach>
             </table>
         </div>
+        <c:if test="${visits.totalPages > 1}">
+            <nav aria-label="Previous visits pages">
+                <ul class="pagination">
+                    <c:if test="${visits.hasPrevious()}">
+                        <li class="page-item">
+                            <a class="page-link" href="?page=${visits.number - 1}">Newer</a>
+                        </li>
+                    </c:if>
+                    <li class="page-item disabled">
+                        <span class="page-link">Page ${visits.number + 1} of ${visits.totalPages}</span>
+                    </li>
+                    <c:if test="${visits.hasNext()}">
+                        <li class="page-item">
+                            <a class="page-link" href="?page=${visits.number + 1}">Older</a>
+                        </li>
+                    </c:if>
+                </ul>
+            </nav>
+        </c:if>
 
         <jsp:include page="../fragments/footer.jsp" />
     </div>
@@ -25,17 +25,17 @@ import org.aspectj.lang.JoinPoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.samples.petclinic.model.Owner;
-import org.springframework.samples.petclinic.repository.AuditLogRepository;
+import org.springframework.samples.petclinic.service.AsyncAuditLogWriter;
 
 class AuditLoggingAspectTests {
 
-  private AuditLogRepository auditLogRepository;
+  private AsyncAuditLogWriter auditLogWriter;
   private AuditLoggingAspect aspect;
 
   @BeforeEach
   void setup() {
-    auditLogRepository = mock(AuditLogRepository.class);
-    aspect = new AuditLoggingAspect(auditLogRepository);
+    auditLogWriter = mock(AsyncAuditLogWriter.class);
+    aspect = new AuditLoggingAspect(auditLogWriter);
   }
 
   @Test
@@ -48,7 +48,7 @@ class AuditLoggingAspectTests {
 
     aspect.logSave(joinPoint, owner);
 
-    verify(auditLogRepository, times(1)).save(any());
+    verify(auditLogWriter, times(1)).submit(any());
   }
 
   @Test
@@ -58,7 +58,7 @@ class AuditLoggingAspectTests {
 
     aspect.logSave(joinPoint, "NotAnEntity");
 
-    verify(auditLogRepository, times(0)).save(any());
+    verify(auditLogWriter, times(0)).submit(any());
   }
 }
 
@@ -15,12 +15,15 @@
  */
 package org.springframework.samples.petclinic.aspect;
 
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -62,6 +65,42 @@ class LoggingAspectTests {
           aspect.logAround(joinPoint);
         });
   }
-}
 
+  @Test
+  void logAroundShouldOnlyProceedWhenDisabled() throws Throwable {
+    LoggingAspect aspect = new LoggingAspect();
+    aspect.setEnabled(false);
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    when(joinPoint.proceed()).thenReturn("Success");
+
+    Assertions.assertEquals("Success", aspect.logAround(joinPoint));
+    verify(joinPoint).proceed();
+    verifyNoMoreInteractions(joinPoint);
+  }
+
+  @Test
+  void logAroundShouldNameSlowCallsFromTheMethod() throws Throwable {
+    LoggingAspect aspect = new LoggingAspect();
+    aspect.setSlowThresholdMs(1);
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    MethodSignature signature = mock(MethodSignature.class);
+    when(joinPoint.getSignature()).thenReturn(signature);
+    when(signature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+    when(joinPoint.proceed()).thenAnswer(invocation -> {
+      Thread.sleep(5);
+      return "Slow";
+    });
+
+    Assertions.assertEquals("Slow", aspect.logAround(joinPoint));
+    verify(signature, atLeastOnce()).getMethod();
+  }
+
+  @Test
+  void slowThresholdShouldNotBeNegative() {
+    LoggingAspect aspect = new LoggingAspect();
+    aspect.setSlowThresholdMs(-5);
 
+    Assertions.assertEquals(0, aspect.getSlowThresholdMs());
+    Assertions.assertTrue(aspect.isEnabled());
+  }
+}
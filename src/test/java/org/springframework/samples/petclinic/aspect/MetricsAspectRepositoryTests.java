@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.repository.OwnerRepository;
+import org.springframework.samples.petclinic.repository.RepoTestConfig;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that {@link MetricsAspect} times the methods Spring Data repositories
+ * inherit, through the real repository proxies.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = MetricsAspectRepositoryTests.Config.class)
+class MetricsAspectRepositoryTests {
+
+  @Autowired
+  private OwnerRepository ownerRepository;
+
+  @Autowired
+  private SimpleMeterRegistry simpleRegistry;
+
+  @Test
+  void shouldTimeInheritedRepositoryMethods() {
+    assertThat(AopUtils.isAopProxy(ownerRepository)).isTrue();
+    Owner owner = new Owner();
+    owner.setFirstName("George");
+    owner.setLastName("Franklin");
+    owner.setAddress("110 W. Liberty St.");
+    owner.setCity("Madison");
+    owner.setTelephone("6085551023");
+
+    ownerRepository.save(owner);
+    ownerRepository.findById(owner.getId());
+    ownerRepository.findById(owner.getId());
+
+    assertThat(simpleRegistry.get(MetricsAspect.REPOSITORY_TIMER)
+        .tags("class", "OwnerRepository", "method", "save", "outcome", "success").timer().count()).isEqualTo(1);
+    assertThat(simpleRegistry.get(MetricsAspect.REPOSITORY_TIMER)
+        .tags("class", "OwnerRepository", "method", "findById", "outcome", "success").timer().count()).isEqualTo(2);
+  }
+
+  @Configuration
+  @EnableAspectJAutoProxy
+  @Import(RepoTestConfig.class)
+  static class Config {
+
+    @Bean
+    SimpleMeterRegistry simpleRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    CompositeMeterRegistry compositeRegistry(SimpleMeterRegistry simpleRegistry) {
+      CompositeMeterRegistry composite = new CompositeMeterRegistry();
+      composite.add(simpleRegistry);
+      return composite;
+    }
+
+    @Bean
+    MetricsAspect metricsAspect(CompositeMeterRegistry compositeRegistry) {
+      return new MetricsAspect(compositeRegistry);
+    }
+  }
+}
@@ -16,14 +16,21 @@
 package org.springframework.samples.petclinic.aspect;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 class MetricsAspectTests {
 
@@ -67,4 +74,43 @@ class MetricsAspectTests {
     Assertions.assertEquals(1.0, simpleRegistry.get("petclinic.owners.created").counter().count());
     Assertions.assertEquals(1.0, simpleRegistry.get("petclinic.visits.created").counter().count());
   }
+
+  @Test
+  void shouldTimeServiceCallsByMethodAndOutcome() throws Throwable {
+    io.micrometer.core.instrument.simple.SimpleMeterRegistry simpleRegistry = new io.micrometer.core.instrument.simple.SimpleMeterRegistry();
+    io.micrometer.core.instrument.composite.CompositeMeterRegistry composite = new io.micrometer.core.instrument.composite.CompositeMeterRegistry();
+    composite.add(simpleRegistry);
+    aspect = new MetricsAspect(composite, new long[] { 100, 10 });
+
+    ProceedingJoinPoint call = joinPoint("toString");
+    when(call.proceed()).thenReturn("ok");
+    ProceedingJoinPoint failing = joinPoint("hashCode");
+    when(failing.proceed()).thenThrow(new IllegalStateException("boom"));
+
+    Assertions.assertEquals("ok", aspect.timeServiceCall(call));
+    Assertions.assertEquals("ok", aspect.timeServiceCall(call));
+    Assertions.assertThrows(IllegalStateException.class, () -> aspect.timeServiceCall(failing));
+
+    Timer success = simpleRegistry.get(MetricsAspect.SERVICE_TIMER)
+        .tags("class", "Object", "method", "toString", "outcome", "success").timer();
+    Assertions.assertEquals(2, success.count());
+    Assertions.assertEquals(1, simpleRegistry.get(MetricsAspect.SERVICE_TIMER)
+        .tags("method", "hashCode", "outcome", "error").timer().count());
+    // Error timers are only registered once a method fails
+    Assertions.assertNull(simpleRegistry.find(MetricsAspect.SERVICE_TIMER)
+        .tags("method", "toString", "outcome", "error").timer());
+    // The SLO boundaries are published as histogram buckets
+    Assertions.assertTrue(Arrays.stream(success.takeSnapshot().histogramCounts())
+        .anyMatch(bucket -> bucket.bucket(TimeUnit.MILLISECONDS) == 10.0));
+  }
+
+  private static ProceedingJoinPoint joinPoint(String methodName) throws NoSuchMethodException {
+    MethodSignature signature = mock(MethodSignature.class);
+    when(signature.getMethod()).thenReturn(Object.class.getMethod(methodName));
+    when(signature.getName()).thenReturn(methodName);
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    when(joinPoint.getSignature()).thenReturn(signature);
+    when(joinPoint.getTarget()).thenReturn(new Object());
+    return joinPoint;
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.aspect;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.repository.OwnerSearchRepository;
+import org.springframework.samples.petclinic.service.OwnerTypeaheadIndex;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OwnerIndexingAspectTests {
+
+  private OwnerSearchRepository ownerSearchRepository;
+  private OwnerTypeaheadIndex ownerTypeaheadIndex;
+  private OwnerIndexingAspect aspect;
+  private Owner owner;
+
+  @BeforeEach
+  void setup() {
+    ownerSearchRepository = mock(OwnerSearchRepository.class);
+    ownerTypeaheadIndex = mock(OwnerTypeaheadIndex.class);
+    aspect = new OwnerIndexingAspect(ownerSearchRepository, ownerTypeaheadIndex);
+    owner = new Owner();
+    owner.setId(1L);
+  }
+
+  @Test
+  void indexesImmediatelyOutsideTransaction() {
+    aspect.indexSavedOwner(owner);
+
+    verify(ownerSearchRepository).index(owner);
+    verify(ownerTypeaheadIndex).update(owner);
+  }
+
+  @Test
+  void indexesAfterCommitInsideTransaction() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      aspect.indexSavedOwner(owner);
+      verify(ownerSearchRepository, never()).index(owner);
+      verify(ownerTypeaheadIndex, never()).update(owner);
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      verify(ownerSearchRepository).index(owner);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void swallowsIndexingFailures() {
+    doThrow(new IllegalStateException("index down")).when(ownerSearchRepository).index(owner);
+
+    aspect.indexSavedOwner(owner);
+
+    verify(ownerSearchRepository).index(owner);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Owner;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCoalescingAspectTests {
+
+  private CompositeMeterRegistry registry;
+  private RequestCoalescingAspect aspect;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    registry = new CompositeMeterRegistry();
+    registry.add(new SimpleMeterRegistry());
+    aspect = new RequestCoalescingAspect(registry);
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void concurrentIdenticalReadsShouldShareOneCall() throws Throwable {
+    Owner owner = new Owner();
+    owner.setLastName("Franklin");
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ProceedingJoinPoint leaderCall = joinPoint(1L);
+    when(leaderCall.proceed()).thenAnswer(invocation -> {
+      leaderStarted.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return owner;
+    });
+    ProceedingJoinPoint followerCall = joinPoint(1L);
+
+    Future<Object> leader = executor.submit(() -> coalesce(leaderCall));
+    assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+    Future<Object> follower = executor.submit(() -> coalesce(followerCall));
+    // Wait until the follower has joined before letting the leader finish
+    while (registry.find("petclinic.service.reads").tag("outcome", "coalesced").counter() == null) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    Object followerResult = follower.get(5, TimeUnit.SECONDS);
+    assertEquals("Franklin", ((Owner) followerResult).getLastName());
+    assertNotSame(owner, followerResult);
+    Object leaderResult = leader.get(5, TimeUnit.SECONDS);
+    assertNotSame(owner, leaderResult);
+    verify(followerCall, times(0)).proceed();
+    assertEquals(1.0, registry.get("petclinic.service.reads")
+        .tags("method", "findOwnerById", "outcome", "executed").counter().count());
+    assertEquals(1.0, registry.get("petclinic.service.reads")
+        .tags("method", "findOwnerById", "outcome", "coalesced").counter().count());
+  }
+
+  @Test
+  void uncontendedReadShouldReturnResultUntouched() throws Throwable {
+    Owner owner = new Owner();
+    ProceedingJoinPoint call = joinPoint(1L);
+    when(call.proceed()).thenReturn(owner);
+
+    assertSame(owner, aspect.coalesce(call));
+    assertSame(owner, aspect.coalesce(call));
+    verify(call, times(2)).proceed();
+  }
+
+  @Test
+  void failureShouldPropagateAndClearTheInFlightCall() throws Throwable {
+    ProceedingJoinPoint failing = joinPoint(2L);
+    when(failing.proceed()).thenThrow(new IllegalArgumentException("Pet not found"));
+
+    assertThrows(IllegalArgumentException.class, () -> aspect.coalesce(failing));
+    assertThrows(IllegalArgumentException.class, () -> aspect.coalesce(failing));
+    verify(failing, times(2)).proceed();
+  }
+
+  private Object coalesce(ProceedingJoinPoint joinPoint) throws Exception {
+    try {
+      return aspect.coalesce(joinPoint);
+    } catch (Exception ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static ProceedingJoinPoint joinPoint(Object... args) {
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    Signature signature = mock(Signature.class);
+    when(signature.getName()).thenReturn("findOwnerById");
+    when(signature.toLongString()).thenReturn("ClinicService.findOwnerById(Long)");
+    when(joinPoint.getSignature()).thenReturn(signature);
+    when(joinPoint.getArgs()).thenReturn(args);
+    return joinPoint;
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Visit;
+
+class CacheEntryWeigherTests {
+
+  private final CacheEntryWeigher weigher = new CacheEntryWeigher();
+
+  @Test
+  void ownerShouldWeighItsPetsAndVisits() {
+    Owner owner = new Owner();
+    Pet leo = new Pet();
+    leo.setName("Leo");
+    leo.addVisit(new Visit());
+    leo.addVisit(new Visit());
+    Pet max = new Pet();
+    max.setName("Max");
+    owner.addPet(leo);
+    owner.addPet(max);
+
+    // owner + (Leo + 2 visits) + Max
+    assertEquals(5, weigher.weigh(1L, owner));
+  }
+
+  @Test
+  void collectionsShouldWeighTheirElements() {
+    assertEquals(3, weigher.weigh("key", List.of("a", "b", "c")));
+    assertEquals(1, weigher.weigh("key", List.of()));
+    assertEquals(1, weigher.weigh("key", "value"));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RefreshingCacheLoaderTests {
+
+  private final AtomicInteger version = new AtomicInteger();
+  private final AtomicLong ticker = new AtomicLong();
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void loadShouldBeTimed() {
+    RefreshingCacheLoader loader = new RefreshingCacheLoader("vets", version::incrementAndGet, registry);
+
+    assertEquals(1, loader.load("key"));
+
+    assertEquals(1L, registry.get("petclinic.cache.loads").tags("cache", "vets", "type", "load").timer().count());
+  }
+
+  @Test
+  void entryShouldBeRefreshedInTheBackgroundAfterRefreshInterval() {
+    RefreshingCacheLoader loader = new RefreshingCacheLoader("vets", version::incrementAndGet, registry);
+    LoadingCache<Object, Object> cache = Caffeine.newBuilder()
+        .refreshAfterWrite(1, TimeUnit.MINUTES)
+        .executor(Runnable::run)
+        .ticker(ticker::get)
+        .build(loader);
+
+    assertEquals(1, cache.get("key"));
+    ticker.addAndGet(TimeUnit.MINUTES.toNanos(2));
+    cache.get("key");
+
+    assertEquals(2, cache.get("key"));
+    assertEquals(1.0, registry.get("petclinic.cache.refreshes").tags("cache", "vets", "result", "success")
+        .counter().count());
+  }
+
+  @Test
+  void failedRefreshShouldBeCountedAndRethrown() {
+    RefreshingCacheLoader loader = new RefreshingCacheLoader("vets", () -> {
+      throw new IllegalStateException("database down");
+    }, registry);
+
+    assertThrows(IllegalStateException.class, () -> loader.reload("key", "old"));
+    assertEquals(1.0, registry.get("petclinic.cache.refreshes").tags("cache", "vets", "result", "failure")
+        .counter().count());
+  }
+}
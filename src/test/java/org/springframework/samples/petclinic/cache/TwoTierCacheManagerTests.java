@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Simulates two nodes sharing one in-memory store and one loopback bus.
+ */
+class TwoTierCacheManagerTests {
+
+  private TwoTierCacheManager nodeA;
+  private TwoTierCacheManager nodeB;
+
+  @BeforeEach
+  void setUp() {
+    SharedCacheStore store = new InMemorySharedCacheStore();
+    CacheInvalidationBus bus = new LoopbackCacheInvalidationBus();
+    nodeA = new TwoTierCacheManager(List.of("vets"), name -> Caffeine.newBuilder().build(), store, bus, "node-a");
+    nodeB = new TwoTierCacheManager(List.of("vets"), name -> Caffeine.newBuilder().build(), store, bus, "node-b");
+    nodeA.afterPropertiesSet();
+    nodeB.afterPropertiesSet();
+  }
+
+  @Test
+  void valuePutOnOneNodeShouldBeReadableOnAnother() {
+    nodeA.getCache("vets").put(1, "James Carter");
+
+    Cache.ValueWrapper value = nodeB.getCache("vets").get(1);
+    assertNotNull(value);
+    assertEquals("James Carter", value.get());
+  }
+
+  @Test
+  void evictOnOneNodeShouldDropNearCopyOnAnother() {
+    nodeA.getCache("vets").put(1, "James Carter");
+    nodeB.getCache("vets").get(1);
+    assertNotNull(nearCache(nodeB).getIfPresent(1));
+
+    nodeA.getCache("vets").evict(1);
+
+    assertNull(nearCache(nodeB).getIfPresent(1));
+    assertNull(nodeB.getCache("vets").get(1));
+  }
+
+  @Test
+  void putOnOneNodeShouldReplaceStaleNearCopyOnAnother() {
+    nodeA.getCache("vets").put(1, "James Carter");
+    nodeB.getCache("vets").get(1);
+
+    nodeA.getCache("vets").put(1, "Helen Leary");
+
+    assertEquals("Helen Leary", nodeB.getCache("vets").get(1).get());
+  }
+
+  @Test
+  void clearOnOneNodeShouldClearAllNodes() {
+    nodeA.getCache("vets").put(1, "James Carter");
+    nodeB.getCache("vets").get(1);
+
+    nodeB.getCache("vets").clear();
+
+    assertNull(nodeA.getCache("vets").get(1));
+    assertNull(nodeB.getCache("vets").get(1));
+  }
+
+  @Test
+  void ownInvalidationsShouldNotDropTheWritersNearCopy() {
+    nodeA.getCache("vets").put(1, "James Carter");
+
+    assertEquals("James Carter", nearCache(nodeA).getIfPresent(1));
+  }
+
+  @Test
+  void valueLoaderShouldRunOnceAcrossNodes() {
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals("loaded", nodeA.getCache("vets").get(2, () -> {
+      loads.incrementAndGet();
+      return "loaded";
+    }));
+    assertEquals("loaded", nodeB.getCache("vets").get(2, () -> {
+      loads.incrementAndGet();
+      return "reloaded";
+    }));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void sharedEntriesShouldExpireAfterTheirTimeToLive() {
+    AtomicLong nanos = new AtomicLong();
+    SharedCacheStore store = new InMemorySharedCacheStore(100, nanos::get);
+    TwoTierCacheManager node = new TwoTierCacheManager(
+        List.of("vets"), name -> Caffeine.newBuilder().build(), store, new LoopbackCacheInvalidationBus(), "node-c");
+    node.setTimeToLive(name -> Duration.ofMinutes(10));
+    node.afterPropertiesSet();
+
+    node.getCache("vets").put(1, "James Carter");
+    nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+    assertNull(store.get("vets", 1));
+  }
+
+  @Test
+  void writeThroughShouldReplaceTheSharedValueOnly() {
+    nodeA.getCache("vets").put(1, "James Carter");
+    nodeB.getCache("vets").get(1);
+
+    nodeA.writeThrough("vets", 1, "Helen Leary");
+    nearCache(nodeB).invalidate(1);
+
+    assertEquals("Helen Leary", nodeB.getCache("vets").get(1).get());
+    assertEquals("James Carter", nearCache(nodeA).getIfPresent(1));
+  }
+
+  @Test
+  void missingCacheShouldBeCreatedOnDemand() {
+    assertNotNull(nodeA.getCache("ownerDetails"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nearCache(TwoTierCacheManager manager) {
+    return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) manager.getCache("vets").getNativeCache();
+  }
+}
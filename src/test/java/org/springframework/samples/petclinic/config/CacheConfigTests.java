@@ -15,11 +15,30 @@
  */
 package org.springframework.samples.petclinic.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.samples.petclinic.cache.InMemorySharedCacheStore;
+import org.springframework.samples.petclinic.cache.RefreshingCacheLoader;
+import org.springframework.samples.petclinic.cache.TwoTierCacheManager;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class CacheConfigTests {
 
@@ -39,6 +58,7 @@ class CacheConfigTests {
     java.lang.reflect.Field expireAfterWriteMinutesField = CacheConfig.class.getDeclaredField("expireAfterWriteMinutes");
     expireAfterWriteMinutesField.setAccessible(true);
     expireAfterWriteMinutesField.set(config, 10);
+    ReflectionTestUtils.setField(config, "env", new MockEnvironment());
 
     CacheManager cacheManager = config.cacheManager();
 
@@ -47,6 +67,120 @@ class CacheConfigTests {
     assertTrue(cacheManager.getCacheNames().contains("specialties"));
     assertTrue(cacheManager.getCacheNames().contains("petTypes"));
   }
-}
 
+  @Test
+  void twoTierModeShouldUseTwoTierCacheManager() {
+    CacheConfig config = new CacheConfig();
+    ReflectionTestUtils.setField(config, "cacheNames", "vets,specialties,petTypes");
+    ReflectionTestUtils.setField(config, "initialCapacity", 100);
+    ReflectionTestUtils.setField(config, "maximumSize", 500);
+    ReflectionTestUtils.setField(config, "expireAfterWriteMinutes", 10);
+    ReflectionTestUtils.setField(config, "cacheMode", "two-tier");
+    ReflectionTestUtils.setField(config, "nodeId", "node-1");
+    ReflectionTestUtils.setField(config, "env", new MockEnvironment());
+
+    CacheManager cacheManager = config.cacheManager();
+
+    TwoTierCacheManager twoTier = assertInstanceOf(TwoTierCacheManager.class, cacheManager);
+    assertEquals("node-1", twoTier.getNodeId());
+  }
+
+  @Test
+  void perCacheSpecsShouldBeApplied() {
+    MockEnvironment env = new MockEnvironment()
+        .withProperty("cache.spec.petTypes", "maximumSize=10,expireAfterWrite=6h,recordStats")
+        .withProperty("cache.spec.ownerDetails", "maximumWeight=1000,softValues,recordStats");
+    CacheConfig config = localConfig("petTypes,ownerDetails", env);
+
+    CacheManager cacheManager = config.cacheManager();
+
+    com.github.benmanes.caffeine.cache.Cache<?, ?> petTypes =
+        (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache("petTypes").getNativeCache();
+    assertEquals(10L, petTypes.policy().eviction().orElseThrow().getMaximum());
+    com.github.benmanes.caffeine.cache.Cache<?, ?> ownerDetails =
+        (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache("ownerDetails").getNativeCache();
+    assertTrue(ownerDetails.policy().eviction().orElseThrow().isWeighted());
+    assertEquals(1000L, ownerDetails.policy().eviction().orElseThrow().getMaximum());
+  }
+
+  @Test
+  void storeByValueCachesShouldHandOutCopies() {
+    CacheConfig config = localConfig("ownerDetails", new MockEnvironment());
+    ReflectionTestUtils.setField(config, "storeByValueCacheNames", "ownerDetails");
+    Cache cache = config.cacheManager().getCache("ownerDetails");
+    Owner owner = new Owner();
+    owner.setLastName("Franklin");
+
+    cache.put(1L, owner);
+    owner.setLastName("Changed");
+
+    Owner cached = cache.get(1L, Owner.class);
+    assertEquals("Franklin", cached.getLastName());
+    assertNotSame(cached, cache.get(1L, Owner.class));
+  }
+
+  @Test
+  void refreshWithoutLoaderShouldFailWithPropertyName() {
+    MockEnvironment env = new MockEnvironment()
+        .withProperty("cache.spec.vets", "maximumSize=10,refreshAfterWrite=1m");
+    CacheConfig config = localConfig("vets", env);
+
+    IllegalStateException ex = assertThrows(IllegalStateException.class, config::cacheManager);
+    assertTrue(ex.getMessage().contains("cache.spec.vets"));
+  }
+
+  @Test
+  void cachesWithLoaderShouldBeLoadingCaches() {
+    MockEnvironment env = new MockEnvironment()
+        .withProperty("cache.spec.vets", "maximumSize=10,refreshAfterWrite=50m,expireAfterWrite=1h");
+    CacheConfig config = localConfig("vets", env);
+    ReflectionTestUtils.setField(config, "cacheLoaders",
+        List.of(new RefreshingCacheLoader("vets", List::of, new SimpleMeterRegistry())));
+
+    Cache vets = config.cacheManager().getCache("vets");
+
+    assertInstanceOf(LoadingCache.class, vets.getNativeCache());
+    assertEquals(List.of(), vets.get("any").get());
+  }
+
+  @Test
+  void sharedTimeToLiveShouldFollowExpireAfterWrite() {
+    MockEnvironment env = new MockEnvironment()
+        .withProperty("cache.spec.vets", "refreshAfterWrite=50m, expireAfterWrite=1h")
+        .withProperty("cache.spec.petTypes", "maximumSize=10,expireAfterWrite=PT6H")
+        .withProperty("cache.spec.specialties", "maximumSize=10");
+    CacheConfig config = localConfig("vets", env);
 
+    assertEquals(Duration.ofHours(1), config.sharedTimeToLive("vets"));
+    assertEquals(Duration.ofHours(6), config.sharedTimeToLive("petTypes"));
+    assertNull(config.sharedTimeToLive("specialties"));
+    assertEquals(Duration.ofMinutes(10), config.sharedTimeToLive("ownerDetails"));
+  }
+
+  @Test
+  void twoTierLoadersShouldWriteThroughToTheSharedTier() {
+    CacheConfig config = localConfig("vets", new MockEnvironment());
+    ReflectionTestUtils.setField(config, "cacheMode", "two-tier");
+    ReflectionTestUtils.setField(config, "nodeId", "node-1");
+    RefreshingCacheLoader loader = new RefreshingCacheLoader("vets", () -> List.of("James Carter"),
+        new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(config, "cacheLoaders", List.of(loader));
+    InMemorySharedCacheStore store = new InMemorySharedCacheStore();
+    ReflectionTestUtils.setField(config, "sharedCacheStore", store);
+    config.cacheManager().getCache("vets");
+
+    loader.reload("all", List.of());
+
+    assertEquals(List.of("James Carter"), store.get("vets", "all"));
+  }
+
+  private static CacheConfig localConfig(String cacheNames, MockEnvironment env) {
+    CacheConfig config = new CacheConfig();
+    ReflectionTestUtils.setField(config, "cacheNames", cacheNames);
+    ReflectionTestUtils.setField(config, "initialCapacity", 100);
+    ReflectionTestUtils.setField(config, "maximumSize", 500);
+    ReflectionTestUtils.setField(config, "expireAfterWriteMinutes", 10);
+    ReflectionTestUtils.setField(config, "env", env);
+    return config;
+  }
+}
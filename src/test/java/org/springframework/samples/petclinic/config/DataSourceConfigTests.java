@@ -56,6 +56,7 @@ class DataSourceConfigTests {
     when(env.getProperty("hikari.cache-prep-stmts", "true")).thenReturn("true");
     when(env.getProperty("hikari.prep-stmt-cache-size", "250")).thenReturn("250");
     when(env.getProperty("hikari.prep-stmt-cache-sql-limit", "2048")).thenReturn("2048");
+    when(env.getProperty("hikari.rewrite-batched-inserts", "true")).thenReturn("true");
 
     DataSource dataSource = dataSourceConfig.dataSource();
     assertNotNull(dataSource);
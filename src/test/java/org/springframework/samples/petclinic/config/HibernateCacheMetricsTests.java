@@ -0,0 +1,70 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class HibernateCacheMetricsTests {
+
+  @Mock
+  private Statistics statistics;
+
+  @Mock
+  private CacheRegionStatistics vetsStatistics;
+
+  @Test
+  void shouldExportHitMissAndPutCountersPerRegion() {
+    when(statistics.isStatisticsEnabled()).thenReturn(true);
+    when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] { "vets" });
+    when(statistics.getCacheRegionStatistics("vets")).thenReturn(vetsStatistics);
+    when(vetsStatistics.getHitCount()).thenReturn(7L);
+    when(vetsStatistics.getMissCount()).thenReturn(2L);
+    when(vetsStatistics.getPutCount()).thenReturn(3L);
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    HibernateCacheMetrics.bindTo(statistics, registry);
+
+    assertEquals(7.0, registry.get("hibernate.cache.region.requests")
+        .tags("region", "vets", "result", "hit").functionCounter().count());
+    assertEquals(2.0, registry.get("hibernate.cache.region.requests")
+        .tags("region", "vets", "result", "miss").functionCounter().count());
+    assertEquals(3.0, registry.get("hibernate.cache.region.puts")
+        .tags("region", "vets").functionCounter().count());
+  }
+
+  @Test
+  void shouldNotRegisterAnythingWhenStatisticsAreDisabled() {
+    when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    HibernateCacheMetrics.bindTo(statistics, registry);
+
+    assertTrue(registry.getMeters().isEmpty());
+  }
+}
@@ -53,6 +53,7 @@ class JpaConfigTests {
         .thenReturn("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
     when(env.getProperty("hibernate.cache.jcache.uri", "classpath:caffeine-jcache.properties"))
         .thenReturn("classpath:caffeine-jcache.properties");
+    when(env.getProperty("hibernate.generate_statistics", "true")).thenReturn("true");
 
     LocalContainerEntityManagerFactoryBean em = jpaConfig.entityManagerFactory(dataSource);
     assertNotNull(em);
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OwnerTests {
+
+  @Test
+  void shouldFindPetByNameIgnoringCase() {
+    Owner owner = new Owner();
+    Pet leo = pet(1L, "Leo");
+    owner.getPetsInternal().add(leo);
+
+    assertThat(owner.getPet("LEO")).isSameAs(leo);
+    assertThat(owner.getPet("Basil")).isNull();
+
+    Pet basil = pet(null, "Basil");
+    owner.addPet(basil);
+    assertThat(owner.getPet("basil")).isSameAs(basil);
+    assertThat(owner.getPet("basil", true)).isNull();
+  }
+
+  @Test
+  void shouldPreferSavedPetOverNewPetWithSameName() {
+    Owner owner = new Owner();
+    Pet draft = pet(null, "leo");
+    owner.addPet(draft);
+    Pet saved = pet(1L, "Leo");
+    owner.getPetsInternal().add(saved);
+
+    assertThat(owner.getPet("Leo", true)).isSameAs(saved);
+    assertThat(owner.getPet("Leo", false)).isSameAs(saved);
+  }
+
+  @Test
+  void shouldIndexAddedPetsAndRebuildWhenPetsAreReplaced() {
+    Owner owner = new Owner();
+    owner.addPet(pet(null, "Leo"));
+    assertThat(owner.getPet("leo")).isNotNull();
+
+    Pet basil = pet(null, "Basil");
+    Pet rosy = pet(null, "Rosy");
+    owner.addPet(basil);
+    owner.addPet(rosy);
+    assertThat(owner.getPet("BASIL")).isSameAs(basil);
+    assertThat(owner.getPet("rosy")).isSameAs(rosy);
+
+    Pet jewel = pet(2L, "Jewel");
+    owner.setPetsInternal(new HashSet<>(List.of(jewel)));
+    assertThat(owner.getPet("leo")).isNull();
+    assertThat(owner.getPet("jewel")).isSameAs(jewel);
+  }
+
+  private static Pet pet(Long id, String name) {
+    Pet pet = new Pet();
+    pet.setId(id);
+    pet.setName(name);
+    return pet;
+  }
+}
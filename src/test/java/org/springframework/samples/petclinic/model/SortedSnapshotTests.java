@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.SerializationUtils;
+
+class SortedSnapshotTests {
+
+  @Test
+  void shouldReuseSortedListUntilSourceChanges() {
+    Set<String> source = new HashSet<>(Set.of("b", "a"));
+    SortedSnapshot<String> snapshot = new SortedSnapshot<>(String.CASE_INSENSITIVE_ORDER);
+
+    List<String> first = snapshot.of(source);
+    assertThat(first).containsExactly("a", "b");
+    assertThat(snapshot.of(source)).isSameAs(first);
+    assertThatThrownBy(() -> first.add("c")).isInstanceOf(UnsupportedOperationException.class);
+
+    source.add("C");
+    assertThat(snapshot.of(source)).containsExactly("a", "b", "C");
+    assertThat(snapshot.of(new HashSet<>(source))).isNotSameAs(snapshot.of(source));
+  }
+
+  @Test
+  void ownerShouldListPetsByNameAcrossAdds() {
+    Owner owner = new Owner();
+    owner.addPet(pet("rosy"));
+    owner.addPet(pet("Leo"));
+    List<Pet> pets = owner.getPets();
+
+    assertThat(pets).extracting(Pet::getName).containsExactly("Leo", "rosy");
+    assertThat(owner.getPets()).isSameAs(pets);
+
+    owner.addPet(pet("Basil"));
+    assertThat(owner.getPets()).extracting(Pet::getName).containsExactly("Basil", "Leo", "rosy");
+  }
+
+  @Test
+  void petShouldListVisitsNewestFirstAfterDeserialization() {
+    Pet pet = pet("Leo");
+    pet.addVisit(visit(LocalDate.of(2024, 1, 1)));
+    pet.addVisit(visit(LocalDate.of(2025, 1, 1)));
+    assertThat(pet.getVisits()).extracting(Visit::getDate)
+        .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1));
+
+    Pet copy = SerializationUtils.clone(pet);
+    copy.addVisit(visit(LocalDate.of(2026, 1, 1)));
+    assertThat(copy.getVisits()).extracting(Visit::getDate)
+        .containsExactly(LocalDate.of(2026, 1, 1), LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1));
+  }
+
+  private static Pet pet(String name) {
+    Pet pet = new Pet();
+    pet.setName(name);
+    return pet;
+  }
+
+  private static Visit visit(LocalDate date) {
+    Visit visit = new Visit();
+    visit.setDate(date);
+    return visit;
+  }
+}
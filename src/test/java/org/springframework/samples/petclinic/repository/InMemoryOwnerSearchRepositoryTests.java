@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
+
+class InMemoryOwnerSearchRepositoryTests {
+
+  private InMemoryOwnerSearchRepository repository;
+
+  @BeforeEach
+  void setup() {
+    repository = new InMemoryOwnerSearchRepository(null);
+    repository.index(owner(1L, "George", "Franklin", "Madison", "6085551023"));
+    repository.index(owner(2L, "Betty", "Davis", "Sun Prairie", "6085551749"));
+    repository.index(owner(3L, "Frank", "Rodriquez", "Monona", "6085558763"));
+  }
+
+  @Test
+  void findsSubstringsOfAnyField() {
+    assertThat(ids(repository.search("ankl", 10))).containsExactly(1L);
+    assertThat(ids(repository.search("prairie", 10))).containsExactly(2L);
+    assertThat(ids(repository.search("8763", 10))).containsExactly(3L);
+  }
+
+  @Test
+  void requiresEveryTerm() {
+    assertThat(ids(repository.search("frank madison", 10))).containsExactly(1L);
+    assertThat(repository.search("frank nowhere", 10)).isEmpty();
+  }
+
+  @Test
+  void ranksExactAndPrefixMatchesFirst() {
+    List<OwnerSearchResult> results = repository.search("frank", 10);
+
+    // "Frank" is an exact first name, "Franklin" only a prefix
+    assertThat(ids(results)).containsExactly(3L, 1L);
+    assertThat(results.get(0).score()).isGreaterThan(results.get(1).score());
+  }
+
+  @Test
+  void scansForTermsShorterThanATrigram() {
+    assertThat(ids(repository.search("da", 10))).containsExactly(2L);
+  }
+
+  @Test
+  void matchesShortTermsAtWordStartsOnly() {
+    assertThat(ids(repository.search("pr", 10))).containsExactly(2L);
+    assertThat(repository.search("ie", 10)).isEmpty();
+    assertThat(ids(repository.search("fr mad", 10))).containsExactly(1L);
+  }
+
+  @Test
+  void reindexesUpdatedOwners() {
+    repository.index(owner(2L, "Betty", "Smith", "Sun Prairie", "6085551749"));
+
+    assertThat(repository.search("davis", 10)).isEmpty();
+    assertThat(ids(repository.search("smith", 10))).containsExactly(2L);
+    assertThat(repository.size()).isEqualTo(3);
+  }
+
+  @Test
+  void loadsExistingOwnersFromTheDatabase() {
+    EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    try {
+      JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+      jdbcTemplate.execute("CREATE TABLE owners (id BIGINT PRIMARY KEY, first_name VARCHAR(30),"
+          + " last_name VARCHAR(30), address VARCHAR(255), city VARCHAR(80), telephone VARCHAR(20))");
+      jdbcTemplate.update("INSERT INTO owners VALUES (7, 'Jean', 'Coleman', '105 N. Lake St.', 'Monona', '6085552654')");
+      InMemoryOwnerSearchRepository loaded = new InMemoryOwnerSearchRepository(jdbcTemplate);
+
+      loaded.afterSingletonsInstantiated();
+
+      assertThat(ids(loaded.search("colem", 10))).containsExactly(7L);
+    } finally {
+      database.shutdown();
+    }
+  }
+
+  private static List<Long> ids(List<OwnerSearchResult> results) {
+    return results.stream().map(OwnerSearchResult::id).toList();
+  }
+
+  private static Owner owner(Long id, String firstName, String lastName, String city, String telephone) {
+    Owner owner = new Owner();
+    owner.setId(id);
+    owner.setFirstName(firstName);
+    owner.setLastName(lastName);
+    owner.setAddress("110 W. Liberty St.");
+    owner.setCity(city);
+    owner.setTelephone(telephone);
+    return owner;
+  }
+}
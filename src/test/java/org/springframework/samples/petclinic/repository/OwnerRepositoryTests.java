@@ -16,15 +16,19 @@
 package org.springframework.samples.petclinic.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -63,6 +67,72 @@ class OwnerRepositoryTests {
     assertThat(foundOwner).isPresent();
     assertThat(foundOwner.get().getLastName()).isEqualTo("Franklin");
   }
-}
 
+  @Test
+  void shouldSeekPastTheLastOwnerOfAPage() {
+    Owner sameName = new Owner();
+    sameName.setFirstName("Betty");
+    sameName.setLastName("Franklin");
+    sameName.setAddress("638 Cardinal Ave.");
+    sameName.setCity("Sun Prairie");
+    sameName.setTelephone("6085551749");
+    ownerRepository.save(sameName);
+
+    Slice<Owner> first = ownerRepository.findSliceByLastName("Frank", PageRequest.of(0, 1));
+    assertThat(first.getContent()).extracting(Owner::getId).containsExactly(owner.getId());
+    assertThat(first.hasNext()).isTrue();
+
+    Slice<Owner> second = ownerRepository.findSliceByLastNameAfter(
+        "Frank", owner.getLastName(), owner.getId(), PageRequest.of(0, 1));
+    assertThat(second.getContent()).extracting(Owner::getId).containsExactly(sameName.getId());
+    assertThat(second.hasNext()).isFalse();
+    assertThat(ownerRepository.countByLastName("Frank")).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectUpdateFromStaleVersion() {
+    ownerRepository.flush();
+    Integer loadedVersion = owner.getVersion();
+    owner.setCity("Monona");
+    ownerRepository.saveAndFlush(owner);
+    assertThat(owner.getVersion()).isEqualTo(loadedVersion + 1);
+
+    Owner stale = new Owner();
+    stale.setId(owner.getId());
+    stale.setVersion(loadedVersion);
+    stale.setFirstName("George");
+    stale.setLastName("Franklin");
+    stale.setAddress("110 W. Liberty St.");
+    stale.setCity("Sun Prairie");
+    stale.setTelephone("6085551023");
+
+    assertThatThrownBy(() -> ownerRepository.saveAndFlush(stale))
+        .isInstanceOf(OptimisticLockingFailureException.class);
+  }
 
+  @Test
+  void shouldFetchPetsForPageIds() {
+    List<Owner> owners = ownerRepository.findWithPetsByIdIn(List.of(owner.getId()));
+    assertThat(owners).hasSize(1);
+    assertThat(owners.get(0).getPets()).isEmpty();
+  }
+
+  @Test
+  void shouldPageOwnersByLastNameInTheDatabase() {
+    for (String lastName : new String[] { "Frank", "Frankel" }) {
+      Owner other = new Owner();
+      other.setFirstName("Jean");
+      other.setLastName(lastName);
+      other.setAddress("105 N. Lake St.");
+      other.setCity("Monona");
+      other.setTelephone("6085552765");
+      ownerRepository.save(other);
+    }
+
+    Page<Owner> page = ownerRepository.findByLastName("Frank", PageRequest.of(1, 2));
+
+    assertThat(page.getTotalElements()).isEqualTo(3);
+    assertThat(page.getTotalPages()).isEqualTo(2);
+    assertThat(page.getContent()).extracting(Owner::getLastName).containsExactly("Franklin");
+  }
+}
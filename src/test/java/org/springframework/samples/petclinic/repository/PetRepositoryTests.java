@@ -17,11 +17,14 @@ package org.springframework.samples.petclinic.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -51,6 +54,35 @@ class PetRepositoryTests {
     assertThat(petTypes).hasSize(2);
     assertThat(petTypes).extracting("name").contains("Cat", "Dog");
   }
-}
 
+  @Test
+  void shouldFindPetIdByOwnerAndNameIgnoringCase() {
+    PetType cat = new PetType();
+    cat.setName("Cat");
+    entityManager.persist(cat);
+    Owner george = owner("Franklin");
+    Owner betty = owner("Davis");
+    Pet leo = new Pet();
+    leo.setName("Leo");
+    leo.setBirthDate(LocalDate.of(2010, 9, 7));
+    leo.setType(cat);
+    george.addPet(leo);
+    entityManager.persist(leo);
+    entityManager.flush();
+
+    assertThat(petRepository.findIdByOwnerIdAndName(george.getId(), "LEO")).isEqualTo(leo.getId());
+    assertThat(petRepository.findIdByOwnerIdAndName(george.getId(), "Basil")).isNull();
+    assertThat(petRepository.findIdByOwnerIdAndName(betty.getId(), "Leo")).isNull();
+  }
 
+  private Owner owner(String lastName) {
+    Owner owner = new Owner();
+    owner.setFirstName("George");
+    owner.setLastName(lastName);
+    owner.setAddress("110 W. Liberty St.");
+    owner.setCity("Madison");
+    owner.setTelephone("6085551023");
+    entityManager.persist(owner);
+    return owner;
+  }
+}
@@ -53,6 +53,12 @@ public class RepoTestConfig {
     Properties properties = new Properties();
     properties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
     properties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+    properties.setProperty("hibernate.query.fail_on_pagination_over_collection_fetch", "true");
+    properties.setProperty("hibernate.id.db_structure_naming_strategy",
+        "org.springframework.samples.petclinic.config.TableSequenceNamingStrategy");
+    properties.setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+    properties.setProperty("hibernate.jdbc.batch_size", "50");
+    properties.setProperty("hibernate.order_inserts", "true");
     em.setJpaProperties(properties);
 
     return em;
@@ -16,15 +16,22 @@
 package org.springframework.samples.petclinic.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import jakarta.persistence.EntityManager;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.model.Visit;
@@ -39,18 +46,11 @@ class VisitRepositoryTests {
 
   @Autowired private VisitRepository visitRepository;
   @Autowired private EntityManager entityManager;
+  @Autowired private DataSource dataSource;
 
   @Test
   void shouldFindByPetId() {
-    PetType dog = new PetType();
-    dog.setName("Dog");
-    entityManager.persist(dog);
-
-    Pet pet = new Pet();
-    pet.setName("Rosy");
-    pet.setBirthDate(LocalDate.now());
-    pet.setType(dog);
-    entityManager.persist(pet);
+    Pet pet = persistPet();
 
     Visit visit = new Visit();
     visit.setPet(pet);
@@ -62,6 +62,97 @@ class VisitRepositoryTests {
     assertThat(visits).hasSize(1);
     assertThat(visits.get(0).getDescription()).isEqualTo("Rabies verify");
   }
-}
 
+  @Test
+  void shouldTakeIdsFromTableSequenceWithoutInserting() {
+    Pet pet = persistPet();
+    entityManager.flush();
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    List<Visit> visits = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Visit visit = new Visit();
+      visit.setPet(pet);
+      visit.setDescription("Checkup " + i);
+      visits.add(visitRepository.save(visit));
+    }
+
+    // Ids are known before any INSERT has been sent, so the inserts can be batched at flush
+    assertThat(visits).extracting(Visit::getId).doesNotContainNull();
+    assertThat(visits.get(2).getId() - visits.get(0).getId()).isEqualTo(2L);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM visits", Long.class)).isZero();
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT increment FROM information_schema.sequences WHERE sequence_name = 'VISITS_ID_SEQ'", Long.class))
+        .isEqualTo(50L);
+
+    entityManager.flush();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM visits", Long.class)).isEqualTo(3L);
+  }
+
+  @Test
+  void shouldPageVisitsNewestFirst() {
+    Pet pet = persistPet();
+    for (int day = 1; day <= 5; day++) {
+      persistVisit(pet, LocalDate.of(2024, 3, day));
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    Page<Visit> first = visitRepository.findPageByPetId(pet.getId(), PageRequest.of(0, 2));
+    Page<Visit> last = visitRepository.findPageByPetId(pet.getId(), PageRequest.of(2, 2));
+
+    assertThat(first.getTotalElements()).isEqualTo(5L);
+    assertThat(first.getContent()).extracting(Visit::getDate)
+        .containsExactly(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 4));
+    assertThat(last.getContent()).extracting(Visit::getDate).containsExactly(LocalDate.of(2024, 3, 1));
+  }
+
+  @Test
+  void shouldFindLatestVisitsOfEachPetWithOneQuery() {
+    Pet rosy = persistPet();
+    Pet jewel = persistPet(rosy.getType(), "Jewel");
+    for (int day = 1; day <= 4; day++) {
+      persistVisit(rosy, LocalDate.of(2024, 3, day));
+    }
+    persistVisit(jewel, LocalDate.of(2023, 7, 1));
+    entityManager.flush();
+    entityManager.clear();
+
+    List<Visit> latest = visitRepository.findLatestByPetIdIn(List.of(rosy.getId(), jewel.getId()), 2);
+
+    assertThat(latest).extracting(visit -> visit.getPet().getId(), Visit::getDate).containsExactlyInAnyOrder(
+        tuple(rosy.getId(), LocalDate.of(2024, 3, 4)),
+        tuple(rosy.getId(), LocalDate.of(2024, 3, 3)),
+        tuple(jewel.getId(), LocalDate.of(2023, 7, 1)));
+  }
+
+  private void persistVisit(Pet pet, LocalDate date) {
+    Visit visit = new Visit();
+    visit.setPet(pet);
+    visit.setDate(date);
+    visit.setDescription("Checkup " + date);
+    entityManager.persist(visit);
+  }
+
+  private Pet persistPet(PetType type, String name) {
+    Pet pet = new Pet();
+    pet.setName(name);
+    pet.setBirthDate(LocalDate.now());
+    pet.setType(type);
+    entityManager.persist(pet);
+    return pet;
+  }
 
+  private Pet persistPet() {
+    PetType dog = new PetType();
+    dog.setName("Dog");
+    entityManager.persist(dog);
+
+    Pet pet = new Pet();
+    pet.setName("Rosy");
+    pet.setBirthDate(LocalDate.now());
+    pet.setType(dog);
+    entityManager.persist(pet);
+    return pet;
+  }
+}
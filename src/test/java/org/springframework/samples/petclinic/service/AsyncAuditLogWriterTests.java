@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.model.AuditLog;
+import org.springframework.samples.petclinic.service.AsyncAuditLogWriter.OverflowPolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AsyncAuditLogWriterTests {
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("CREATE TABLE audit_log (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+        + " entity_type VARCHAR(50) NOT NULL, entity_id BIGINT NOT NULL, action VARCHAR(20) NOT NULL,"
+        + " user_id VARCHAR(50), timestamp TIMESTAMP NOT NULL, old_value CLOB, new_value CLOB,"
+        + " trace_id VARCHAR(100), ip_address VARCHAR(45))");
+    registry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void queuedEntriesShouldBeWrittenInBatchesAndDrainedOnStop() {
+    AsyncAuditLogWriter writer = writer(100, 10, OverflowPolicy.CALLER_RUNS);
+    writer.start();
+
+    for (long id = 1; id <= 25; id++) {
+      assertTrue(writer.submit(entry(id)));
+    }
+    writer.stop();
+
+    assertEquals(25, rowCount());
+    assertEquals(25.0, registry.get("petclinic.audit.rows.written").counter().count());
+    assertTrue(registry.get("petclinic.audit.flush").timer().count() >= 3);
+    assertEquals(0.0, registry.get("petclinic.audit.queue.depth").gauge().value());
+  }
+
+  @Test
+  void dropPolicyShouldDropWhenQueueIsFull() {
+    AsyncAuditLogWriter writer = writer(1, 10, OverflowPolicy.DROP);
+
+    assertTrue(writer.submit(entry(1)));
+    assertFalse(writer.submit(entry(2)));
+    writer.start();
+    writer.stop();
+
+    assertEquals(1, rowCount());
+    assertEquals(1.0, registry.get("petclinic.audit.rows.dropped").tag("reason", "queue_full").counter().count());
+  }
+
+  @Test
+  void callerRunsPolicyShouldWriteOnCallingThreadWhenQueueIsFull() {
+    AsyncAuditLogWriter writer = writer(1, 10, OverflowPolicy.CALLER_RUNS);
+
+    assertTrue(writer.submit(entry(1)));
+    assertTrue(writer.submit(entry(2)));
+
+    assertEquals(1, rowCount());
+    writer.start();
+    writer.stop();
+    assertEquals(2, rowCount());
+  }
+
+  @Test
+  void entriesSubmittedAfterStopShouldBeWrittenSynchronously() {
+    AsyncAuditLogWriter writer = writer(10, 10, OverflowPolicy.DROP);
+    writer.start();
+    writer.stop();
+
+    assertTrue(writer.submit(entry(1)));
+    assertEquals(1, rowCount());
+  }
+
+  private AsyncAuditLogWriter writer(int capacity, int batchSize, OverflowPolicy policy) {
+    return new AsyncAuditLogWriter(jdbcTemplate, new DataSourceTransactionManager(database), registry,
+        capacity, batchSize, 50, policy, 10, 5_000);
+  }
+
+  private int rowCount() {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM audit_log", Integer.class);
+  }
+
+  private static AuditLog entry(long entityId) {
+    AuditLog entry = new AuditLog();
+    entry.setEntityType("Owner");
+    entry.setEntityId(entityId);
+    entry.setAction("UPDATE");
+    entry.setUserId("anonymous");
+    entry.setTimestamp(LocalDateTime.now());
+    entry.setNewValue("Owner[" + entityId + "]");
+    return entry;
+  }
+}
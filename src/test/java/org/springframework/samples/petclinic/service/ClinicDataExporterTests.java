@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.service.ClinicDataExporter.Dataset;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ClinicDataExporterTests {
+
+  private EmbeddedDatabase database;
+  private ClinicDataExporter exporter;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    JdbcTemplate jdbc = new JdbcTemplate(database);
+    jdbc.execute("CREATE TABLE vets (id BIGINT PRIMARY KEY, first_name VARCHAR(30), last_name VARCHAR(30))");
+    jdbc.execute("CREATE TABLE specialties (id BIGINT PRIMARY KEY, name VARCHAR(80))");
+    jdbc.execute("CREATE TABLE vet_specialties (vet_id BIGINT, specialty_id BIGINT)");
+    jdbc.execute("CREATE TABLE owners (id BIGINT PRIMARY KEY, first_name VARCHAR(30), last_name VARCHAR(30),"
+        + " address VARCHAR(255), city VARCHAR(80), telephone VARCHAR(20))");
+    jdbc.execute("CREATE TABLE types (id BIGINT PRIMARY KEY, name VARCHAR(80))");
+    jdbc.execute("CREATE TABLE pets (id BIGINT PRIMARY KEY, name VARCHAR(30), birth_date DATE, type_id BIGINT,"
+        + " owner_id BIGINT)");
+    jdbc.execute("CREATE TABLE visits (id BIGINT PRIMARY KEY, pet_id BIGINT, visit_date DATE,"
+        + " description VARCHAR(255))");
+    jdbc.update("INSERT INTO vets VALUES (1, 'James', 'Carter'), (2, 'Helen', 'Leary')");
+    jdbc.update("INSERT INTO specialties VALUES (1, 'radiology'), (2, 'surgery')");
+    jdbc.update("INSERT INTO vet_specialties VALUES (2, 2), (2, 1)");
+    jdbc.update("INSERT INTO owners VALUES (1, 'George', 'Franklin', '110 W. Liberty St.', 'Madison', '6085551023')");
+    jdbc.update("INSERT INTO types VALUES (1, 'cat')");
+    jdbc.update("INSERT INTO pets VALUES (1, 'Leo', DATE '2010-09-07', 1, 1)");
+    jdbc.update("INSERT INTO visits VALUES (1, 1, DATE '2013-01-01', 'rabies shot & <check>')");
+    exporter = new ClinicDataExporter(jdbc, new DataSourceTransactionManager(database));
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void exportsJson() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exporter.export(EnumSet.allOf(Dataset.class), new JsonExportWriter(out));
+
+    JsonNode root = new ObjectMapper().readTree(out.toByteArray());
+    assertThat(root.get("vets")).hasSize(2);
+    assertThat(root.get("vets").get(0).get("specialties")).isEmpty();
+    assertThat(root.get("vets").get(1).get("specialties").toString()).isEqualTo("[\"radiology\",\"surgery\"]");
+    assertThat(root.get("owners").get(0).get("lastName").asText()).isEqualTo("Franklin");
+    assertThat(root.get("pets").get(0).get("birthDate").asText()).isEqualTo("2010-09-07");
+    assertThat(root.get("pets").get(0).get("type").asText()).isEqualTo("cat");
+    assertThat(root.get("visits").get(0).get("petId").asLong()).isEqualTo(1L);
+  }
+
+  @Test
+  void exportsXml() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exporter.export(EnumSet.of(Dataset.VETS, Dataset.VISITS), new XmlExportWriter(out));
+
+    String xml = out.toString(StandardCharsets.UTF_8);
+    assertThat(xml).contains("<clinic><vets><vet><id>1</id><firstName>James</firstName>");
+    assertThat(xml).contains("<specialties><specialty>radiology</specialty><specialty>surgery</specialty>"
+        + "</specialties></vet></vets>");
+    assertThat(xml).contains("<description>rabies shot &amp; &lt;check&gt;</description>");
+    assertThat(xml).endsWith("</visits></clinic>");
+    assertThat(xml).doesNotContain("<owners>");
+  }
+}
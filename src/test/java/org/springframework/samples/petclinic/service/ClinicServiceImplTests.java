@@ -17,8 +17,11 @@ package org.springframework.samples.petclinic.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -27,6 +30,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.repository.OwnerRepository;
 import org.springframework.samples.petclinic.repository.PetRepository;
 import org.springframework.samples.petclinic.repository.VetRepository;
@@ -59,6 +64,31 @@ class ClinicServiceImplTests {
     clinicService.findVets();
     verify(vetRepository).findAll();
   }
-}
 
+  @Test
+  void shouldGroupLatestVisitsByPet() {
+    Visit newer = visit(1L, 10L);
+    Visit older = visit(1L, 11L);
+    Visit other = visit(2L, 12L);
+    when(visitRepository.findLatestByPetIdIn(List.of(1L, 2L), 2)).thenReturn(List.of(newer, older, other));
+
+    Map<Long, List<Visit>> latest = clinicService.findLatestVisits(List.of(1L, 2L), 2);
+
+    assertEquals(Map.of(1L, List.of(newer, older), 2L, List.of(other)), latest);
+  }
+
+  @Test
+  void shouldNotQueryLatestVisitsWithoutPets() {
+    assertEquals(Map.of(), clinicService.findLatestVisits(List.of(), 5));
+    verifyNoInteractions(visitRepository);
+  }
 
+  private static Visit visit(Long petId, Long id) {
+    Pet pet = new Pet();
+    pet.setId(petId);
+    Visit visit = new Visit();
+    visit.setId(id);
+    visit.setPet(pet);
+    return visit;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class OwnerCursorTests {
+
+  @Test
+  void roundTripsThroughOpaqueToken() {
+    OwnerCursor cursor = new OwnerCursor("O'Brien: the 2nd", 42L);
+
+    String token = cursor.encode();
+
+    assertEquals(cursor, OwnerCursor.decode(token));
+    assertEquals(-1, token.indexOf('='));
+  }
+
+  @Test
+  void rejectsMalformedTokens() {
+    assertThrows(IllegalArgumentException.class, () -> OwnerCursor.decode("not base64!"));
+    assertThrows(IllegalArgumentException.class, () -> OwnerCursor.decode(token("no separator")));
+    assertThrows(IllegalArgumentException.class, () -> OwnerCursor.decode(token("x:Smith")));
+  }
+
+  private static String token(String value) {
+    return Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerImportJobsTests {
+
+  @Mock
+  private OwnerImporter importer;
+
+  @TempDir
+  private Path directory;
+
+  private OwnerImportJobs jobs;
+
+  @BeforeEach
+  void setUp() {
+    jobs = new OwnerImportJobs(importer, directory.toString(), 1, 1000);
+    jobs.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jobs.stop();
+  }
+
+  @Test
+  void storesUploadAndDeletesItOnceImported() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      OwnerImportJob job = invocation.getArgument(0);
+      assertThat(Files.readString(job.getFile())).isEqualTo("{}\n");
+      job.complete();
+      done.countDown();
+      return null;
+    }).when(importer).run(any());
+
+    OwnerImportStatus status = jobs.submit(new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(status.totalBytes()).isEqualTo(3);
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    jobs.stop();
+    assertThat(jobs.status(status.jobId()).orElseThrow().state()).isEqualTo(OwnerImportJob.State.COMPLETED);
+    assertThat(directory.resolve(status.jobId() + ".ndjson")).doesNotExist();
+  }
+
+  @Test
+  void keepsFailedUploadForResume() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      throw new IOException("disk gone");
+    }).when(importer).run(any());
+
+    OwnerImportStatus status = jobs.submit(new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8)));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    jobs.stop();
+
+    OwnerImportStatus failed = jobs.status(status.jobId()).orElseThrow();
+    assertThat(failed.state()).isEqualTo(OwnerImportJob.State.FAILED);
+    assertThat(failed.failure()).isEqualTo("disk gone");
+    assertThat(directory.resolve(status.jobId() + ".ndjson")).exists();
+  }
+
+  @Test
+  void resumesOnlyKnownJobIds() throws Exception {
+    assertThat(jobs.resume("../../etc/passwd")).isEmpty();
+    assertThat(jobs.resume("0f8fad5b-d9cb-469f-a165-70867728950e")).isEmpty();
+    verifyNoInteractions(importer);
+  }
+
+  @Test
+  void reportsJobsOfOtherNodesFromTheirCheckpoint() {
+    String jobId = "0f8fad5b-d9cb-469f-a165-70867728950e";
+    OwnerImportStatus checkpoint = new OwnerImportStatus(jobId, OwnerImportJob.State.RUNNING, 2000, 0, 0, 1990, 5,
+        2400, 5, List.of(), null, null, null);
+    when(importer.checkpointStatus(jobId)).thenReturn(Optional.of(checkpoint));
+
+    assertThat(jobs.status(jobId)).contains(checkpoint);
+    assertThat(jobs.status("../../etc/passwd")).isEmpty();
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.repository.OwnerSearchRepository;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerImporterTests {
+
+  private static final String JOB_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private Cache jpaCache;
+
+  @Mock
+  private org.hibernate.Cache hibernateCache;
+
+  @Mock
+  private OwnerSearchRepository ownerSearchRepository;
+
+  @Mock
+  private OwnerTypeaheadIndex ownerTypeaheadIndex;
+
+  @Mock
+  private AsyncAuditLogWriter auditLogWriter;
+
+  @TempDir
+  private Path directory;
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbc;
+  private ConcurrentMapCacheManager cacheManager;
+  private OwnerImporter importer;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    jdbc = new JdbcTemplate(database);
+    jdbc.execute("CREATE TABLE types (id BIGINT PRIMARY KEY, name VARCHAR(80))");
+    jdbc.execute("CREATE TABLE owners (id BIGINT PRIMARY KEY, first_name VARCHAR(30) NOT NULL,"
+        + " last_name VARCHAR(30) NOT NULL, address VARCHAR(255), city VARCHAR(80), telephone VARCHAR(20),"
+        + " version INTEGER NOT NULL)");
+    jdbc.execute("CREATE TABLE pets (id BIGINT PRIMARY KEY, name VARCHAR(30) NOT NULL, birth_date DATE,"
+        + " type_id BIGINT NOT NULL, owner_id BIGINT NOT NULL, version INTEGER NOT NULL)");
+    jdbc.execute("CREATE TABLE import_checkpoints (job_id VARCHAR(36) PRIMARY KEY, line BIGINT NOT NULL,"
+        + " owners_imported BIGINT NOT NULL, owners_merged BIGINT NOT NULL, pets_imported BIGINT NOT NULL,"
+        + " rejected BIGINT NOT NULL, state VARCHAR(16) DEFAULT 'RUNNING' NOT NULL, updated_at TIMESTAMP NOT NULL)");
+    jdbc.execute("CREATE SEQUENCE owners_id_seq START WITH 100 INCREMENT BY 50");
+    jdbc.execute("CREATE SEQUENCE pets_id_seq START WITH 100 INCREMENT BY 50");
+    jdbc.update("INSERT INTO types VALUES (1, 'cat'), (2, 'dog')");
+    jdbc.update("INSERT INTO owners VALUES (1, 'George', 'Franklin', '110 W. Liberty St.', 'Madison',"
+        + " '6085551023', 0)");
+    cacheManager = new ConcurrentMapCacheManager("ownerDetails");
+    importer = new OwnerImporter(jdbc, new DatabasePlatform(jdbc), new DataSourceTransactionManager(database),
+        cacheManager, entityManagerFactory, ownerSearchRepository, ownerTypeaheadIndex, auditLogWriter, 2, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    importer.destroy();
+    database.shutdown();
+  }
+
+  @Test
+  void importsOwnersAndMergesByTelephone() throws Exception {
+    when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+    when(jpaCache.unwrap(any())).thenReturn(hibernateCache);
+    cacheManager.getCache("ownerDetails").put(1L, "stale");
+    OwnerImportJob job = job(
+        owner("Betty", "1111111111", "{\"name\":\"Leo\",\"birthDate\":\"2020-01-01\",\"type\":\"Cat\"}"),
+        owner("Georgie", "6085551023", "{\"name\":\"Rex\",\"birthDate\":\"2019-05-05\",\"type\":\"dog\"}"),
+        owner("Eduardo", "123", ""),
+        owner("Bet", "1111111111", "{\"name\":\"Max\",\"birthDate\":\"2021-02-02\",\"type\":\"dog\"}"),
+        owner("Harold", "2222222222", "{\"name\":\"Iggy\",\"birthDate\":\"2021-02-02\",\"type\":\"lizard\"}"));
+
+    importer.run(job);
+
+    OwnerImportStatus status = job.status();
+    assertThat(status.state()).isEqualTo(OwnerImportJob.State.COMPLETED);
+    assertThat(status.linesRead()).isEqualTo(5);
+    assertThat(status.ownersImported()).isEqualTo(1);
+    assertThat(status.ownersMerged()).isEqualTo(2);
+    assertThat(status.petsImported()).isEqualTo(3);
+    assertThat(status.rejected()).isEqualTo(2);
+    assertThat(status.errors()).containsExactly(
+        new OwnerImportStatus.RowError(3, "telephone: Telephone must be exactly 10 digits."),
+        new OwnerImportStatus.RowError(5, "pets[0].type: unknown pet type lizard"));
+    assertThat(jdbc.queryForList("SELECT first_name FROM owners ORDER BY id", String.class))
+        .containsExactly("George", "Betty");
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM pets WHERE owner_id = 1", Integer.class)).isEqualTo(1);
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM pets WHERE owner_id = 100", Integer.class)).isEqualTo(2);
+    assertThat(jdbc.queryForObject("SELECT line FROM import_checkpoints WHERE job_id = ?", Long.class, JOB_ID))
+        .isEqualTo(5L);
+    assertThat(cacheManager.getCache("ownerDetails").get(1L)).isNull();
+    verify(hibernateCache).evictCollectionData(Owner.class.getName() + ".pets", 1L);
+    ArgumentCaptor<Owner> indexed = ArgumentCaptor.forClass(Owner.class);
+    verify(ownerTypeaheadIndex).update(indexed.capture());
+    assertThat(indexed.getValue().getId()).isEqualTo(100L);
+  }
+
+  @Test
+  void skipsPetsWhoseNameTheOwnerAlreadyHas() throws Exception {
+    when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+    when(jpaCache.unwrap(any())).thenReturn(hibernateCache);
+    jdbc.update("INSERT INTO pets VALUES (1, 'Rex', DATE '2019-05-05', 2, 1, 0)");
+    OwnerImportJob job = job(
+        owner("Georgie", "6085551023", "{\"name\":\"REX\",\"birthDate\":\"2019-05-05\",\"type\":\"dog\"},"
+            + "{\"name\":\"Max\",\"birthDate\":\"2021-02-02\",\"type\":\"dog\"}"),
+        owner("Betty", "1111111111", "{\"name\":\"Leo\",\"birthDate\":\"2020-01-01\",\"type\":\"cat\"},"
+            + "{\"name\":\"leo\",\"birthDate\":\"2020-01-01\",\"type\":\"cat\"}"));
+
+    importer.run(job);
+
+    assertThat(job.status().petsImported()).isEqualTo(2);
+    assertThat(jdbc.queryForList("SELECT name FROM pets WHERE owner_id = 1 ORDER BY id", String.class))
+        .containsExactly("Rex", "Max");
+    assertThat(jdbc.queryForList("SELECT name FROM pets WHERE owner_id = 100", String.class))
+        .containsExactly("Leo");
+  }
+
+  @Test
+  void resumesAfterTheLastCheckpoint() throws Exception {
+    jdbc.update("INSERT INTO import_checkpoints VALUES (?, 2, 1, 0, 1, 1, 'FAILED', CURRENT_TIMESTAMP)", JOB_ID);
+    OwnerImportJob job = job(
+        owner("Betty", "1111111111", ""),
+        owner("Eduardo", "123", ""),
+        owner("Harold", "2222222222", ""));
+
+    importer.run(job);
+
+    OwnerImportStatus status = job.status();
+    assertThat(status.ownersImported()).isEqualTo(2);
+    assertThat(status.rejected()).isEqualTo(1);
+    assertThat(status.errors()).isEmpty();
+    assertThat(jdbc.queryForList("SELECT first_name FROM owners ORDER BY id", String.class))
+        .containsExactly("George", "Harold");
+  }
+
+  @Test
+  void reportsCompletedJobFromItsCheckpoint() throws Exception {
+    assertThat(importer.checkpointStatus(JOB_ID)).isEmpty();
+    OwnerImportJob job = job(
+        owner("Betty", "1111111111", ""),
+        owner("Eduardo", "123", ""),
+        owner("Harold", "2222222222", ""));
+
+    importer.run(job);
+
+    OwnerImportStatus status = importer.checkpointStatus(JOB_ID).orElseThrow();
+    assertThat(status.state()).isEqualTo(OwnerImportJob.State.COMPLETED);
+    assertThat(status.linesRead()).isEqualTo(3);
+    assertThat(status.ownersImported()).isEqualTo(2);
+    assertThat(status.rejected()).isEqualTo(1);
+    assertThat(status.finishedAt()).isNotNull();
+    assertThat(status.getPercentComplete()).isEqualTo(100);
+  }
+
+  private OwnerImportJob job(String... lines) throws Exception {
+    Path file = directory.resolve(JOB_ID + ".ndjson");
+    Files.writeString(file, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    return new OwnerImportJob(JOB_ID, file, Files.size(file), "admin");
+  }
+
+  private static String owner(String firstName, String telephone, String pets) {
+    return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Davis\",\"address\":\"638 Cardinal Ave.\","
+        + "\"city\":\"Sun Prairie\",\"telephone\":\"" + telephone + "\",\"pets\":[" + pets + "]}";
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.repository.OwnerRepository;
+import org.springframework.samples.petclinic.repository.OwnerRepository.OwnerName;
+import org.springframework.samples.petclinic.service.OwnerTypeaheadIndex.Suggestion;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OwnerTypeaheadIndexTests {
+
+  private OwnerRepository ownerRepository;
+  private MeterRegistry registry;
+  private OwnerTypeaheadIndex index;
+
+  @BeforeEach
+  void setup() {
+    ownerRepository = mock(OwnerRepository.class);
+    registry = new SimpleMeterRegistry();
+    when(ownerRepository.streamAllNames()).thenReturn(Stream.of(
+        name(1L, "George", "Franklin"),
+        name(2L, "Betty", "Davis"),
+        name(3L, "Eduardo", "Rodriquez"),
+        name(4L, "Harold", "Davis")));
+    index = new OwnerTypeaheadIndex(ownerRepository, mock(PlatformTransactionManager.class), registry);
+    index.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void matchesLastOrFirstNamePrefixIgnoringCase() {
+    assertThat(index.suggest("dav", 10)).containsExactly(
+        new Suggestion(2L, "Davis Betty"), new Suggestion(4L, "Davis Harold"));
+    assertThat(index.suggest("GEORGE F", 10)).containsExactly(new Suggestion(1L, "George Franklin"));
+    assertThat(index.suggest("x", 10)).isEmpty();
+    assertThat(index.suggest(" ", 10)).isEmpty();
+  }
+
+  @Test
+  void returnsEachOwnerOnceUpToTheLimit() {
+    assertThat(index.suggest("d", 1)).extracting(Suggestion::id).containsExactly(2L);
+    assertThat(index.suggest("", 10)).isEmpty();
+  }
+
+  @Test
+  void updatesReplaceTheSnapshotEntries() {
+    index.update(owner(2L, "Betty", "Smith"));
+    index.update(owner(5L, "Dana", "Dale"));
+
+    assertThat(index.suggest("da", 10)).extracting(Suggestion::name)
+        .containsExactly("Dale Dana", "Davis Harold");
+    assertThat(index.suggest("smi", 10)).containsExactly(new Suggestion(2L, "Smith Betty"));
+  }
+
+  @Test
+  void compactionKeepsTheSameResults() {
+    index.update(owner(2L, "Betty", "Smith"));
+    index.update(owner(5L, "Dana", "Dale"));
+    List<Suggestion> before = index.suggest("d", 10);
+
+    index.compact();
+
+    assertThat(index.suggest("d", 10)).isEqualTo(before);
+    assertThat(index.entries()).isEqualTo(10);
+  }
+
+  @Test
+  void reloadPicksUpOtherNodesAndKeepsOnlyNewerLocalUpdates() {
+    index.update(owner(2L, "Betty", "Smith"));
+    when(ownerRepository.streamAllNames()).thenReturn(Stream.of(
+        name(1L, "George", "Franklin"),
+        name(2L, "Betty", "Smith"),
+        name(3L, "Eduardo", "Rodriquez"),
+        name(4L, "Harold", "Davis"),
+        name(6L, "Maria", "Escobito")));
+
+    index.reload();
+
+    assertThat(index.suggest("esc", 10)).containsExactly(new Suggestion(6L, "Escobito Maria"));
+    assertThat(index.suggest("smi", 10)).containsExactly(new Suggestion(2L, "Smith Betty"));
+    // The reloaded snapshot covers the earlier update, so the overlay is empty again
+    assertThat(index.entries()).isEqualTo(10);
+  }
+
+  @Test
+  void compactsInTheBackgroundOnceTheOverlayIsFull() throws InterruptedException {
+    for (long id = 100; id < 100 + OwnerTypeaheadIndex.COMPACT_THRESHOLD / 2; id++) {
+      index.update(owner(id, "First" + id, "Last" + id));
+    }
+
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (index.memoryBytes() > 1_000_000 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(index.entries()).isEqualTo(8 + OwnerTypeaheadIndex.COMPACT_THRESHOLD);
+    assertThat(index.memoryBytes()).isLessThan(1_000_000);
+    assertThat(index.suggest("last100 ", 10)).containsExactly(new Suggestion(100L, "Last100 First100"));
+    index.destroy();
+  }
+
+  @Test
+  void reportsMemoryFootprint() {
+    assertThat(registry.get("petclinic.owners.typeahead.entries").gauge().value()).isEqualTo(8.0);
+    double bytes = registry.get("petclinic.owners.typeahead.memory").gauge().value();
+    assertThat(bytes).isPositive();
+    assertThat(registry.get("petclinic.owners.typeahead.memory.per.million.owners").gauge().value())
+        .isEqualTo(bytes * 1_000_000 / 4);
+  }
+
+  private static Owner owner(Long id, String firstName, String lastName) {
+    Owner owner = new Owner();
+    owner.setId(id);
+    owner.setFirstName(firstName);
+    owner.setLastName(lastName);
+    return owner;
+  }
+
+  private static OwnerName name(Long id, String firstName, String lastName) {
+    return new OwnerName() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getFirstName() {
+        return firstName;
+      }
+
+      @Override
+      public String getLastName() {
+        return lastName;
+      }
+    };
+  }
+}
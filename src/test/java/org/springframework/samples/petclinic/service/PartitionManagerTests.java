@@ -0,0 +1,118 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs {@link PartitionManager} against a real PostgreSQL (Testcontainers);
+ * skipped when Docker is not available. The planning rules themselves are
+ * covered by {@link PartitionPlannerTests}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PartitionManagerTests {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbc;
+  private PartitionManager manager;
+
+  @BeforeEach
+  void setup() {
+    dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("DROP TABLE IF EXISTS visits, visits_2020 CASCADE");
+    jdbc.execute("CREATE TABLE visits (id BIGINT NOT NULL, pet_id BIGINT NOT NULL, visit_date DATE NOT NULL,"
+        + " description VARCHAR(255)) PARTITION BY RANGE (visit_date)");
+    jdbc.execute("CREATE TABLE visits_default PARTITION OF visits DEFAULT");
+    jdbc.execute("CREATE TABLE visits_2020 PARTITION OF visits FOR VALUES FROM ('2020-01-01') TO ('2021-01-01')");
+    jdbc.update("INSERT INTO visits VALUES (1, 1, '2020-05-01', 'rabies shot'),"
+        + " (2, 1, '2024-03-01', 'spayed'), (3, 2, '2024-07-01', 'neutered'), (4, 2, '2019-03-01', 'checkup')");
+
+    // Keep all visits of the last 3 years, one year ahead
+    PartitionPolicy visits = PartitionManager.defaultPolicies(3, 84, 1, 3).get(1);
+    manager = new PartitionManager(jdbc, new DatabasePlatform(jdbc), new DataSourceTransactionManager(dataSource),
+        List.of(visits), true, Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+  }
+
+  @Test
+  void createsPartitionsMovesStrayRowsAndDetachesExpiredOnes() {
+    manager.maintain();
+
+    assertThat(partitions()).containsExactly("visits_2024", "visits_2025", "visits_2026", "visits_default");
+    // 2024 rows moved out of the default partition; 2019 is past retention and stays
+    assertThat(count("visits_2024")).isEqualTo(2);
+    assertThat(count("visits_default")).isEqualTo(1);
+    // The expired partition is detached but kept for archiving
+    assertThat(count("visits_2020")).isEqualTo(1);
+    assertThat(count("visits")).isEqualTo(3);
+    assertThat(jdbc.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'visits_2024'", String.class))
+        .contains("idx_visits_pet_id_date_2024", "idx_visits_date_2024");
+    assertThat(jdbc.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'visits_default'", String.class))
+        .contains("idx_visits_pet_id_date_default", "idx_visits_date_default");
+  }
+
+  @Test
+  void isIdempotent() {
+    manager.maintain();
+    manager.maintain();
+
+    assertThat(partitions()).containsExactly("visits_2024", "visits_2025", "visits_2026", "visits_default");
+    assertThat(count("visits")).isEqualTo(3);
+  }
+
+  @Test
+  void leavesTheTableAloneWhileAnotherNodeHoldsItsLock() throws Exception {
+    try (Connection other = dataSource.getConnection(); Statement statement = other.createStatement()) {
+      other.setAutoCommit(false);
+      statement.execute("SELECT pg_advisory_xact_lock(hashtext('partition:visits'))");
+
+      manager.maintain();
+
+      assertThat(partitions()).containsExactly("visits_2020", "visits_default");
+      other.rollback();
+    }
+  }
+
+  private List<String> partitions() {
+    return jdbc.query(PartitionManager.PARTITIONS_SQL, (rs, rowNum) -> rs.getString(1), "visits");
+  }
+
+  private int count(String table) {
+    return jdbc.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+  }
+}
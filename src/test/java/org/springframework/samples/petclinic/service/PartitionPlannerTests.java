@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Action;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Create;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Detach;
+import org.springframework.samples.petclinic.service.PartitionPlanner.EnsureIndexes;
+import org.springframework.samples.petclinic.service.PartitionPlanner.Range;
+
+class PartitionPlannerTests {
+
+  private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+
+  private final PartitionPolicy auditLog = PartitionManager.defaultPolicies(2, 12, 1, 0).get(0);
+  private final PartitionPolicy visits = PartitionManager.defaultPolicies(2, 12, 1, 0).get(1);
+
+  @Test
+  void createsCurrentAndFuturePartitions() {
+    List<Action> actions = PartitionPlanner.plan(auditLog, List.of(), List.of(), TODAY);
+
+    assertEquals(List.of(
+        new Create("audit_log_2025_03", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1), false),
+        new Create("audit_log_2025_04", LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 1), false),
+        new Create("audit_log_2025_05", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 1), false)), actions);
+  }
+
+  @Test
+  void skipsCoveredPeriodsAndEnsuresTheirIndexes() {
+    List<Range> existing = List.of(
+        month("audit_log_2025_03", 3),
+        month("audit_log_2025_04", 4),
+        new Range("audit_log_default", null, null));
+
+    List<Action> actions = PartitionPlanner.plan(auditLog, existing, List.of(), TODAY);
+
+    assertEquals(List.of(
+        new Create("audit_log_2025_05", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 1), false),
+        new EnsureIndexes("audit_log_2025_03", "2025_03"),
+        new EnsureIndexes("audit_log_2025_04", "2025_04"),
+        new EnsureIndexes("audit_log_default", "default")), actions);
+  }
+
+  @Test
+  void movesStrayRowsOutOfTheDefaultPartition() {
+    List<Range> existing = List.of(
+        month("audit_log_2025_03", 3), month("audit_log_2025_04", 4), month("audit_log_2025_05", 5),
+        new Range("audit_log_default", null, null));
+
+    List<Action> actions = PartitionPlanner.plan(auditLog, existing,
+        List.of(LocalDate.of(2024, 11, 1), LocalDate.of(2023, 1, 1)), TODAY);
+
+    // 2023-01 is past the 12 month retention and stays where it is
+    assertEquals(new Create("audit_log_2024_11", LocalDate.of(2024, 11, 1), LocalDate.of(2024, 12, 1), true),
+        actions.get(0));
+    assertEquals(1, actions.stream().filter(Create.class::isInstance).count());
+  }
+
+  @Test
+  void detachesPartitionsPastRetention() {
+    List<Range> existing = List.of(
+        new Range("audit_log_2024_02", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)),
+        new Range("audit_log_2024_03", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1)),
+        month("audit_log_2025_03", 3), month("audit_log_2025_04", 4), month("audit_log_2025_05", 5));
+
+    List<Action> actions = PartitionPlanner.plan(auditLog, existing, List.of(), TODAY);
+
+    assertEquals(new Detach("audit_log_2024_02"), actions.get(0));
+    assertEquals(new EnsureIndexes("audit_log_2024_03", "2024_03"), actions.get(1));
+  }
+
+  @Test
+  void keepsEveryPartitionWithoutRetention() {
+    List<Range> existing = List.of(
+        new Range("visits_2023", LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1)),
+        new Range("visits_2025", LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)));
+
+    List<Action> actions = PartitionPlanner.plan(visits, existing, List.of(LocalDate.of(2010, 5, 3)), TODAY);
+
+    assertEquals(List.of(
+        new Create("visits_2010", LocalDate.of(2010, 1, 1), LocalDate.of(2011, 1, 1), true),
+        new Create("visits_2026", LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 1), false),
+        new EnsureIndexes("visits_2023", "2023"),
+        new EnsureIndexes("visits_2025", "2025")), actions);
+  }
+
+  @Test
+  void parsesCatalogBounds() {
+    Range range = PartitionManager.parseRange("audit_log_2024_12",
+        "FOR VALUES FROM ('2024-12-01 00:00:00') TO ('2025-01-01 00:00:00')");
+    Range fallback = PartitionManager.parseRange("audit_log_default", "DEFAULT");
+
+    assertEquals(new Range("audit_log_2024_12", LocalDate.of(2024, 12, 1), LocalDate.of(2025, 1, 1)), range);
+    assertTrue(fallback.isDefault());
+    assertNull(fallback.to());
+  }
+
+  private static Range month(String name, int month) {
+    LocalDate from = LocalDate.of(2025, month, 1);
+    return new Range(name, from, from.plusMonths(1));
+  }
+}
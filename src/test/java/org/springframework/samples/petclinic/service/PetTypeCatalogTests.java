@@ -0,0 +1,91 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.samples.petclinic.cache.RefreshingCacheLoader;
+import org.springframework.samples.petclinic.model.PetType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PetTypeCatalogTests {
+
+  @Mock
+  private ClinicService clinicService;
+
+  @Test
+  void shouldReadTypesThroughTheServiceOnlyOnce() {
+    PetType cat = type("cat");
+    when(clinicService.findPetTypes()).thenReturn(List.of(cat, type("dog")));
+    PetTypeCatalog catalog = new PetTypeCatalog(clinicService);
+
+    assertThat(catalog.findByName("cat")).isSameAs(cat);
+    assertThat(catalog.findByName("Cat")).isNull();
+    assertThat(catalog.findByName("hamster")).isNull();
+    verify(clinicService, times(1)).findPetTypes();
+  }
+
+  @Test
+  void shouldRebuildWhenTheCacheLoaderReloads() {
+    when(clinicService.findPetTypes()).thenReturn(List.of(type("cat")));
+    AtomicReference<List<PetType>> database = new AtomicReference<>(List.of(type("cat")));
+    RefreshingCacheLoader loader = new RefreshingCacheLoader(PetTypeCatalog.CACHE_NAME, database::get,
+        new SimpleMeterRegistry());
+    PetTypeCatalog catalog = new PetTypeCatalog(clinicService,
+        new StaticListableBeanFactory(Map.of("petTypesCacheLoader", loader))
+            .getBeanProvider(RefreshingCacheLoader.class));
+    assertThat(catalog.findByName("hamster")).isNull();
+
+    PetType hamster = type("hamster");
+    database.set(List.of(type("cat"), hamster));
+    loader.reload("key", List.of());
+
+    assertThat(catalog.findByName("hamster")).isSameAs(hamster);
+    verify(clinicService, times(1)).findPetTypes();
+  }
+
+  @Test
+  void shouldReadTypesAgainAfterRefresh() {
+    PetType hamster = type("hamster");
+    when(clinicService.findPetTypes()).thenReturn(List.of(type("cat")), List.of(type("cat"), hamster));
+    PetTypeCatalog catalog = new PetTypeCatalog(clinicService);
+    assertThat(catalog.findByName("hamster")).isNull();
+
+    catalog.refresh();
+
+    assertThat(catalog.findByName("hamster")).isSameAs(hamster);
+  }
+
+  private static PetType type(String name) {
+    PetType type = new PetType();
+    type.setName(name);
+    return type;
+  }
+}
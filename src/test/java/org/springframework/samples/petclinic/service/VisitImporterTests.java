@@ -0,0 +1,176 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.model.AuditLog;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.service.VisitImporter.Format;
+import org.springframework.samples.petclinic.util.DatabasePlatform;
+
+@ExtendWith(MockitoExtension.class)
+class VisitImporterTests {
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private Cache jpaCache;
+
+  @Mock
+  private org.hibernate.Cache hibernateCache;
+
+  @Mock
+  private AsyncAuditLogWriter auditLogWriter;
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbc;
+  private ConcurrentMapCacheManager cacheManager;
+  private VisitImporter importer;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    jdbc = new JdbcTemplate(database);
+    jdbc.execute("CREATE TABLE pets (id BIGINT PRIMARY KEY, name VARCHAR(30), owner_id BIGINT)");
+    jdbc.execute("CREATE TABLE visits (id BIGINT PRIMARY KEY, pet_id BIGINT, visit_date DATE,"
+        + " description VARCHAR(255), version INTEGER NOT NULL)");
+    jdbc.execute("CREATE SEQUENCE visits_id_seq START WITH 1 INCREMENT BY 50");
+    jdbc.update("INSERT INTO pets VALUES (1, 'Leo', 10), (2, 'Basil', 20)");
+    cacheManager = new ConcurrentMapCacheManager("petDetails", "ownerDetails");
+    importer = new VisitImporter(jdbc, new DatabasePlatform(jdbc), new DataSourceTransactionManager(database),
+        cacheManager, entityManagerFactory, auditLogWriter);
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void importsCsvAndReportsRejectedRows() throws Exception {
+    stubEntityCache();
+    cacheManager.getCache("petDetails").put(1L, "stale");
+    cacheManager.getCache("ownerDetails").put(10L, "stale");
+    String csv = """
+        petId,visitDate,description
+        1,2024-01-02,"rabies, booster"
+        2,2024-01-03,checkup
+        99,2024-01-04,checkup
+        abc,2024-01-04,checkup
+        1,2024-13-01,checkup
+        1,2024-01-05,
+        """;
+
+    VisitImportReport report = importer.importVisits(stream(csv), Format.CSV);
+
+    assertThat(report.rowsRead()).isEqualTo(6);
+    assertThat(report.imported()).isEqualTo(2);
+    assertThat(report.rejected()).isEqualTo(4);
+    assertThat(report.errors()).extracting(VisitImportReport.RowError::line).containsExactly(5L, 6L, 7L, 4L);
+    assertThat(report.errors().get(3).message()).isEqualTo("unknown pet 99");
+    assertThat(jdbc.queryForList("SELECT description FROM visits ORDER BY id", String.class))
+        .containsExactly("rabies, booster", "checkup");
+    assertThat(cacheManager.getCache("petDetails").get(1L)).isNull();
+    assertThat(cacheManager.getCache("ownerDetails").get(10L)).isNull();
+    verify(hibernateCache).evictCollectionData(Pet.class.getName() + ".visits", 1L);
+    verify(hibernateCache).evictCollectionData(Pet.class.getName() + ".visits", 2L);
+    ArgumentCaptor<AuditLog> audit = ArgumentCaptor.forClass(AuditLog.class);
+    verify(auditLogWriter).submit(audit.capture());
+    assertThat(audit.getValue().getAction()).isEqualTo("IMPORT");
+    assertThat(audit.getValue().getNewValue()).isEqualTo("2 visits imported");
+  }
+
+  @Test
+  void importsNdjsonWithSnakeCaseFields() throws Exception {
+    stubEntityCache();
+    String ndjson = """
+        {"pet_id": 2, "visit_date": "2024-02-01", "description": "spayed"}
+        not json
+        {"petId": "1", "visitDate": "2024-02-02", "description": "<b>shots</b>"}
+        """;
+
+    VisitImportReport report = importer.importVisits(stream(ndjson), Format.NDJSON);
+
+    assertThat(report.imported()).isEqualTo(2);
+    assertThat(report.errors()).containsExactly(new VisitImportReport.RowError(2, "malformed JSON"));
+    assertThat(jdbc.queryForList("SELECT description FROM visits ORDER BY id", String.class))
+        .containsExactly("spayed", "&lt;b&gt;shots&lt;/b&gt;");
+  }
+
+  @Test
+  void reservesIdsFromTheSequenceInBlocks() throws Exception {
+    stubEntityCache();
+    StringBuilder csv = new StringBuilder("pet_id,visit_date,description\n");
+    for (int i = 0; i < 60; i++) {
+      csv.append("1,2024-03-01,visit ").append(i).append('\n');
+    }
+
+    importer.importVisits(stream(csv.toString()), Format.CSV);
+
+    assertThat(jdbc.queryForObject("SELECT COUNT(DISTINCT id) FROM visits", Long.class)).isEqualTo(60L);
+    assertThat(jdbc.queryForObject("SELECT MAX(id) FROM visits", Long.class)).isEqualTo(60L);
+    assertThat(jdbc.queryForObject("VALUES NEXT VALUE FOR visits_id_seq", Long.class)).isEqualTo(101L);
+  }
+
+  @Test
+  void rejectsCsvWithoutRequiredColumns() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> importer.importVisits(stream("petId,description\n1,checkup\n"), Format.CSV));
+    verifyNoInteractions(auditLogWriter);
+  }
+
+  @Test
+  void splitsQuotedCsvFields() {
+    assertThat(VisitImporter.parseCsvLine("1,\"a, \"\"b\"\"\",")).containsExactly("1", "a, \"b\"", "");
+    assertThatIllegalArgumentException().isThrownBy(() -> VisitImporter.parseCsvLine("1,\"open"));
+  }
+
+  private void stubEntityCache() {
+    when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+    when(jpaCache.unwrap(any())).thenReturn(hibernateCache);
+  }
+
+  private static InputStream stream(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
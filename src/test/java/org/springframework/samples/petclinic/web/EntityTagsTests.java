@@ -0,0 +1,80 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.model.Visit;
+
+class EntityTagsTests {
+
+  @Test
+  void vetTagFollowsVetData() {
+    Vet vet = vet();
+    String tag = EntityTags.vets(List.of(vet));
+
+    assertThat(tag).startsWith("\"vets-").endsWith("\"");
+    assertThat(EntityTags.vets(List.of(vet()))).isEqualTo(tag);
+
+    Specialty surgery = new Specialty();
+    surgery.setName("surgery");
+    vet.addSpecialty(surgery);
+    assertThat(EntityTags.vets(List.of(vet))).isNotEqualTo(tag);
+  }
+
+  @Test
+  void ownerTagFollowsOwnerPetAndVisitChanges() {
+    Owner owner = new Owner();
+    owner.setId(1L);
+    owner.setVersion(0);
+    Pet pet = new Pet();
+    pet.setName("Leo");
+    pet.setVersion(0);
+    // addPet only accepts new pets; the id is assigned afterwards as on save
+    owner.addPet(pet);
+    pet.setId(7L);
+    String tag = EntityTags.owner(owner, Map.of());
+
+    assertThat(tag).startsWith("\"owner-1-");
+    assertThat(EntityTags.owner(owner, Map.of())).isEqualTo(tag);
+
+    pet.setVersion(1);
+    String petChanged = EntityTags.owner(owner, Map.of());
+    assertThat(petChanged).isNotEqualTo(tag);
+
+    Visit visit = new Visit();
+    visit.setId(3L);
+    visit.setDate(LocalDate.of(2025, 1, 3));
+    assertThat(EntityTags.owner(owner, Map.of(7L, List.of(visit)))).isNotEqualTo(petChanged);
+  }
+
+  private static Vet vet() {
+    Vet vet = new Vet();
+    vet.setId(1L);
+    vet.setFirstName("James");
+    vet.setLastName("Carter");
+    return vet;
+  }
+}
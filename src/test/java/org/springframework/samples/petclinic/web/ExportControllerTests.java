@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.samples.petclinic.service.ClinicDataExporter;
+import org.springframework.samples.petclinic.service.ClinicDataExporter.Dataset;
+import org.springframework.samples.petclinic.service.JsonExportWriter;
+import org.springframework.samples.petclinic.service.XmlExportWriter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/** Test class for {@link ExportController} */
+@ExtendWith(MockitoExtension.class)
+class ExportControllerTests {
+
+  @Mock
+  private ClinicDataExporter exporter;
+
+  @InjectMocks
+  private ExportController exportController;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+  }
+
+  @Test
+  void exportsVetsAsJsonByDefault() throws Exception {
+    mockMvc
+        .perform(get("/export.json"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition", "attachment; filename=clinic-export.json"));
+
+    verify(exporter).export(eq(EnumSet.of(Dataset.VETS)), any(JsonExportWriter.class));
+  }
+
+  @Test
+  void exportsSelectedDataSetsAsXml() throws Exception {
+    mockMvc
+        .perform(get("/export.xml").param("include", "owners,Pets"))
+        .andExpect(status().isOk());
+
+    verify(exporter).export(eq(EnumSet.of(Dataset.OWNERS, Dataset.PETS)), any(XmlExportWriter.class));
+  }
+
+  @Test
+  void rejectsUnknownDataSets() throws Exception {
+    mockMvc
+        .perform(get("/export.json").param("include", "invoices"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(exporter);
+  }
+}
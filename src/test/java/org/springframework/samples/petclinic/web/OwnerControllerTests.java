@@ -15,21 +15,38 @@
  */
 package org.springframework.samples.petclinic.web;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.OwnerSearchResult;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.service.ClinicService;
+import org.springframework.samples.petclinic.service.KeysetPage;
+import org.springframework.samples.petclinic.service.OwnerTypeaheadIndex;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -42,6 +59,8 @@ class OwnerControllerTests {
 
   @Mock private ClinicService clinicService;
 
+  @Mock private OwnerTypeaheadIndex ownerTypeaheadIndex;
+
   @InjectMocks private OwnerController ownerController;
 
   private MockMvc mockMvc;
@@ -100,14 +119,191 @@ class OwnerControllerTests {
   void testShowOwner() throws Exception {
     Owner owner = new Owner();
     owner.setId(TEST_OWNER_ID);
+    Pet pet = new Pet();
+    pet.setName("Leo");
+    // addPet only accepts new pets; the id is assigned afterwards as on save
+    owner.addPet(pet);
+    pet.setId(7L);
+    Visit visit = new Visit();
+    visit.setId(3L);
+    Map<Long, List<Visit>> latestVisits = Map.of(7L, List.of(visit));
     given(this.clinicService.findOwnerById(TEST_OWNER_ID)).willReturn(owner);
+    given(this.clinicService.findLatestVisits(List.of(7L), 5)).willReturn(latestVisits);
 
     mockMvc
         .perform(get("/owners/{ownerId}", TEST_OWNER_ID))
         .andExpect(status().isOk())
         .andExpect(model().attribute("owner", owner))
+        .andExpect(model().attribute("latestVisits", latestVisits))
         .andExpect(view().name("owners/ownerDetails"));
   }
-}
 
+  @Test
+  void testInitUpdateOwnerFormReadsOwnerPastTheCache() throws Exception {
+    Owner owner = owner(TEST_OWNER_ID, "Franklin");
+    given(this.clinicService.findOwnerForUpdate(TEST_OWNER_ID)).willReturn(owner);
+
+    mockMvc
+        .perform(get("/owners/{ownerId}/edit", TEST_OWNER_ID))
+        .andExpect(status().isOk())
+        .andExpect(model().attribute("owner", owner))
+        .andExpect(view().name("owners/createOrUpdateOwnerForm"));
+    verify(this.clinicService, never()).findOwnerById(TEST_OWNER_ID);
+  }
+
+  @Test
+  void testProcessUpdateOwnerFormConcurrentUpdate() throws Exception {
+    willThrow(new ObjectOptimisticLockingFailureException(Owner.class, TEST_OWNER_ID))
+        .given(this.clinicService).saveOwner(any(Owner.class));
+
+    mockMvc
+        .perform(
+            post("/owners/{ownerId}/edit", TEST_OWNER_ID)
+                .param("firstName", "Joe")
+                .param("lastName", "Bloggs")
+                .param("address", "123 Caramel Street")
+                .param("city", "London")
+                .param("telephone", "0131676163")
+                .param("version", "2"))
+        .andExpect(status().isOk())
+        .andExpect(model().attributeHasErrors("owner"))
+        .andExpect(view().name("owners/createOrUpdateOwnerForm"));
+  }
+
+  @Test
+  void testShowOwnerNotModified() throws Exception {
+    Owner owner = new Owner();
+    owner.setId(TEST_OWNER_ID);
+    owner.setVersion(0);
+    given(this.clinicService.findOwnerById(TEST_OWNER_ID)).willReturn(owner);
+    String etag = mockMvc
+        .perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getHeader("ETag");
+
+    mockMvc
+        .perform(get("/owners/{ownerId}", TEST_OWNER_ID).header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    owner.setVersion(1);
+    mockMvc
+        .perform(get("/owners/{ownerId}", TEST_OWNER_ID).header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(view().name("owners/ownerDetails"));
+  }
+
+  @Test
+  void testProcessFindFormOffsetPageByDefault() throws Exception {
+    Owner first = owner(1L, "Davis");
+    Owner second = owner(2L, "Davis");
+    given(this.clinicService.findOwnerByLastName("Da", PageRequest.of(1, 5)))
+        .willReturn(new PageImpl<>(List.of(first, second), PageRequest.of(1, 5), 7));
+
+    mockMvc
+        .perform(get("/owners").param("lastName", "Da").param("page", "2"))
+        .andExpect(status().isOk())
+        .andExpect(model().attribute("listOwners", List.of(first, second)))
+        .andExpect(model().attribute("currentPage", 2))
+        .andExpect(model().attribute("totalPages", 2))
+        .andExpect(model().attribute("totalItems", 7L))
+        .andExpect(view().name("owners/ownersList"));
+  }
+
+  @Test
+  void testProcessFindFormOffsetRedirectsToSingleOwner() throws Exception {
+    Owner owner = owner(TEST_OWNER_ID, "Franklin");
+    given(this.clinicService.findOwnerByLastName("Franklin", PageRequest.of(0, 5)))
+        .willReturn(new PageImpl<>(List.of(owner), PageRequest.of(0, 5), 1));
+
+    mockMvc
+        .perform(get("/owners").param("lastName", "Franklin"))
+        .andExpect(status().is3xxRedirection())
+        .andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
+  }
+
+  @Test
+  void testProcessFindFormKeysetPage() throws Exception {
+    useKeysetPagination();
+    Owner first = owner(1L, "Davis");
+    Owner second = owner(2L, "Davis");
+    given(this.clinicService.findOwnerByLastName("Da", null, 5, false))
+        .willReturn(new KeysetPage<>(List.of(first, second), "next", null));
+
+    mockMvc
+        .perform(get("/owners").param("lastName", "Da"))
+        .andExpect(status().isOk())
+        .andExpect(model().attribute("listOwners", List.of(first, second)))
+        .andExpect(model().attribute("nextCursor", "next"))
+        .andExpect(model().attribute("firstPage", true))
+        .andExpect(model().attributeDoesNotExist("totalItems"))
+        .andExpect(view().name("owners/ownersList"));
+  }
+
+  @Test
+  void testProcessFindFormKeysetLastPageWithSingleOwner() throws Exception {
+    useKeysetPagination();
+    Owner last = owner(7L, "Escobito");
+    given(this.clinicService.findOwnerByLastName("", "abc", 5, false))
+        .willReturn(new KeysetPage<>(List.of(last), null, null));
+
+    // A single owner on a later page is listed rather than redirected to
+    mockMvc
+        .perform(get("/owners").param("cursor", "abc"))
+        .andExpect(status().isOk())
+        .andExpect(model().attribute("firstPage", false))
+        .andExpect(view().name("owners/ownersList"));
+  }
+
+  @Test
+  void testProcessFindFormKeysetRestartsOnInvalidCursor() throws Exception {
+    useKeysetPagination();
+    Owner owner = owner(TEST_OWNER_ID, "Franklin");
+    given(this.clinicService.findOwnerByLastName("Franklin", "bogus", 5, false))
+        .willThrow(new IllegalArgumentException("Malformed owner cursor"));
+    given(this.clinicService.findOwnerByLastName("Franklin", null, 5, false))
+        .willReturn(new KeysetPage<>(List.of(owner), null, null));
+
+    mockMvc
+        .perform(get("/owners").param("lastName", "Franklin").param("cursor", "bogus"))
+        .andExpect(status().is3xxRedirection())
+        .andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
+  }
+
+  @Test
+  void testSearchOwnersReturnsJson() throws Exception {
+    given(this.clinicService.searchOwners("frank", 50)).willReturn(List.of(
+        new OwnerSearchResult(1L, "George", "Franklin", "110 W. Liberty St.", "Madison", "6085551023", 0.75)));
+
+    mockMvc
+        .perform(get("/owners/search").param("q", "frank").param("limit", "500"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].lastName").value("Franklin"))
+        .andExpect(jsonPath("$[0].score").value(0.75));
+  }
+
+  @Test
+  void testSuggestOwnersReturnsJson() throws Exception {
+    given(this.ownerTypeaheadIndex.suggest("fra", 10))
+        .willReturn(List.of(new OwnerTypeaheadIndex.Suggestion(1L, "Franklin George")));
+
+    mockMvc
+        .perform(get("/owners/typeahead").param("q", "fra"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].name").value("Franklin George"));
+  }
 
+  private void useKeysetPagination() {
+    ReflectionTestUtils.setField(ownerController, "paginationMode", "keyset");
+  }
+
+  private static Owner owner(Long id, String lastName) {
+    Owner owner = new Owner();
+    owner.setId(id);
+    owner.setLastName(lastName);
+    return owner;
+  }
+}
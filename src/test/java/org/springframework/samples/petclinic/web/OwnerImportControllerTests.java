@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.service.OwnerImportJob;
+import org.springframework.samples.petclinic.service.OwnerImportJobs;
+import org.springframework.samples.petclinic.service.OwnerImportStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/** Test class for {@link OwnerImportController} */
+@ExtendWith(MockitoExtension.class)
+class OwnerImportControllerTests {
+
+  private static final String JOB_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+  @Mock
+  private OwnerImportJobs importJobs;
+
+  @InjectMocks
+  private OwnerImportController ownerImportController;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    mockMvc = MockMvcBuilders.standaloneSetup(ownerImportController).build();
+  }
+
+  @Test
+  void startsImportInBackground() throws Exception {
+    when(importJobs.submit(any(InputStream.class))).thenReturn(status(OwnerImportJob.State.QUEUED, 0));
+
+    mockMvc
+        .perform(post("/imports/owners").contentType(MediaType.APPLICATION_NDJSON).content("{}\n"))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "http://localhost/imports/owners/" + JOB_ID))
+        .andExpect(jsonPath("$.state").value("QUEUED"));
+  }
+
+  @Test
+  void reportsProgress() throws Exception {
+    when(importJobs.status(JOB_ID)).thenReturn(Optional.of(status(OwnerImportJob.State.RUNNING, 50)));
+
+    mockMvc
+        .perform(get("/imports/owners/" + JOB_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.percentComplete").value(50))
+        .andExpect(jsonPath("$.ownersImported").value(7));
+  }
+
+  @Test
+  void reportsUnknownImports() throws Exception {
+    when(importJobs.status("missing")).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/imports/owners/missing")).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void resumesFailedImport() throws Exception {
+    when(importJobs.resume(JOB_ID)).thenReturn(Optional.of(status(OwnerImportJob.State.QUEUED, 50)));
+
+    mockMvc
+        .perform(post("/imports/owners/" + JOB_ID + "/resume"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value(JOB_ID));
+  }
+
+  private static OwnerImportStatus status(OwnerImportJob.State state, long bytesRead) {
+    return new OwnerImportStatus(JOB_ID, state, 10, bytesRead, 100, 7, 1, 9, 2, List.of(),
+        "2026-01-01T00:00:00Z", null, null);
+  }
+}
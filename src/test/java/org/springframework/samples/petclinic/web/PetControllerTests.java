@@ -15,20 +15,32 @@
  */
 package org.springframework.samples.petclinic.web;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.sql.SQLException;
+
 import org.assertj.core.util.Lists;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
@@ -104,9 +116,58 @@ class PetControllerTests {
         .andExpect(view().name("pets/createOrUpdatePetForm"));
   }
 
+  @Test
+  void testProcessCreationFormRejectsDuplicateNameIgnoringCase() throws Exception {
+    Owner owner = new Owner();
+    owner.setId(TEST_OWNER_ID);
+    Pet betty = new Pet();
+    betty.setName("Betty");
+    // addPet only accepts new pets; the id is assigned afterwards as on save
+    owner.addPet(betty);
+    betty.setId(TEST_PET_ID);
+    given(this.clinicService.findOwnerById(TEST_OWNER_ID)).willReturn(owner);
+    given(this.clinicService.findPetIdByName(TEST_OWNER_ID, "BETTY")).willReturn(TEST_PET_ID);
+
+    mockMvc
+        .perform(
+            post("/owners/{ownerId}/pets/new", TEST_OWNER_ID)
+                .param("name", "BETTY")
+                .param("type", "hamster")
+                .param("birthDate", "2015-02-12"))
+        .andExpect(model().attributeHasFieldErrorCode("pet", "name", "duplicate"))
+        .andExpect(status().isOk())
+        .andExpect(view().name("pets/createOrUpdatePetForm"));
+  }
+
+  @Test
+  void testProcessCreationFormConcurrentDuplicateName() throws Exception {
+    willThrow(new DataIntegrityViolationException("could not execute statement",
+        new ConstraintViolationException("could not execute statement",
+            new SQLException("duplicate key value violates unique constraint", "23505"), "uq_pets_owner_name")))
+        .given(this.clinicService).savePet(any(Pet.class));
+
+    mockMvc
+        .perform(
+            post("/owners/{ownerId}/pets/new", TEST_OWNER_ID)
+                .param("name", "Betty")
+                .param("type", "hamster")
+                .param("birthDate", "2015-02-12"))
+        .andExpect(model().attributeHasFieldErrorCode("pet", "name", "duplicate"))
+        .andExpect(status().isOk())
+        .andExpect(view().name("pets/createOrUpdatePetForm"));
+  }
+
+  @Test
+  void shouldRecognizePetNameViolationByConstraintNameOrSqlState() {
+    assertThat(PetController.isPetNameViolation(violation("public.uq_pets_owner_name", null))).isTrue();
+    assertThat(PetController.isPetNameViolation(violation("fk_pets_owner", "23503"))).isFalse();
+    assertThat(PetController.isPetNameViolation(violation(null, "23505"))).isTrue();
+    assertThat(PetController.isPetNameViolation(violation(null, "23502"))).isFalse();
+  }
+
   @Test
   void testInitUpdateForm() throws Exception {
-    given(this.clinicService.findPetById(TEST_PET_ID)).willReturn(new Pet());
+    given(this.clinicService.findPetForUpdate(TEST_PET_ID)).willReturn(new Pet());
     mockMvc
         .perform(get("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID))
         .andExpect(status().isOk())
@@ -124,6 +185,28 @@ class PetControllerTests {
                 .param("birthDate", "2015-02-12"))
         .andExpect(status().is3xxRedirection())
         .andExpect(view().name("redirect:/owners/{ownerId}"));
+
+    ArgumentCaptor<Pet> saved = ArgumentCaptor.forClass(Pet.class);
+    verify(this.clinicService).savePet(saved.capture());
+    assertThat(saved.getValue().getId()).isEqualTo(TEST_PET_ID);
+  }
+
+  @Test
+  void testProcessUpdateFormConcurrentUpdate() throws Exception {
+    willThrow(new ObjectOptimisticLockingFailureException(Pet.class, TEST_PET_ID))
+        .given(this.clinicService).savePet(any(Pet.class));
+
+    mockMvc
+        .perform(
+            post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID)
+                .param("name", "Betty")
+                .param("type", "hamster")
+                .param("birthDate", "2015-02-12")
+                .param("version", "3"))
+        .andExpect(status().isOk())
+        .andExpect(model().attributeHasErrors("pet"))
+        .andExpect(model().attribute("pet", hasProperty("version", is(3))))
+        .andExpect(view().name("pets/createOrUpdatePetForm"));
   }
 
   @Test
@@ -137,6 +220,10 @@ class PetControllerTests {
         .andExpect(status().isOk())
         .andExpect(view().name("pets/createOrUpdatePetForm"));
   }
-}
-
 
+  private static DataIntegrityViolationException violation(String constraintName, String sqlState) {
+    return new DataIntegrityViolationException("could not execute statement",
+        new ConstraintViolationException("could not execute statement",
+            new SQLException("constraint violation", sqlState), constraintName));
+  }
+}
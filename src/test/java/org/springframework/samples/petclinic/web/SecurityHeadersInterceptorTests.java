@@ -0,0 +1,64 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SecurityHeadersInterceptorTests {
+
+  private final SecurityHeadersInterceptor interceptor = new SecurityHeadersInterceptor();
+
+  @Test
+  void disablesCachingForRoutesWithoutPolicy() {
+    MockHttpServletResponse response = handle("/owners/1/edit");
+
+    assertThat(response.getHeader("Cache-Control")).isEqualTo(SecurityHeadersInterceptor.NO_STORE);
+    assertThat(response.getHeader("Pragma")).isEqualTo("no-cache");
+    assertThat(response.getHeader("X-Frame-Options")).isEqualTo("DENY");
+  }
+
+  @Test
+  void allowsSharedCachingOfVetList() {
+    MockHttpServletResponse response = handle("/vets.json");
+
+    assertThat(response.getHeader("Cache-Control")).isEqualTo("no-cache, public");
+    assertThat(response.getHeader("Pragma")).isNull();
+  }
+
+  @Test
+  void keepsOwnerDetailsPrivate() {
+    assertThat(handle("/owners/42").getHeader("Cache-Control")).isEqualTo("no-cache, private");
+    assertThat(handle("/owners/find").getHeader("Cache-Control")).isEqualTo(SecurityHeadersInterceptor.NO_STORE);
+  }
+
+  @Test
+  void leavesStaticResourcesToTheHandler() {
+    MockHttpServletResponse response = handle("/resources/css/petclinic.css");
+
+    assertThat(response.getHeader("Cache-Control")).isNull();
+    assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+  }
+
+  private MockHttpServletResponse handle(String path) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", path), response, new Object())).isTrue();
+    return response;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.service.ClinicService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/** Test class for the {@code /vets.pdf} endpoint of {@link VetController} */
+@ExtendWith(MockitoExtension.class)
+class VetControllerPdfTests {
+
+  @Mock
+  private ClinicService clinicService;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    Vet vet = new Vet();
+    vet.setId(1L);
+    vet.setFirstName("James");
+    vet.setLastName("Carter");
+    given(this.clinicService.findVets()).willReturn(List.of(vet));
+    VetController controller = new VetController(clinicService, new VetListPdfRenderer(1 << 20));
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  @Test
+  void servesCachedPdfWithEtag() throws Exception {
+    MvcResult first = mockMvc
+        .perform(get("/vets.pdf"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/pdf"))
+        .andExpect(header().exists("ETag"))
+        .andReturn();
+    byte[] pdf = first.getResponse().getContentAsByteArray();
+
+    MvcResult second = mockMvc
+        .perform(get("/vets.pdf"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", first.getResponse().getHeader("ETag")))
+        .andExpect(header().longValue("Content-Length", pdf.length))
+        .andReturn();
+
+    assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(pdf);
+  }
+
+  @Test
+  void answersNotModifiedForMatchingEtag() throws Exception {
+    String etag = mockMvc.perform(get("/vets.pdf")).andReturn().getResponse().getHeader("ETag");
+
+    mockMvc
+        .perform(get("/vets.pdf").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+
+import com.itextpdf.text.pdf.PdfReader;
+
+class VetListPdfRendererTests {
+
+  @Test
+  void keepsRenderedDocumentForItsEtag() throws Exception {
+    VetListPdfRenderer renderer = new VetListPdfRenderer(1 << 20);
+    List<Vet> vets = vets(3);
+    String etag = EntityTags.vets(vets);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertThat(renderer.cached(etag)).isNull();
+    renderer.render(vets, etag, out);
+
+    assertThat(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    assertThat(renderer.cached(etag)).isEqualTo(out.toByteArray());
+    assertThat(renderer.cached(EntityTags.vets(vets(2)))).isNull();
+  }
+
+  @Test
+  void streamsLargeDocumentsAcrossPagesWithoutKeepingThem() throws Exception {
+    VetListPdfRenderer renderer = new VetListPdfRenderer(1024);
+    List<Vet> vets = vets(VetListPdfRenderer.ROWS_PER_CHUNK * 4 + 7);
+    String etag = EntityTags.vets(vets);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    renderer.render(vets, etag, out);
+
+    PdfReader reader = new PdfReader(out.toByteArray());
+    assertThat(reader.getNumberOfPages()).isGreaterThan(1);
+    reader.close();
+    assertThat(renderer.cached(etag)).isNull();
+  }
+
+  private static List<Vet> vets(int count) {
+    Specialty surgery = new Specialty();
+    surgery.setId(1L);
+    surgery.setName("surgery");
+    List<Vet> vets = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      Vet vet = new Vet();
+      vet.setId((long) i);
+      vet.setFirstName("First" + i);
+      vet.setLastName("Last" + i);
+      if (i % 2 == 0) {
+        vet.addSpecialty(surgery);
+      }
+      vets.add(vet);
+    }
+    return vets;
+  }
+}
@@ -15,19 +15,27 @@
  */
 package org.springframework.samples.petclinic.web;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.service.ClinicService;
 import org.springframework.test.web.servlet.MockMvc;
@@ -51,6 +59,8 @@ class VisitControllerTests {
     Pet pet = new Pet();
     pet.setId(TEST_PET_ID);
     given(this.clinicService.findPetById(TEST_PET_ID)).willReturn(pet);
+    given(this.clinicService.findVisitsByPetId(eq(TEST_PET_ID), any(Pageable.class)))
+        .willReturn(new PageImpl<>(List.of()));
 
     mockMvc = MockMvcBuilders.standaloneSetup(visitController).build();
   }
@@ -63,6 +73,17 @@ class VisitControllerTests {
         .andExpect(view().name("pets/createOrUpdateVisitForm"));
   }
 
+  @Test
+  void testInitNewVisitFormShowsRequestedHistoryPage() throws Exception {
+    mockMvc
+        .perform(get("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID).param("page", "2"))
+        .andExpect(status().isOk())
+        .andExpect(model().attributeExists("visits"));
+
+    then(this.clinicService).should()
+        .findVisitsByPetId(TEST_PET_ID, PageRequest.of(2, VisitController.HISTORY_PAGE_SIZE));
+  }
+
   @Test
   void testProcessNewVisitFormSuccess() throws Exception {
     mockMvc
@@ -81,6 +102,7 @@ class VisitControllerTests {
             post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
                 .param("name", "George"))
         .andExpect(model().attributeHasErrors("visit"))
+        .andExpect(model().attributeExists("visits"))
         .andExpect(status().isOk())
         .andExpect(view().name("pets/createOrUpdateVisitForm"));
   }
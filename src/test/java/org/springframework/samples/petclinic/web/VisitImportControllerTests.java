@@ -0,0 +1,98 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.service.VisitImportReport;
+import org.springframework.samples.petclinic.service.VisitImporter;
+import org.springframework.samples.petclinic.service.VisitImporter.Format;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/** Test class for {@link VisitImportController} */
+@ExtendWith(MockitoExtension.class)
+class VisitImportControllerTests {
+
+  @Mock
+  private VisitImporter importer;
+
+  @InjectMocks
+  private VisitImportController visitImportController;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    mockMvc = MockMvcBuilders.standaloneSetup(visitImportController).build();
+  }
+
+  @Test
+  void importsCsvAndReturnsReport() throws Exception {
+    when(importer.importVisits(any(InputStream.class), eq(Format.CSV))).thenReturn(
+        new VisitImportReport(2, 1, 1, List.of(new VisitImportReport.RowError(3, "unknown pet 99"))));
+
+    mockMvc
+        .perform(post("/visits/import").contentType("text/csv").content("petId,visitDate,description\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.errors[0].line").value(3))
+        .andExpect(jsonPath("$.errors[0].message").value("unknown pet 99"));
+  }
+
+  @Test
+  void importsNdjson() throws Exception {
+    when(importer.importVisits(any(InputStream.class), eq(Format.NDJSON)))
+        .thenReturn(new VisitImportReport(1, 1, 0, List.of()));
+
+    mockMvc
+        .perform(post("/visits/import").contentType(MediaType.APPLICATION_NDJSON).content("{}\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rowsRead").value(1));
+  }
+
+  @Test
+  void rejectsBadCsvHeader() throws Exception {
+    when(importer.importVisits(any(InputStream.class), eq(Format.CSV)))
+        .thenThrow(new IllegalArgumentException("CSV header must name petId, visitDate and description"));
+
+    mockMvc
+        .perform(post("/visits/import").contentType("text/csv").content("id\n"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void rejectsOtherContentTypes() throws Exception {
+    mockMvc
+        .perform(post("/visits/import").contentType(MediaType.APPLICATION_XML).content("<visits/>"))
+        .andExpect(status().isUnsupportedMediaType());
+  }
+}